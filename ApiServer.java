@@ -0,0 +1,570 @@
+package taskscheduler.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import taskscheduler.metrics.LatencyHistogram;
+import taskscheduler.metrics.Metrics;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import taskscheduler.util.Json;
+import taskscheduler.util.ScheduleExporter;
+import java.io.*;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP/JSON API over SchedulingService
+ *
+ * Routes, all scoped to a user id:
+ *   GET    /users/{user}/tasks[?status=PENDING&sort=deadline&limit=100&cursor=...]
+ *                                                 list tasks a page at a time; the X-Next-Cursor
+ *                                                 response header is the next page's cursor
+ *   GET    /users/{user}/tasks?q=words[&priority=HIGH&status=PENDING&limit=20]
+ *                                                 ranked search over names and descriptions
+ *   POST   /users/{user}/tasks                    create a task
+ *   GET    /users/{user}/tasks/{id}               one task
+ *   DELETE /users/{user}/tasks/{id}               delete a task
+ *   POST   /users/{user}/tasks/{id}/complete      mark a task complete
+ *   GET    /users/{user}/availability             weekday and weekend time slots
+ *   PUT    /users/{user}/availability             replace the time slots
+ *   POST   /users/{user}/schedule                 generate the schedule
+ *   GET    /users/{user}/schedule[?format=json]   export as json, text, csv or ics
+ *   GET    /users/{user}/statistics               task counts, remaining and scheduled hours
+ *   POST   /users/{user}/save                     persist the workspace
+ *   GET    /metrics                               per-route latencies and operation metrics
+ *
+ * Handlers block on workspace locks and schedule generation, so each request
+ * gets its own thread: virtual threads where the JDK has them (21+), otherwise
+ * a fixed pool of platform threads.
+ */
+public class ApiServer implements AutoCloseable {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    
+    private final SchedulingService service;
+    private final HttpServer server;
+    private final ExecutorService handlerExecutor;
+    private final ConcurrentMap<String, LatencyHistogram> latencies;
+    
+    public ApiServer(SchedulingService service, int port) throws IOException {
+        this(service, port, Math.max(8, Runtime.getRuntime().availableProcessors() * 4));
+    }
+    
+    /**
+     * @param handlerThreads pool size used only when virtual threads are unavailable
+     */
+    public ApiServer(SchedulingService service, int port, int handlerThreads) throws IOException {
+        this.service = service;
+        this.latencies = new ConcurrentHashMap<>();
+        this.handlerExecutor = newHandlerExecutor(handlerThreads);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(handlerExecutor);
+    }
+    
+    public void start() {
+        server.start();
+    }
+    
+    /**
+     * The bound port, useful when the server was created on port 0
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    public Map<String, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        handlerExecutor.shutdown();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String route = "unmatched";
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = segments(exchange.getRequestURI().getRawPath());
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            
+            if (path.length == 1 && path[0].equals("metrics")) {
+                route = route(method, "/metrics", "GET");
+                send(exchange, 200, metrics());
+                return;
+            }
+            if (path.length < 3 || !path[0].equals("users")) {
+                throw new ApiException(404, "Not found");
+            }
+            String userId = path[1];
+            String resource = path[2];
+            
+            if (resource.equals("tasks") && path.length == 3) {
+                route = route(method, "/users/{user}/tasks", "GET", "POST");
+                if (method.equals("GET")) {
+                    listTasks(exchange, userId, query);
+                } else {
+                    send(exchange, 201, createTask(userId, Json.parseObject(readBody(exchange))));
+                }
+            } else if (resource.equals("tasks") && path.length == 4) {
+                route = route(method, "/users/{user}/tasks/{id}", "GET", "DELETE");
+                if (method.equals("GET")) {
+                    send(exchange, 200, getTask(userId, path[3]));
+                } else {
+                    deleteTask(userId, path[3]);
+                    sendEmpty(exchange, 204);
+                }
+            } else if (resource.equals("tasks") && path.length == 5 && path[4].equals("complete")) {
+                route = route(method, "/users/{user}/tasks/{id}/complete", "POST");
+                send(exchange, 200, completeTask(userId, path[3]));
+            } else if (resource.equals("availability") && path.length == 3) {
+                route = route(method, "/users/{user}/availability", "GET", "PUT");
+                if (method.equals("GET")) {
+                    send(exchange, 200, getAvailability(userId));
+                } else {
+                    send(exchange, 200, setAvailability(userId, Json.parseObject(readBody(exchange))));
+                }
+            } else if (resource.equals("schedule") && path.length == 3) {
+                route = route(method, "/users/{user}/schedule", "POST", "GET");
+                if (method.equals("POST")) {
+                    send(exchange, 200, generateSchedule(userId));
+                } else {
+                    streamSchedule(exchange, userId,
+                                   ScheduleExporter.Format.of(query.getOrDefault("format", "json")));
+                }
+            } else if (resource.equals("statistics") && path.length == 3) {
+                route = route(method, "/users/{user}/statistics", "GET");
+                send(exchange, 200, statistics(userId));
+            } else if (resource.equals("save") && path.length == 3) {
+                route = route(method, "/users/{user}/save", "POST");
+                service.save(userId).join();
+                sendEmpty(exchange, 204);
+            } else {
+                throw new ApiException(404, "Not found");
+            }
+        } catch (ApiException e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + cause.getMessage());
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+            latencies.computeIfAbsent(route, r -> new LatencyHistogram()).record(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Sends one page of tasks, or the best search matches when q is given
+     */
+    private void listTasks(HttpExchange exchange, String userId, Map<String, String> query) throws IOException {
+        String status = query.get("status");
+        String priority = query.get("priority");
+        TaskStatus statusFilter = status == null ? null : enumValue(TaskStatus.class, status, "status");
+        Priority priorityFilter = priority == null ? null : enumValue(Priority.class, priority, "priority");
+        TaskSort sort = enumValue(TaskSort.class, query.getOrDefault("sort", "issue"), "sort");
+        String words = query.get("q");
+        String cursor = query.get("cursor");
+        int limit = Integer.parseInt(query.getOrDefault("limit",
+            String.valueOf(words != null ? DEFAULT_SEARCH_LIMIT : DEFAULT_PAGE_SIZE)));
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (words == null && priorityFilter != null) {
+            throw new IllegalArgumentException("priority filter needs a search query q");
+        }
+        
+        List<Object> result = new ArrayList<>();
+        String nextCursor = service.withWorkspace(userId, workspace -> {
+            TaskManager taskManager = workspace.getTaskManager();
+            List<Task> tasks;
+            String next = null;
+            if (words != null) {
+                tasks = taskManager.searchTasks(words, priorityFilter, statusFilter, limit);
+            } else {
+                TaskPage page = taskManager.getTaskPage(statusFilter, sort, cursor, limit);
+                tasks = page.getTasks();
+                next = page.getNextCursor();
+            }
+            for (Task task : tasks) {
+                result.add(toJson(task));
+            }
+            return next;
+        });
+        if (nextCursor != null) {
+            exchange.getResponseHeaders().set(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        send(exchange, 200, result);
+    }
+    
+    private Map<String, Object> createTask(String userId, Map<String, Object> body) {
+        String name = requiredString(body, "name");
+        String description = body.containsKey("description") ? String.valueOf(body.get("description")) : "";
+        Priority priority = enumValue(Priority.class, requiredString(body, "priority"), "priority");
+        double durationHours = requiredNumber(body, "durationHours");
+        if (durationHours <= 0) {
+            throw new IllegalArgumentException("durationHours must be positive");
+        }
+        String deadline = requiredString(body, "deadline");
+        if (Task.parseDeadline(deadline) == Task.NO_DEADLINE) {
+            throw new IllegalArgumentException("deadline must be a DD-MM-YYYY date");
+        }
+        Task task = new Task(name, description, priority, durationHours, deadline);
+        return service.withWorkspace(userId, workspace -> {
+            workspace.getTaskManager().addTask(task);
+            return toJson(task);
+        });
+    }
+    
+    private Map<String, Object> getTask(String userId, String taskId) {
+        return service.withWorkspace(userId, workspace -> {
+            Task task = workspace.getTaskManager().getTaskById(taskId);
+            if (task == null) {
+                throw new ApiException(404, "Task not found: " + taskId);
+            }
+            return toJson(task);
+        });
+    }
+    
+    private void deleteTask(String userId, String taskId) {
+        service.withWorkspace(userId, workspace -> {
+            if (!workspace.getTaskManager().deleteTask(taskId)) {
+                throw new ApiException(404, "Task not found: " + taskId);
+            }
+            workspace.getSchedulingEngine().removeTaskFromSchedule(taskId);
+            return null;
+        });
+    }
+    
+    private Map<String, Object> completeTask(String userId, String taskId) {
+        return service.withWorkspace(userId, workspace -> {
+            if (!workspace.getTaskManager().markTaskComplete(taskId)) {
+                throw new ApiException(404, "Task not found: " + taskId);
+            }
+            workspace.getSchedulingEngine().removeTaskFromSchedule(taskId);
+            return toJson(workspace.getTaskManager().getTaskById(taskId));
+        });
+    }
+    
+    private Map<String, Object> getAvailability(String userId) {
+        return service.withWorkspace(userId, workspace -> availabilityJson(workspace.getScheduleManager()));
+    }
+    
+    private Map<String, Object> setAvailability(String userId, Map<String, Object> body) {
+        List<TimeSlot> weekday = body.containsKey("weekday") ? toSlots(body.get("weekday"), "weekday") : null;
+        List<TimeSlot> weekend = body.containsKey("weekend") ? toSlots(body.get("weekend"), "weekend") : null;
+        return service.withWorkspace(userId, workspace -> {
+            UserScheduleManager scheduleManager = workspace.getScheduleManager();
+            if (weekday != null) {
+                scheduleManager.setWeekdaySchedule(weekday);
+            }
+            if (weekend != null) {
+                scheduleManager.setWeekendSchedule(weekend);
+            }
+            return availabilityJson(scheduleManager);
+        });
+    }
+    
+    private Map<String, Object> generateSchedule(String userId) {
+        boolean configured = service.withWorkspace(userId, workspace -> workspace.getScheduleManager().isConfigured());
+        if (!configured) {
+            throw new ApiException(409, "Availability is not configured");
+        }
+        boolean success = service.generateSchedule(userId).join();
+        Map<String, Object> result = exportSchedule(userId);
+        result.put("success", success);
+        return result;
+    }
+    
+    private Map<String, Object> exportSchedule(String userId) {
+        return service.withWorkspace(userId, workspace -> {
+            SchedulingEngine engine = workspace.getSchedulingEngine();
+            Map<String, Object> days = new LinkedHashMap<>();
+            for (Map.Entry<String, List<ScheduledTask>> entry : engine.getScheduleView().entrySet()) {
+                List<Object> entries = new ArrayList<>(entry.getValue().size());
+                for (ScheduledTask scheduled : entry.getValue()) {
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    json.put("taskId", scheduled.getTask().getTaskId());
+                    json.put("name", scheduled.getTask().getName());
+                    json.put("start", scheduled.getStartTime());
+                    json.put("end", scheduled.getEndTime());
+                    if (scheduled.isSplit()) {
+                        json.put("part", scheduled.getSplitPart());
+                    }
+                    entries.add(json);
+                }
+                days.put(entry.getKey(), entries);
+            }
+            List<Object> unscheduled = new ArrayList<>();
+            for (Task task : engine.getUnscheduledTasksView()) {
+                unscheduled.add(task.getTaskId());
+            }
+            List<Object> late = new ArrayList<>();
+            for (ScheduledTask scheduled : engine.getLateTasksView()) {
+                late.add(scheduled.getTask().getTaskId());
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("weekStart", engine.getWeekStart().toString());
+            result.put("days", days);
+            result.put("unscheduled", unscheduled);
+            result.put("late", late);
+            return result;
+        });
+    }
+    
+    /**
+     * Streams the export into a chunked response while holding the user's lock
+     * The headers are already sent once the export starts, so a failure only
+     * cuts the response short instead of being turned into an error response.
+     */
+    private void streamSchedule(HttpExchange exchange, String userId, ScheduleExporter.Format format) {
+        service.withWorkspace(userId, workspace -> {
+            try {
+                exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+                exchange.sendResponseHeaders(200, 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(),
+                                                                        StandardCharsets.UTF_8))) {
+                format.getExporter().export(workspace.getSchedulingEngine(), out);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error streaming schedule for " + userId + ": " + e.getMessage());
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Reads the running counters; nothing here scans the user's tasks
+     */
+    private Map<String, Object> statistics(String userId) {
+        return service.withWorkspace(userId, workspace -> {
+            TaskStatistics stats = workspace.getTaskManager().getStatistics();
+            Map<String, Object> byStatus = new LinkedHashMap<>();
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status.name(), stats.getCount(status));
+            }
+            Map<String, Object> byPriority = new LinkedHashMap<>();
+            for (Priority priority : Priority.values()) {
+                byPriority.put(priority.name(), stats.getCount(priority));
+            }
+            LocalDate today = LocalDate.now();
+            Map<String, Object> completed = new LinkedHashMap<>();
+            for (Map.Entry<LocalDate, Integer> day : stats.getCompletedPerDay(today.minusDays(6), today).entrySet()) {
+                completed.put(day.getKey().toString(), day.getValue());
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("total", stats.getTotal());
+            result.put("byStatus", byStatus);
+            result.put("byPriority", byPriority);
+            result.put("remainingHours", stats.getRemainingHours());
+            result.put("completedPerDay", completed);
+            result.put("scheduledHours", new LinkedHashMap<String, Object>(
+                workspace.getSchedulingEngine().getScheduledHoursByDay()));
+            return result;
+        });
+    }
+    
+    private Map<String, Object> metrics() {
+        Map<String, Object> routes = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            routes.put(entry.getKey(), entry.getValue().toSummary());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("loadedUsers", service.getLoadedUserCount());
+        result.put("routes", routes);
+        result.put("operations", Metrics.snapshot());
+        return result;
+    }
+    
+    private static Map<String, Object> toJson(Task task) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", task.getTaskId());
+        json.put("name", task.getName());
+        json.put("description", task.getDescription());
+        json.put("priority", task.getPriority().name());
+        json.put("durationHours", task.getDurationHours());
+        json.put("deadline", task.getDeadline());
+        json.put("status", task.getStatus().name());
+        return json;
+    }
+    
+    private static Map<String, Object> availabilityJson(UserScheduleManager scheduleManager) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("weekday", slotsJson(scheduleManager.getWeekdaySchedule()));
+        json.put("weekend", slotsJson(scheduleManager.getWeekendSchedule()));
+        json.put("totalWeeklyHours", scheduleManager.getTotalWeeklyHours());
+        return json;
+    }
+    
+    private static List<Object> slotsJson(List<TimeSlot> slots) {
+        List<Object> json = new ArrayList<>(slots.size());
+        for (TimeSlot slot : slots) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("start", String.format("%02d:%02d", slot.getStartHour(), slot.getStartMinute()));
+            entry.put("end", String.format("%02d:%02d", slot.getEndHour(), slot.getEndMinute()));
+            json.add(entry);
+        }
+        return json;
+    }
+    
+    private static List<TimeSlot> toSlots(Object value, String field) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException(field + " must be an array of {start, end} slots");
+        }
+        List<TimeSlot> slots = new ArrayList<>();
+        for (Object element : (List<?>) value) {
+            if (!(element instanceof Map)) {
+                throw new IllegalArgumentException(field + " must be an array of {start, end} slots");
+            }
+            Map<?, ?> slot = (Map<?, ?>) element;
+            if (!(slot.get("start") instanceof String) || !(slot.get("end") instanceof String)) {
+                throw new IllegalArgumentException(field + " slots need start and end times");
+            }
+            try {
+                slots.add(new TimeSlot((String) slot.get("start"), (String) slot.get("end")));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid time format. Use HH:MM");
+            }
+        }
+        return slots;
+    }
+    
+    private static String requiredString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String) || ((String) value).trim().isEmpty()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return ((String) value).trim();
+    }
+    
+    private static double requiredNumber(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException(field + " must be a number");
+        }
+        return ((Number) value).doubleValue();
+    }
+    
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+    
+    /**
+     * The latency key for a route, once the method is one the route serves
+     * Other methods are rejected and recorded as unmatched, so they cannot add keys.
+     */
+    private static String route(String method, String template, String... allowed) {
+        if (!Arrays.asList(allowed).contains(method)) {
+            throw new ApiException(405, "Method not allowed");
+        }
+        return method + " " + template;
+    }
+    
+    private static String[] segments(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+    
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                           URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+    
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body too large");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+    
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        sendBytes(exchange, status, JSON, Json.write(body).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, Collections.singletonMap("error", message));
+    }
+    
+    /**
+     * The request body must be drained first, or the JDK server resets the kept-alive connection
+     */
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.getRequestBody().close();
+        exchange.sendResponseHeaders(status, -1);
+    }
+    
+    private static void sendBytes(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+    
+    /**
+     * One virtual thread per request on JDK 21+, otherwise a fixed pool of daemon threads
+     */
+    static ExecutorService newHandlerExecutor(int threads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger next = new AtomicInteger(1);
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "api-handler-" + next.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        private final int status;
+        
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
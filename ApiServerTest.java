@@ -0,0 +1,194 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.api.ApiServer;
+import taskscheduler.metrics.LatencyHistogram;
+import taskscheduler.service.*;
+import taskscheduler.util.Json;
+import java.net.URI;
+import java.net.http.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Route and load tests for the embedded HTTP API
+ */
+public class ApiServerTest {
+    private static final int LOAD_USERS = 50;
+    private static final int TASKS_PER_USER = 8;
+    
+    private SchedulingService service;
+    private ApiServer server;
+    private HttpClient client;
+    
+    @BeforeEach
+    public void setUp() throws Exception {
+        WorkspaceStore memoryStore = new WorkspaceStore() {
+            @Override
+            public UserWorkspace load(String userId) {
+                return new UserWorkspace(userId);
+            }
+            
+            @Override
+            public void save(UserWorkspace workspace) {
+            }
+        };
+        service = new SchedulingService(memoryStore, 4, 256);
+        server = new ApiServer(service, 0, 16);
+        server.start();
+        client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(16)).build();
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        server.close();
+        service.close();
+    }
+    
+    @Test
+    @DisplayName("Test task CRUD, availability and schedule generation over HTTP")
+    public void testRoutes() throws Exception {
+        HttpResponse<String> created = send("POST", "/users/alice/tasks",
+            "{\"name\":\"Write report\",\"priority\":\"high\",\"durationHours\":2,\"deadline\":\"30-10-2025\"}");
+        assertEquals(201, created.statusCode(), created.body());
+        String taskId = (String) Json.parseObject(created.body()).get("id");
+        
+        assertEquals(200, send("GET", "/users/alice/tasks/" + taskId, null).statusCode());
+        assertEquals(404, send("GET", "/users/bob/tasks/" + taskId, null).statusCode(),
+                    "Another user should not see the task");
+        
+        List<?> pending = (List<?>) Json.parse(send("GET", "/users/alice/tasks?status=PENDING", null).body());
+        assertEquals(1, pending.size());
+        HttpResponse<String> second = send("POST", "/users/alice/tasks",
+            "{\"name\":\"Plan sprint\",\"priority\":\"low\",\"durationHours\":1,\"deadline\":\"31-10-2025\"}");
+        HttpResponse<String> firstPage = send("GET", "/users/alice/tasks?limit=1", null);
+        assertEquals(taskId, ((Map<?, ?>) ((List<?>) Json.parse(firstPage.body())).get(0)).get("id"));
+        String cursor = firstPage.headers().firstValue("X-Next-Cursor").orElseThrow();
+        List<?> secondPage = (List<?>) Json.parse(send("GET", "/users/alice/tasks?limit=1&cursor=" + cursor, null).body());
+        assertEquals(Json.parseObject(second.body()).get("id"), ((Map<?, ?>) secondPage.get(0)).get("id"));
+        assertEquals(204, send("DELETE", "/users/alice/tasks/" + Json.parseObject(second.body()).get("id"), null).statusCode());
+        
+        List<?> found = (List<?>) Json.parse(send("GET", "/users/alice/tasks?q=rep&priority=HIGH", null).body());
+        assertEquals(taskId, ((Map<?, ?>) found.get(0)).get("id"), "Search should find the task by prefix");
+        
+        HttpResponse<String> generateUnconfigured = send("POST", "/users/alice/schedule", null);
+        assertEquals(409, generateUnconfigured.statusCode(), "Generation needs availability first");
+        
+        HttpResponse<String> availability = send("PUT", "/users/alice/availability",
+            "{\"weekday\":[{\"start\":\"09:00\",\"end\":\"12:00\"}]}");
+        assertEquals(200, availability.statusCode(), availability.body());
+        assertEquals(15.0, ((Number) Json.parseObject(availability.body()).get("totalWeeklyHours")).doubleValue());
+        
+        Map<String, Object> schedule = Json.parseObject(send("POST", "/users/alice/schedule", null).body());
+        assertEquals(Boolean.TRUE, schedule.get("success"));
+        List<?> monday = (List<?>) ((Map<?, ?>) schedule.get("days")).get("Monday");
+        assertEquals(taskId, ((Map<?, ?>) monday.get(0)).get("taskId"));
+        
+        HttpResponse<String> text = send("GET", "/users/alice/schedule?format=text", null);
+        assertTrue(text.body().contains("Write report"), "Text export should list the scheduled task");
+        
+        Map<String, Object> stats = Json.parseObject(send("GET", "/users/alice/statistics", null).body());
+        assertEquals(2.0, ((Number) stats.get("remainingHours")).doubleValue());
+        assertEquals(2.0, ((Number) ((Map<?, ?>) stats.get("scheduledHours")).get("Monday")).doubleValue());
+        
+        assertEquals(200, send("POST", "/users/alice/tasks/" + taskId + "/complete", null).statusCode());
+        Map<String, Object> after = Json.parseObject(send("GET", "/users/alice/schedule", null).body());
+        assertTrue(((List<?>) ((Map<?, ?>) after.get("days")).get("Monday")).isEmpty(),
+                  "Completing a task should take it off the schedule");
+        stats = Json.parseObject(send("GET", "/users/alice/statistics", null).body());
+        assertEquals(1, ((Number) ((Map<?, ?>) stats.get("byStatus")).get("COMPLETED")).intValue());
+        assertEquals(1, ((Number) ((Map<?, ?>) stats.get("completedPerDay"))
+            .get(java.time.LocalDate.now().toString())).intValue());
+        assertEquals(0.0, ((Number) ((Map<?, ?>) stats.get("scheduledHours")).get("Monday")).doubleValue());
+        
+        assertEquals(204, send("DELETE", "/users/alice/tasks/" + taskId, null).statusCode());
+        assertEquals(404, send("DELETE", "/users/alice/tasks/" + taskId, null).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Test invalid requests are rejected with client errors")
+    public void testInvalidRequests() throws Exception {
+        assertEquals(400, send("POST", "/users/alice/tasks", "{\"name\":").statusCode(), "Malformed JSON");
+        assertEquals(400, send("POST", "/users/alice/tasks",
+            "{\"name\":\"x\",\"priority\":\"URGENT\",\"durationHours\":1,\"deadline\":\"30-10-2025\"}").statusCode());
+        assertEquals(400, send("POST", "/users/alice/tasks",
+            "{\"name\":\"x\",\"priority\":\"LOW\",\"durationHours\":1,\"deadline\":\"2025-10-30\"}").statusCode());
+        assertEquals(400, send("PUT", "/users/alice/availability",
+            "{\"weekday\":[{\"start\":\"12:00\",\"end\":\"09:00\"}]}").statusCode());
+        assertEquals(400, send("GET", "/users/bad%20id/tasks", null).statusCode());
+        assertEquals(405, send("PUT", "/users/alice/tasks", "{}").statusCode());
+        assertEquals(404, send("GET", "/nowhere", null).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Test unknown methods are recorded under one unmatched route")
+    public void testUnknownMethodsShareLatencyRoute() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(405, send("VERB" + i, "/users/alice/tasks", null).statusCode());
+        }
+        
+        Set<String> routes = server.getLatencies().keySet();
+        assertTrue(routes.stream().noneMatch(route -> route.startsWith("VERB")), "Unexpected routes " + routes);
+        assertEquals(5, server.getLatencies().get("unmatched").getCount());
+    }
+    
+    @Test
+    @DisplayName("Test concurrent clients load the API and latencies are recorded")
+    public void testLoad() throws Exception {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int u = 0; u < LOAD_USERS; u++) {
+            String user = "load" + u;
+            responses.add(sendAsync("PUT", "/users/" + user + "/availability",
+                "{\"weekday\":[{\"start\":\"09:00\",\"end\":\"17:00\"}]}"));
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                responses.add(sendAsync("POST", "/users/" + user + "/tasks",
+                    "{\"name\":\"" + user + "-" + i + "\",\"priority\":\"MEDIUM\",\"durationHours\":1,"
+                    + "\"deadline\":\"30-10-2025\"}"));
+            }
+        }
+        for (CompletableFuture<Integer> response : responses) {
+            int status = response.join();
+            assertTrue(status == 200 || status == 201, "Unexpected status " + status);
+        }
+        
+        List<CompletableFuture<Integer>> generations = new ArrayList<>();
+        for (int u = 0; u < LOAD_USERS; u++) {
+            generations.add(sendAsync("POST", "/users/load" + u + "/schedule", null));
+        }
+        for (CompletableFuture<Integer> generation : generations) {
+            assertEquals(200, generation.join());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int requests = responses.size() + generations.size();
+        System.out.printf("Served %d requests in %.2fs (%.0f req/s)%n", requests, seconds, requests / seconds);
+        
+        Map<String, LatencyHistogram> latencies = server.getLatencies();
+        LatencyHistogram creates = latencies.get("POST /users/{user}/tasks");
+        assertEquals(LOAD_USERS * TASKS_PER_USER, creates.getCount());
+        assertTrue(creates.getPercentileNanos(50) <= creates.getPercentileNanos(99));
+        assertTrue(creates.getPercentileNanos(99) <= creates.getMaxNanos());
+        
+        Map<String, Object> metrics = Json.parseObject(send("GET", "/metrics", null).body());
+        System.out.println("Latency: " + metrics.get("routes"));
+        assertEquals(LOAD_USERS, ((Number) metrics.get("loadedUsers")).intValue());
+    }
+    
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        return client.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private CompletableFuture<Integer> sendAsync(String method, String path, String body) {
+        return client.sendAsync(request(method, path, body), HttpResponse.BodyHandlers.ofString())
+                     .thenApply(HttpResponse::statusCode);
+    }
+    
+    private HttpRequest request(String method, String path, String body) {
+        HttpRequest.BodyPublisher publisher = body == null
+            ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                          .method(method, publisher)
+                          .build();
+    }
+}
@@ -0,0 +1,276 @@
+package taskscheduler.util;
+
+import taskscheduler.metrics.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Saves the user schedule, tasks and generated schedule in the background
+ * The three managers report changes through their listeners, which only mark
+ * a store dirty; a burst of changes is coalesced into one flush that runs a
+ * short delay after the first of them. A flush takes the data lock, so it
+ * never reads a store mid-change, and writes the dirty stores in parallel,
+ * each to a temp file that is synced and renamed over the old one.
+ * While FileManager has a task journal open, task changes are already on
+ * their way to disk, so a flush only syncs the journal; saveAll checkpoints it.
+ */
+public class AsyncPersistence implements Closeable {
+    public static final long DEFAULT_DELAY_MS = 200;
+    
+    private static final OperationTimer FLUSH_TIMER = Metrics.timer("persistence.flush");
+    private static final Counter ERRORS = Metrics.counter("persistence.errors");
+    
+    /**
+     * The files kept by a FileManager
+     */
+    public enum Store {
+        USER_SCHEDULE("user schedule"),
+        TASKS("tasks"),
+        GENERATED_SCHEDULE("schedule");
+        
+        private final String label;
+        
+        Store(String label) {
+            this.label = label;
+        }
+        
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+    
+    private final FileManager fileManager;
+    private final Lock dataLock;
+    private final UserScheduleManager scheduleManager;
+    private final TaskManager taskManager;
+    private final SchedulingEngine schedulingEngine;
+    private final long delayMs;
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService writers;
+    private final AtomicInteger dirty = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean checkpointTasks = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final Runnable scheduleListener = () -> markDirty(Store.USER_SCHEDULE);
+    private final Runnable engineListener = () -> markDirty(Store.GENERATED_SCHEDULE);
+    private final TaskChangeListener taskListener = new TaskChangeListener() {
+        @Override
+        public void onTaskAdded(Task task) {
+            markDirty(Store.TASKS);
+        }
+        
+        @Override
+        public void onTaskStatusChanged(Task task, TaskStatus previousStatus) {
+            markDirty(Store.TASKS);
+        }
+        
+        @Override
+        public void onTaskDeleted(Task task) {
+            markDirty(Store.TASKS);
+        }
+    };
+    
+    private CompletableFuture<Void> pending;
+    private boolean closed;
+    
+    public AsyncPersistence(FileManager fileManager, Lock dataLock, UserScheduleManager scheduleManager,
+                            TaskManager taskManager, SchedulingEngine schedulingEngine) {
+        this(fileManager, dataLock, scheduleManager, taskManager, schedulingEngine, DEFAULT_DELAY_MS);
+    }
+    
+    /**
+     * Starts listening for changes to the three managers
+     * @param dataLock held by whoever mutates the managers, and by each flush while it reads them
+     * @param delayMs how long a flush waits after the first change, collecting the ones that follow
+     */
+    public AsyncPersistence(FileManager fileManager, Lock dataLock, UserScheduleManager scheduleManager,
+                            TaskManager taskManager, SchedulingEngine schedulingEngine, long delayMs) {
+        if (delayMs < 0) {
+            throw new IllegalArgumentException("Flush delay cannot be negative");
+        }
+        this.fileManager = fileManager;
+        this.dataLock = dataLock;
+        this.scheduleManager = scheduleManager;
+        this.taskManager = taskManager;
+        this.schedulingEngine = schedulingEngine;
+        this.delayMs = delayMs;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "persistence-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writers = Executors.newFixedThreadPool(Store.values().length, r -> {
+            Thread thread = new Thread(r, "persistence-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        scheduleManager.addChangeListener(scheduleListener);
+        taskManager.addChangeListener(taskListener);
+        schedulingEngine.addChangeListener(engineListener);
+    }
+    
+    /**
+     * Records that a store has changed and schedules a flush if none is waiting
+     */
+    public void markDirty(Store store) {
+        dirty.getAndUpdate(stores -> stores | store.bit());
+        if (flushScheduled.compareAndSet(false, true)) {
+            synchronized (flushLock) {
+                if (closed) {
+                    return;
+                }
+                flusher.schedule(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                }, delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    /**
+     * Writes every dirty store now, without waiting for the coalescing delay
+     * The future completes once all changes made before this call are on disk,
+     * or exceptionally if a store could not be written; that store stays dirty.
+     */
+    public CompletableFuture<Void> flush() {
+        synchronized (flushLock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Persistence has been closed"));
+            }
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+                flusher.execute(this::runFlush);
+            }
+            return pending;
+        }
+    }
+    
+    /**
+     * Writes all three stores in full, checkpointing the task journal
+     */
+    public CompletableFuture<Void> saveAll() {
+        checkpointTasks.set(true);
+        for (Store store : Store.values()) {
+            dirty.getAndUpdate(stores -> stores | store.bit());
+        }
+        return flush();
+    }
+    
+    /**
+     * Stops listening, saves everything and waits for the writes to finish
+     * Throws the first write failure, which the flush has already reported.
+     */
+    @Override
+    public void close() throws IOException {
+        CompletableFuture<Void> saved;
+        synchronized (flushLock) {
+            if (closed) {
+                return;
+            }
+            saved = saveAll();
+            closed = true;
+        }
+        scheduleManager.removeChangeListener(scheduleListener);
+        taskManager.removeChangeListener(taskListener);
+        schedulingEngine.removeChangeListener(engineListener);
+        try {
+            saved.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } finally {
+            flusher.shutdown();
+            writers.shutdown();
+        }
+    }
+    
+    private void runFlush() {
+        CompletableFuture<Void> done;
+        synchronized (flushLock) {
+            done = pending;
+            pending = null;
+        }
+        int stores = dirty.getAndSet(0);
+        boolean checkpoint = (stores & Store.TASKS.bit()) != 0 && checkpointTasks.getAndSet(false);
+        IOException failure = null;
+        
+        try (OperationTimer.Span span = FLUSH_TIMER.start()) {
+            span.setItems(Integer.bitCount(stores));
+            Map<Store, Future<?>> writes = new EnumMap<>(Store.class);
+            dataLock.lock();
+            try {
+                for (Store store : Store.values()) {
+                    if ((stores & store.bit()) != 0) {
+                        writes.put(store, writers.submit(() -> write(store, checkpoint)));
+                    }
+                }
+                for (Map.Entry<Store, Future<?>> write : writes.entrySet()) {
+                    IOException error = await(write.getValue());
+                    if (error != null) {
+                        Store store = write.getKey();
+                        dirty.getAndUpdate(remaining -> remaining | store.bit());
+                        if (store == Store.TASKS && checkpoint) {
+                            checkpointTasks.set(true);
+                        }
+                        ERRORS.increment();
+                        System.err.println("Error saving " + store.label + ": " + error.getMessage());
+                        failure = failure == null ? error : failure;
+                    }
+                }
+            } finally {
+                dataLock.unlock();
+            }
+        }
+        
+        if (failure == null) {
+            done.complete(null);
+        } else {
+            done.completeExceptionally(failure);
+        }
+    }
+    
+    private Void write(Store store, boolean checkpoint) throws IOException {
+        switch (store) {
+            case USER_SCHEDULE:
+                fileManager.writeUserSchedule(scheduleManager);
+                break;
+            case TASKS:
+                fileManager.writeTasks(taskManager, checkpoint);
+                break;
+            default:
+                fileManager.writeSchedule(schedulingEngine);
+        }
+        return null;
+    }
+    
+    /**
+     * Waits for a write, returning its failure as an IOException or null if it succeeded
+     */
+    private static IOException await(Future<?> write) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    write.get();
+                    return null;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.metrics.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import taskscheduler.util.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Test cases for background, coalesced saving through AsyncPersistence
+ */
+public class AsyncPersistenceTest {
+    private static final long NO_AUTOMATIC_FLUSH_MS = 60_000;
+    
+    @TempDir
+    Path tempDir;
+    
+    private FileManager fileManager;
+    private UserScheduleManager scheduleManager;
+    private TaskManager taskManager;
+    private SchedulingEngine schedulingEngine;
+    private AsyncPersistence persistence;
+    
+    @BeforeEach
+    public void setUp() {
+        fileManager = new FileManager(tempDir.toString());
+        scheduleManager = new UserScheduleManager();
+        taskManager = new TaskManager();
+        schedulingEngine = new SchedulingEngine();
+        schedulingEngine.setQuiet(true);
+    }
+    
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (persistence != null) {
+            persistence.close();
+        }
+        fileManager.closeTaskJournal();
+    }
+    
+    @Test
+    @DisplayName("Test a burst of changes is written by one flush")
+    public void testCoalescing() {
+        persistence = new AsyncPersistence(fileManager, new ReentrantLock(), scheduleManager,
+                                           taskManager, schedulingEngine, NO_AUTOMATIC_FLUSH_MS);
+        long flushes = Metrics.timer("persistence.flush").getHistogram().getCount();
+        
+        for (int i = 0; i < 50; i++) {
+            taskManager.addTask(new Task("Task " + i, "", Priority.MEDIUM, 1, "30-10-2025"));
+        }
+        assertFalse(Files.exists(tempDir.resolve("tasks.bin")), "Changes should not be written by the caller");
+        
+        persistence.flush().join();
+        
+        assertEquals(flushes + 1, Metrics.timer("persistence.flush").getHistogram().getCount());
+        assertEquals(50, fileManager.loadTasks().getAllTasks().size());
+        assertFalse(Files.exists(tempDir.resolve("user_schedule.bin")), "Only dirty stores should be written");
+    }
+    
+    @Test
+    @DisplayName("Test changes to all three stores are saved and can be reloaded")
+    public void testFlushAllStores() throws IOException {
+        persistence = new AsyncPersistence(fileManager, new ReentrantLock(), scheduleManager,
+                                           taskManager, schedulingEngine, NO_AUTOMATIC_FLUSH_MS);
+        List<TimeSlot> weekday = List.of(new TimeSlot("09:00", "12:00"));
+        Task task = new Task("Report", "Quarterly", Priority.HIGH, 2, "30-10-2025");
+        
+        scheduleManager.setWeekdaySchedule(weekday);
+        taskManager.addTask(task);
+        schedulingEngine.generateSchedule(taskManager.getPendingTasks(), weekday, List.of());
+        persistence.flush().join();
+        
+        assertEquals(1, fileManager.loadUserSchedule().getWeekdaySchedule().size());
+        assertNotNull(fileManager.loadTasks().getTaskById(task.getTaskId()));
+        assertEquals(1, fileManager.loadSchedule().getScheduleView().get("Monday").size());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")), "Temp files should be renamed");
+        }
+    }
+    
+    @Test
+    @DisplayName("Test flush syncs an open task journal and close checkpoints it")
+    public void testJournalFlushAndCheckpoint() throws IOException {
+        fileManager.openTaskJournal(taskManager);
+        persistence = new AsyncPersistence(fileManager, new ReentrantLock(), scheduleManager,
+                                           taskManager, schedulingEngine, NO_AUTOMATIC_FLUSH_MS);
+        Task task = new Task("Exercise", "Morning workout", Priority.MEDIUM, 1, "25-10-2025");
+        taskManager.addTask(task);
+        long saves = Metrics.timer("persistence.saveTasks").getHistogram().getCount();
+        
+        persistence.flush().join();
+        assertTrue(Files.size(tempDir.resolve("tasks.journal")) > 0, "Flush should only sync the journal");
+        assertEquals(saves + 1, Metrics.timer("persistence.saveTasks").getHistogram().getCount(),
+                    "Journal syncs should be timed as task saves");
+        assertNotNull(fileManager.loadTasks().getTaskById(task.getTaskId()));
+        
+        persistence.close();
+        assertEquals(0, Files.size(tempDir.resolve("tasks.journal")), "Close should checkpoint the journal");
+        assertNotNull(fileManager.loadTasks().getTaskById(task.getTaskId()));
+    }
+    
+    @Test
+    @DisplayName("Test a failed write fails the future and is retried by the next flush")
+    public void testFailedWriteStaysDirty() throws IOException {
+        persistence = new AsyncPersistence(fileManager, new ReentrantLock(), scheduleManager,
+                                           taskManager, schedulingEngine, NO_AUTOMATIC_FLUSH_MS);
+        Path blocker = Files.createDirectory(tempDir.resolve("generated_schedule.bin"));
+        Files.createFile(blocker.resolve("keep"));
+        schedulingEngine.clearSchedule();
+        
+        assertThrows(CompletionException.class, () -> persistence.flush().join());
+        assertTrue(Files.isDirectory(blocker), "Failed write should leave the old file in place");
+        
+        Files.delete(blocker.resolve("keep"));
+        Files.delete(blocker);
+        persistence.flush().join();
+        assertTrue(Files.isRegularFile(tempDir.resolve("generated_schedule.bin")));
+    }
+    
+    @Test
+    @DisplayName("Test close reports a store that could not be written")
+    public void testCloseReportsFailure() throws IOException {
+        persistence = new AsyncPersistence(fileManager, new ReentrantLock(), scheduleManager,
+                                           taskManager, schedulingEngine, NO_AUTOMATIC_FLUSH_MS);
+        Path blocker = Files.createDirectory(tempDir.resolve("user_schedule.bin"));
+        Files.createFile(blocker.resolve("keep"));
+        
+        assertThrows(IOException.class, () -> persistence.close());
+        persistence.close();
+    }
+    
+    @Test
+    @DisplayName("Test clearing data closes the task journal and deletes every file")
+    public void testClearAllData() throws IOException {
+        fileManager.openTaskJournal(taskManager);
+        taskManager.addTask(new Task("Exercise", "Morning workout", Priority.MEDIUM, 1, "25-10-2025"));
+        fileManager.saveTasks(taskManager);
+        Files.write(tempDir.resolve("tasks.journal.sealed"), new byte[0]);
+        
+        fileManager.clearAllData();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "No data files should be left");
+        }
+        assertEquals(0, fileManager.loadTasks().getAllTasks().size());
+    }
+    
+    @Test
+    @DisplayName("Test every failed load is counted as a persistence error")
+    public void testFailedLoadsCounted() throws IOException {
+        Files.write(tempDir.resolve("user_schedule.bin"), new byte[] {1, 2, 3});
+        Files.write(tempDir.resolve("generated_schedule.bin"), new byte[] {1, 2, 3});
+        long errors = Metrics.counter("persistence.errors").get();
+        
+        assertTrue(fileManager.loadUserSchedule().getWeekdaySchedule().isEmpty());
+        assertTrue(fileManager.loadSchedule().getScheduleView().values().stream().allMatch(List::isEmpty));
+        assertEquals(errors + 2, Metrics.counter("persistence.errors").get());
+    }
+    
+    @Test
+    @DisplayName("Test changes are flushed automatically after the delay")
+    public void testAutomaticFlush() throws InterruptedException {
+        persistence = new AsyncPersistence(fileManager, new ReentrantLock(), scheduleManager,
+                                           taskManager, schedulingEngine, 20);
+        scheduleManager.setWeekendSchedule(List.of(new TimeSlot("10:00", "14:00")));
+        
+        Path file = tempDir.resolve("user_schedule.bin");
+        for (int i = 0; i < 200 && !Files.exists(file); i++) {
+            Thread.sleep(25);
+        }
+        assertTrue(Files.exists(file), "Dirty store should be written without an explicit flush");
+    }
+}
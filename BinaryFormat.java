@@ -0,0 +1,435 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Versioned compact binary layout for the data files
+ * Strings are length-prefixed UTF-8, enums are stored as ordinals and
+ * DD-MM-YYYY deadlines as epoch days. From version 2 the tasks file ends
+ * with an offset index sorted by task id so it can be read lazily; version 3
+ * adds counts by priority and the entries for each TaskSort to its meta block,
+ * and version 4 the day each completed task was completed on.
+ */
+public class BinaryFormat {
+    public static final int MAGIC = 0x54534348;
+    public static final int VERSION = 4;
+    public static final int INDEX_MAGIC = 0x54534958;
+    public static final int INDEX_ENTRY_BYTES = 5;
+    public static final int TRAILER_BYTES = 24;
+    
+    public static final int KIND_TASKS = 1;
+    public static final int KIND_USER_SCHEDULE = 2;
+    public static final int KIND_GENERATED_SCHEDULE = 3;
+    
+    private static final int DEADLINE_TEXT = 0;
+    private static final int DEADLINE_EPOCH_DAY = 1;
+    /**
+     * Set on a record's status byte when the completion epoch day follows it
+     */
+    private static final int STATUS_COMPLETED_ON = 0x80;
+    private static final int WRITE_PAGE_SIZE = 4096;
+    
+    private BinaryFormat() {
+    }
+    
+    /**
+     * Writes all tasks in issue order followed by the lazy-read indexes and trailer
+     * Records are streamed to the file as TaskManager.forEachTask visits them, so
+     * archived tasks are never decoded into the store; only each task's offset,
+     * status, priority, deadline and id are kept, in primitive columns, to sort the indexes.
+     * Index entries are (record offset, status ordinal) sorted by UTF-8 task id.
+     * The same entries are also written once per TaskSort in that order, for paging.
+     * The meta block holds the highest id, the counts by status, then by status
+     * and priority, the offset of each TaskSort's entries and the completions by
+     * epoch day; the trailer holds the meta and index offsets, task count and INDEX_MAGIC
+     */
+    public static void writeTasks(Path path, TaskManager taskManager) throws IOException {
+        try (BinaryWriter writer = new BinaryWriter(path)) {
+            writeHeader(writer, KIND_TASKS);
+            int count = taskManager.getTaskStatistics().get("total");
+            TaskColumns columns = new TaskColumns(count);
+            
+            writer.writeVarInt(count);
+            try {
+                taskManager.forEachTask(task -> {
+                    try {
+                        if (columns.size == count) {
+                            throw new IOException("Tasks were added while saving");
+                        }
+                        columns.add(task, Math.toIntExact(writer.position()));
+                        writeTask(writer, task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (columns.size != count) {
+                throw new IOException("Tasks were removed while saving");
+            }
+            
+            long[] sortOffsets = new long[TaskSort.values().length];
+            for (TaskSort sort : TaskSort.values()) {
+                sortOffsets[sort.ordinal()] = writer.position();
+                writeIndexEntries(writer, sortIndexes(count, columns.order(sort)), columns);
+            }
+            
+            long metaOffset = writer.position();
+            writer.writeString(columns.maxTaskId);
+            writer.writeVarInt(columns.statusCounts.length);
+            for (int statusCount : columns.statusCounts) {
+                writer.writeVarInt(statusCount);
+            }
+            writer.writeVarInt(Priority.values().length);
+            for (int[] byPriority : columns.priorityCounts) {
+                for (int priorityCount : byPriority) {
+                    writer.writeVarInt(priorityCount);
+                }
+            }
+            writer.writeVarInt(sortOffsets.length);
+            for (long sortOffset : sortOffsets) {
+                writer.writeLong(sortOffset);
+            }
+            writer.writeVarInt(columns.completionsByDay.size());
+            for (Map.Entry<Long, Integer> completions : columns.completionsByDay.entrySet()) {
+                writer.writeLong(completions.getKey());
+                writer.writeVarInt(completions.getValue());
+            }
+            
+            long indexOffset = writer.position();
+            writeIndexEntries(writer, sortIndexes(count, (a, b) -> columns.compareIds(a, b, true)), columns);
+            
+            writer.writeLong(metaOffset);
+            writer.writeLong(indexOffset);
+            writer.writeInt(count);
+            writer.writeInt(INDEX_MAGIC);
+        }
+    }
+    
+    private static void writeIndexEntries(BinaryWriter writer, int[] order, TaskColumns columns) throws IOException {
+        for (int i : order) {
+            writer.writeInt(columns.offsets[i]);
+            writer.writeByte(columns.statuses[i]);
+        }
+    }
+    
+    /**
+     * Stable merge sort of the indexes 0..count-1, skipping runs already in order
+     */
+    private static int[] sortIndexes(int count, IntBinaryOperator order) {
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = i;
+        }
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(mid + width, count);
+                if (order.applyAsInt(indexes[mid - 1], indexes[mid]) <= 0) {
+                    continue;
+                }
+                System.arraycopy(indexes, low, buffer, low, high - low);
+                int left = low;
+                int right = mid;
+                for (int i = low; i < high; i++) {
+                    if (right >= high || (left < mid && order.applyAsInt(buffer[left], buffer[right]) <= 0)) {
+                        indexes[i] = buffer[left++];
+                    } else {
+                        indexes[i] = buffer[right++];
+                    }
+                }
+            }
+        }
+        return indexes;
+    }
+    
+    /**
+     * What writeTasks keeps of each task, indexed by its position in issue order
+     */
+    private static class TaskColumns {
+        final int[] offsets;
+        final byte[] statuses;
+        final byte[] priorities;
+        final long[] deadlines;
+        final int[] idStarts;
+        final StringBuilder ids = new StringBuilder();
+        final int[] statusCounts = new int[TaskStatus.values().length];
+        final int[][] priorityCounts = new int[TaskStatus.values().length][Priority.values().length];
+        final Map<Long, Integer> completionsByDay = new TreeMap<>();
+        String maxTaskId;
+        int size;
+        
+        TaskColumns(int count) {
+            offsets = new int[count];
+            statuses = new byte[count];
+            priorities = new byte[count];
+            deadlines = new long[count];
+            idStarts = new int[count + 1];
+        }
+        
+        /**
+         * Tasks arrive in issue order, so the last one added has the highest id
+         */
+        void add(Task task, int offset) {
+            offsets[size] = offset;
+            statuses[size] = (byte) task.getStatus().ordinal();
+            priorities[size] = (byte) task.getPriority().ordinal();
+            deadlines[size] = task.getDeadlineEpochDay();
+            ids.append(task.getTaskId());
+            idStarts[size + 1] = ids.length();
+            statusCounts[task.getStatus().ordinal()]++;
+            priorityCounts[task.getStatus().ordinal()][task.getPriority().ordinal()]++;
+            if (task.getStatus() == TaskStatus.COMPLETED && task.getCompletedEpochDay() != Task.NOT_COMPLETED) {
+                completionsByDay.merge(task.getCompletedEpochDay(), 1, Integer::sum);
+            }
+            maxTaskId = task.getTaskId();
+            size++;
+        }
+        
+        /**
+         * The sort's comparator restated over the columns
+         */
+        IntBinaryOperator order(TaskSort sort) {
+            switch (sort) {
+                case ISSUE:
+                    return Integer::compare;
+                case PRIORITY:
+                    return (a, b) -> {
+                        int cmp = Integer.compare(priorities[a], priorities[b]);
+                        if (cmp == 0) {
+                            cmp = Long.compare(deadlines[a], deadlines[b]);
+                        }
+                        return cmp != 0 ? cmp : compareIds(a, b, false);
+                    };
+                case DEADLINE:
+                    return (a, b) -> {
+                        int cmp = Long.compare(deadlines[a], deadlines[b]);
+                        return cmp != 0 ? cmp : Integer.compare(a, b);
+                    };
+                default:
+                    throw new IllegalArgumentException("No index order for " + sort);
+            }
+        }
+        
+        /**
+         * Compares two ids like String.compareTo, or in UTF-8 byte order, which is code point order
+         */
+        int compareIds(int a, int b, boolean codePointOrder) {
+            int aLength = idStarts[a + 1] - idStarts[a];
+            int bLength = idStarts[b + 1] - idStarts[b];
+            for (int i = 0; i < Math.min(aLength, bLength); i++) {
+                char x = ids.charAt(idStarts[a] + i);
+                char y = ids.charAt(idStarts[b] + i);
+                if (x != y) {
+                    return codePointOrder ? Integer.compare(codePointRank(x), codePointRank(y)) : x - y;
+                }
+            }
+            return aLength - bLength;
+        }
+        
+        /**
+         * Moves surrogates above U+E000..U+FFFF, since they encode code points past the BMP
+         */
+        private static int codePointRank(char c) {
+            if (Character.isSurrogate(c)) {
+                return c + 0x2000;
+            }
+            return c >= 0xE000 ? c - 0x800 : c;
+        }
+    }
+    
+    public static TaskManager readTasks(Path path) throws IOException {
+        try (BinaryReader reader = new BinaryReader(path)) {
+            readHeader(reader, KIND_TASKS);
+            TaskManager taskManager = new TaskManager();
+            int count = reader.readVarInt();
+            for (int i = 0; i < count; i++) {
+                taskManager.addTask(readTask(reader));
+            }
+            return taskManager;
+        }
+    }
+    
+    public static void writeUserSchedule(Path path, UserScheduleManager scheduleManager) throws IOException {
+        try (BinaryWriter writer = new BinaryWriter(path)) {
+            writeHeader(writer, KIND_USER_SCHEDULE);
+            writeTimeSlots(writer, scheduleManager.getWeekdaySchedule());
+            writeTimeSlots(writer, scheduleManager.getWeekendSchedule());
+        }
+    }
+    
+    public static UserScheduleManager readUserSchedule(Path path) throws IOException {
+        try (BinaryReader reader = new BinaryReader(path)) {
+            readHeader(reader, KIND_USER_SCHEDULE);
+            UserScheduleManager scheduleManager = new UserScheduleManager();
+            scheduleManager.setWeekdaySchedule(readTimeSlots(reader));
+            scheduleManager.setWeekendSchedule(readTimeSlots(reader));
+            return scheduleManager;
+        }
+    }
+    
+    public static void writeSchedule(Path path, SchedulingEngine schedulingEngine) throws IOException {
+        try (BinaryWriter writer = new BinaryWriter(path)) {
+            writeHeader(writer, KIND_GENERATED_SCHEDULE);
+            Map<String, List<ScheduledTask>> schedule = schedulingEngine.getScheduleView();
+            writer.writeVarInt(schedule.size());
+            for (Map.Entry<String, List<ScheduledTask>> entry : schedule.entrySet()) {
+                writer.writeString(entry.getKey());
+                writer.writeVarInt(entry.getValue().size());
+                for (ScheduledTask st : entry.getValue()) {
+                    writeTask(writer, st.getTask());
+                    writer.writeShort(toMinutes(st.getStartTime()));
+                    writer.writeShort(toMinutes(st.getEndTime()));
+                    writer.writeVarInt(st.isSplit() ? st.getSplitPart() + 1 : 0);
+                }
+            }
+            List<Task> unscheduled = schedulingEngine.getUnscheduledTasksView();
+            writer.writeVarInt(unscheduled.size());
+            for (Task task : unscheduled) {
+                writeTask(writer, task);
+            }
+        }
+    }
+    
+    public static SchedulingEngine readSchedule(Path path) throws IOException {
+        try (BinaryReader reader = new BinaryReader(path)) {
+            readHeader(reader, KIND_GENERATED_SCHEDULE);
+            SchedulingEngine schedulingEngine = new SchedulingEngine();
+            int days = reader.readVarInt();
+            for (int d = 0; d < days; d++) {
+                String day = reader.readString();
+                int count = reader.readVarInt();
+                for (int i = 0; i < count; i++) {
+                    Task task = readTask(reader);
+                    String startTime = fromMinutes(reader.readShort());
+                    String endTime = fromMinutes(reader.readShort());
+                    int split = reader.readVarInt();
+                    schedulingEngine.addScheduledTask(split == 0
+                        ? new ScheduledTask(task, day, startTime, endTime)
+                        : new ScheduledTask(task, day, startTime, endTime, split - 1));
+                }
+            }
+            int unscheduled = reader.readVarInt();
+            for (int i = 0; i < unscheduled; i++) {
+                schedulingEngine.addUnscheduledTask(readTask(reader));
+            }
+            return schedulingEngine;
+        }
+    }
+    
+    public static void writeTask(BinaryWriter writer, Task task) throws IOException {
+        writer.writeString(task.getTaskId());
+        writer.writeString(task.getName());
+        writer.writeString(task.getDescription());
+        writer.writeByte(task.getPriority().ordinal());
+        writer.writeDouble(task.getDurationHours());
+        writeDeadline(writer, task);
+        if (task.getStatus() == TaskStatus.COMPLETED && task.getCompletedEpochDay() != Task.NOT_COMPLETED) {
+            writer.writeByte(task.getStatus().ordinal() | STATUS_COMPLETED_ON);
+            writer.writeInt(Math.toIntExact(task.getCompletedEpochDay()));
+        } else {
+            writer.writeByte(task.getStatus().ordinal());
+        }
+    }
+    
+    public static Task readTask(BinaryReader reader) throws IOException {
+        String taskId = reader.readString();
+        String name = reader.readString();
+        String description = reader.readString();
+        Priority priority = Priority.values()[reader.readByte()];
+        double durationHours = reader.readDouble();
+        String deadline = readDeadline(reader);
+        int statusByte = reader.readByte();
+        Task task = new Task(taskId, name, description, priority, durationHours, deadline,
+                             TaskStatus.values()[statusByte & ~STATUS_COMPLETED_ON]);
+        if ((statusByte & STATUS_COMPLETED_ON) != 0) {
+            task.setCompletedEpochDay(reader.readInt());
+        }
+        return task;
+    }
+    
+    public static void writeHeader(BinaryWriter writer, int kind) throws IOException {
+        writer.writeInt(MAGIC);
+        writer.writeShort(VERSION);
+        writer.writeByte(kind);
+    }
+    
+    /**
+     * Validates the file header and returns the format version it was written with
+     */
+    public static int readHeader(BinaryReader reader, int kind) throws IOException {
+        if (reader.readInt() != MAGIC) {
+            throw new IOException("Not a task scheduler data file");
+        }
+        int version = reader.readShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported data file version: " + version);
+        }
+        int actualKind = reader.readByte();
+        if (actualKind != kind) {
+            throw new IOException("Unexpected data file kind: " + actualKind);
+        }
+        return version;
+    }
+    
+    /**
+     * Stores DD-MM-YYYY deadlines as an epoch day, anything else verbatim
+     */
+    private static void writeDeadline(BinaryWriter writer, Task task) throws IOException {
+        String deadline = task.getDeadline();
+        if (task.hasDeadline()) {
+            LocalDate date = LocalDate.ofEpochDay(task.getDeadlineEpochDay());
+            if (date.format(Task.DEADLINE_FORMAT).equals(deadline)) {
+                writer.writeByte(DEADLINE_EPOCH_DAY);
+                writer.writeInt((int) date.toEpochDay());
+                return;
+            }
+        }
+        writer.writeByte(DEADLINE_TEXT);
+        writer.writeString(deadline);
+    }
+    
+    private static String readDeadline(BinaryReader reader) throws IOException {
+        if (reader.readByte() == DEADLINE_EPOCH_DAY) {
+            return LocalDate.ofEpochDay(reader.readInt()).format(Task.DEADLINE_FORMAT);
+        }
+        return reader.readString();
+    }
+    
+    private static void writeTimeSlots(BinaryWriter writer, List<TimeSlot> slots) throws IOException {
+        writer.writeVarInt(slots.size());
+        for (TimeSlot slot : slots) {
+            writer.writeShort(slot.getStartHour() * 60 + slot.getStartMinute());
+            writer.writeShort(slot.getEndHour() * 60 + slot.getEndMinute());
+        }
+    }
+    
+    private static List<TimeSlot> readTimeSlots(BinaryReader reader) throws IOException {
+        int count = reader.readVarInt();
+        List<TimeSlot> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String startTime = fromMinutes(reader.readShort());
+            String endTime = fromMinutes(reader.readShort());
+            slots.add(new TimeSlot(startTime, endTime));
+        }
+        return slots;
+    }
+    
+    private static int toMinutes(String time) {
+        String[] parts = time.split(":");
+        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+    }
+    
+    private static String fromMinutes(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
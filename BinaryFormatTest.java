@@ -0,0 +1,95 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import taskscheduler.util.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * JUnit test cases for the binary data file format
+ */
+public class BinaryFormatTest {
+    @TempDir
+    Path tempDir;
+    
+    private TaskManager taskManager;
+    private Task testTask1;
+    private Task testTask2;
+    
+    @BeforeEach
+    public void setUp() {
+        taskManager = new TaskManager();
+        testTask1 = new Task("Study Java", "Complete OOP concepts",
+                            Priority.HIGH, 2.0, "30-10-2025");
+        testTask2 = new Task("Exercise", "Morning workout",
+                            Priority.MEDIUM, 1.5, "next week");
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        taskManager.markTaskComplete(testTask2.getTaskId());
+    }
+    
+    @Test
+    @DisplayName("Test tasks round-trip through the binary format")
+    public void testTasksRoundTrip() throws IOException {
+        Path file = tempDir.resolve("tasks.bin");
+        BinaryFormat.writeTasks(file, taskManager);
+        
+        TaskManager loaded = BinaryFormat.readTasks(file);
+        Task task1 = loaded.getTaskById(testTask1.getTaskId());
+        Task task2 = loaded.getTaskById(testTask2.getTaskId());
+        
+        assertEquals(2, loaded.getAllTasks().size());
+        assertEquals("30-10-2025", task1.getDeadline(), "Dated deadline should survive epoch day encoding");
+        assertEquals("next week", task2.getDeadline(), "Free-form deadline should be kept verbatim");
+        assertEquals(TaskStatus.COMPLETED, task2.getStatus());
+        assertEquals(1.5, task2.getDurationHours(), 0.0001);
+        assertEquals(1, loaded.getPendingTaskCount());
+    }
+    
+    @Test
+    @DisplayName("Test new tasks do not reuse restored ids")
+    public void testRestoredIdsAreReserved() throws IOException {
+        Path file = tempDir.resolve("tasks.bin");
+        BinaryFormat.writeTasks(file, taskManager);
+        TaskManager loaded = BinaryFormat.readTasks(file);
+        
+        Task newTask = new Task("New", "After load", Priority.LOW, 1.0, "01-11-2025");
+        assertNull(loaded.getTaskById(newTask.getTaskId()), "New task id should be unused");
+    }
+    
+    @Test
+    @DisplayName("Test user schedule round-trip through the binary format")
+    public void testUserScheduleRoundTrip() throws IOException {
+        UserScheduleManager scheduleManager = new UserScheduleManager();
+        scheduleManager.setWeekdaySchedule(List.of(new TimeSlot("09:00", "12:30")));
+        scheduleManager.setWeekendSchedule(List.of(new TimeSlot("10:00", "16:00")));
+        
+        Path file = tempDir.resolve("user_schedule.bin");
+        BinaryFormat.writeUserSchedule(file, scheduleManager);
+        UserScheduleManager loaded = BinaryFormat.readUserSchedule(file);
+        
+        assertEquals(scheduleManager.getTotalWeeklyHours(), loaded.getTotalWeeklyHours(), 0.01);
+    }
+    
+    @Test
+    @DisplayName("Test legacy serialized tasks are migrated once")
+    public void testLegacyMigration() throws IOException {
+        Path legacyFile = tempDir.resolve("tasks.dat");
+        Path binaryFile = tempDir.resolve("tasks.bin");
+        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(legacyFile))) {
+            oos.writeObject(taskManager);
+        }
+        
+        LegacyDataMigrator migrator = new LegacyDataMigrator();
+        assertTrue(migrator.migrateTasks(legacyFile, binaryFile), "Legacy file should be migrated");
+        assertFalse(Files.exists(legacyFile), "Legacy file should be retired");
+        assertFalse(migrator.migrateTasks(legacyFile, binaryFile), "Migration should only run once");
+        
+        assertEquals(2, BinaryFormat.readTasks(binaryFile).getAllTasks().size());
+    }
+}
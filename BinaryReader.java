@@ -0,0 +1,117 @@
+package taskscheduler.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Buffered primitive reader over a FileChannel, the counterpart of BinaryWriter
+ */
+public class BinaryReader implements Closeable {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    
+    public BinaryReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(BinaryWriter.BUFFER_SIZE);
+        this.buffer.flip();
+    }
+    
+    /**
+     * Reads from bytes already in memory, such as a journal record or a mapped file
+     */
+    public BinaryReader(ByteBuffer data) {
+        this.channel = null;
+        this.buffer = data;
+    }
+    
+    public int readByte() throws IOException {
+        require(1);
+        return buffer.get() & 0xFF;
+    }
+    
+    public int readShort() throws IOException {
+        require(2);
+        return buffer.getShort();
+    }
+    
+    public int readInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+    
+    public long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+    
+    public double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+    
+    public int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed variable-length integer");
+            }
+            b = readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+    
+    public String readString() throws IOException {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    public void readBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                fill();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+    
+    private void require(int bytes) throws IOException {
+        while (buffer.remaining() < bytes) {
+            fill();
+        }
+    }
+    
+    private void fill() throws IOException {
+        if (channel == null) {
+            throw new EOFException("Unexpected end of record");
+        }
+        buffer.compact();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (read < 0) {
+            throw new EOFException("Unexpected end of data file");
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
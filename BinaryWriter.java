@@ -0,0 +1,137 @@
+package taskscheduler.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Buffered primitive writer over a FileChannel
+ * Values are staged in a large direct buffer and written in bulk
+ */
+public class BinaryWriter implements Closeable {
+    static final int BUFFER_SIZE = 1 << 20;
+    
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long flushedBytes;
+    
+    public BinaryWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                        StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+    
+    /**
+     * Writes to an already open channel through a heap buffer of the given size
+     */
+    public BinaryWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+    
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+    
+    public void writeShort(int value) throws IOException {
+        ensure(2);
+        buffer.putShort((short) value);
+    }
+    
+    public void writeInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+    
+    public void writeLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+    
+    public void writeDouble(double value) throws IOException {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+    
+    /**
+     * Writes a non-negative int in 7-bit groups, one byte for values below 128
+     */
+    public void writeVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+    
+    /**
+     * Writes a length-prefixed UTF-8 string, with length 0 reserved for null
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        writeBytes(bytes);
+    }
+    
+    public void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+    
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushedBytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    /**
+     * Returns the number of bytes written so far, including buffered ones
+     */
+    public long position() {
+        return flushedBytes + buffer.position();
+    }
+    
+    /**
+     * Flushes buffered data and forces it to the storage device
+     */
+    public void sync() throws IOException {
+        flush();
+        if (channel instanceof FileChannel) {
+            ((FileChannel) channel).force(false);
+        }
+    }
+    
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * A schedule held in parallel primitive arrays instead of ScheduledTask objects
+ * This is the form CompiledScheduler produces natively; SchedulingEngine keeps
+ * its own lists and exports them through blocks() without packing them here.
+ *
+ * Each block is a task index, a day ordinal (Monday = 0), start and end
+ * minutes of the week and a split part (0 when not split), so a block costs
+ * about 20 bytes and no strings. Tasks are stored once and shared by all of
+ * their blocks. Day names and times are only produced when a Block view is
+ * rendered, and the append methods render without allocating.
+ * A schedule can be refilled in place, keeping its arrays, which is how
+ * CompiledScheduler generates weeks without allocating per task.
+ */
+public final class CompactSchedule implements ScheduleBlocks {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int DAYS_PER_WEEK = 7;
+    
+    private static final String[] DAY_NAMES = {"Monday", "Tuesday", "Wednesday",
+                                               "Thursday", "Friday", "Saturday", "Sunday"};
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private LocalDate weekStart;
+    private Task[] tasks;
+    private int taskCount;
+    private Map<Task, Integer> taskIndexes;
+    private final List<Task> unscheduledTasks;
+    private int[] taskIndex;
+    private byte[] dayOrdinal;
+    private int[] startMinute;
+    private int[] endMinute;
+    private short[] splitPart;
+    private final BitSet late;
+    private int size;
+    private final int[] dayOffsets;
+    private boolean ordered;
+    
+    public CompactSchedule(LocalDate weekStart) {
+        this(weekStart, INITIAL_CAPACITY);
+    }
+    
+    public CompactSchedule(LocalDate weekStart, int expectedBlocks) {
+        int capacity = Math.max(expectedBlocks, 1);
+        this.weekStart = weekStart;
+        this.tasks = new Task[capacity];
+        this.unscheduledTasks = new ArrayList<>();
+        this.taskIndex = new int[capacity];
+        this.dayOrdinal = new byte[capacity];
+        this.startMinute = new int[capacity];
+        this.endMinute = new int[capacity];
+        this.splitPart = new short[capacity];
+        this.late = new BitSet(capacity);
+        this.dayOffsets = new int[DAYS_PER_WEEK + 1];
+    }
+    
+    /**
+     * Copies an engine's current schedule, parsing each block's times once
+     * Meant for comparing against CompiledScheduler output; exports read the engine directly.
+     */
+    public static CompactSchedule of(SchedulingEngine schedulingEngine) {
+        Map<String, List<ScheduledTask>> schedule = schedulingEngine.getScheduleView();
+        int blocks = 0;
+        for (List<ScheduledTask> day : schedule.values()) {
+            blocks += day.size();
+        }
+        CompactSchedule compact = new CompactSchedule(schedulingEngine.getWeekStart(), blocks);
+        Set<ScheduledTask> lateBlocks = Collections.newSetFromMap(new IdentityHashMap<>());
+        lateBlocks.addAll(schedulingEngine.getLateTasksView());
+        for (Map.Entry<String, List<ScheduledTask>> day : schedule.entrySet()) {
+            int ordinal = DayOfWeek.valueOf(day.getKey().toUpperCase()).ordinal();
+            for (ScheduledTask st : day.getValue()) {
+                int block = compact.add(st.getTask(), ordinal, minuteOfDay(st.getStartTime()),
+                                        minuteOfDay(st.getEndTime()), st.isSplit() ? st.getSplitPart() : 0);
+                if (lateBlocks.contains(st)) {
+                    compact.markLate(block);
+                }
+            }
+        }
+        compact.unscheduledTasks.addAll(schedulingEngine.getUnscheduledTasksView());
+        return compact;
+    }
+    
+    /**
+     * Appends a block and returns its index; times are minutes from midnight of that day
+     */
+    public int add(Task task, int day, int startMinuteOfDay, int endMinuteOfDay, int part) {
+        if (taskIndexes == null) {
+            taskIndexes = new IdentityHashMap<>();
+            for (int i = 0; i < taskCount; i++) {
+                taskIndexes.put(tasks[i], i);
+            }
+        }
+        Integer index = taskIndexes.get(task);
+        if (index == null) {
+            if (taskCount == tasks.length) {
+                tasks = Arrays.copyOf(tasks, taskCount * 2);
+            }
+            index = taskCount;
+            tasks[taskCount++] = task;
+            taskIndexes.put(task, index);
+        }
+        return add(index, day, startMinuteOfDay, endMinuteOfDay, part);
+    }
+    
+    /**
+     * Appends a block for a task already held by the schedule, given by its task index
+     */
+    public int add(int task, int day, int startMinuteOfDay, int endMinuteOfDay, int part) {
+        if (task < 0 || task >= taskCount) {
+            throw new IndexOutOfBoundsException("Task " + task + " of " + taskCount);
+        }
+        if (day < 0 || day >= DAYS_PER_WEEK) {
+            throw new IllegalArgumentException("Invalid day ordinal: " + day);
+        }
+        if (size == taskIndex.length) {
+            grow(size * 2);
+        }
+        taskIndex[size] = task;
+        dayOrdinal[size] = (byte) day;
+        startMinute[size] = day * MINUTES_PER_DAY + startMinuteOfDay;
+        endMinute[size] = day * MINUTES_PER_DAY + endMinuteOfDay;
+        splitPart[size] = (short) part;
+        ordered = false;
+        return size++;
+    }
+    
+    public void markLate(int block) {
+        checkIndex(block);
+        late.set(block);
+    }
+    
+    public void addUnscheduledTask(Task task) {
+        unscheduledTasks.add(task);
+    }
+    
+    @Override
+    public LocalDate getWeekStart() { return weekStart; }
+    @Override
+    public int size() { return size; }
+    public int getTaskCount() { return taskCount; }
+    
+    @Override
+    public List<Task> getUnscheduledTasks() {
+        return Collections.unmodifiableList(unscheduledTasks);
+    }
+    
+    @Override
+    public Task getTask(int block) {
+        checkIndex(block);
+        return tasks[taskIndex[block]];
+    }
+    
+    @Override
+    public int getDayOrdinal(int block) {
+        checkIndex(block);
+        return dayOrdinal[block];
+    }
+    
+    public int getStartMinuteOfWeek(int block) {
+        checkIndex(block);
+        return startMinute[block];
+    }
+    
+    public int getEndMinuteOfWeek(int block) {
+        checkIndex(block);
+        return endMinute[block];
+    }
+    
+    @Override
+    public int getSplitPart(int block) {
+        checkIndex(block);
+        return splitPart[block];
+    }
+    
+    @Override
+    public boolean isLate(int block) {
+        checkIndex(block);
+        return late.get(block);
+    }
+    
+    @Override
+    public int getStartMinute(int block) {
+        return getStartMinuteOfWeek(block) - dayOrdinal[block] * MINUTES_PER_DAY;
+    }
+    
+    @Override
+    public int getEndMinute(int block) {
+        return getEndMinuteOfWeek(block) - dayOrdinal[block] * MINUTES_PER_DAY;
+    }
+    
+    @Override
+    public void appendStartTime(int block, Appendable out) throws IOException {
+        appendTime(out, getStartMinute(block));
+    }
+    
+    @Override
+    public void appendEndTime(int block, Appendable out) throws IOException {
+        appendTime(out, getEndMinute(block));
+    }
+    
+    /**
+     * Index of the first block on a day; blocks of a day run from dayStart(d) to dayStart(d + 1)
+     * If blocks were not added in time order this sorts them first, which renumbers them.
+     */
+    @Override
+    public int dayStart(int day) {
+        if (!ordered) {
+            sortByStart();
+            int block = 0;
+            for (int d = 0; d < DAYS_PER_WEEK; d++) {
+                dayOffsets[d] = block;
+                while (block < size && dayOrdinal[block] == d) {
+                    block++;
+                }
+            }
+            dayOffsets[DAYS_PER_WEEK] = size;
+            ordered = true;
+        }
+        return dayOffsets[day];
+    }
+    
+    /**
+     * Empties the schedule for a new week over the given tasks, keeping its arrays
+     * Task indexes passed to add(int, ...) refer to positions in this list.
+     */
+    void reset(LocalDate weekStart, List<Task> newTasks, int expectedBlocks) {
+        this.weekStart = weekStart;
+        Arrays.fill(tasks, 0, taskCount, null);
+        if (tasks.length < newTasks.size()) {
+            tasks = new Task[newTasks.size()];
+        }
+        taskCount = 0;
+        for (Task task : newTasks) {
+            tasks[taskCount++] = task;
+        }
+        taskIndexes = null;
+        unscheduledTasks.clear();
+        late.clear();
+        size = 0;
+        ordered = false;
+        if (taskIndex.length < expectedBlocks) {
+            grow(expectedBlocks);
+        }
+    }
+    
+    /**
+     * Reorders the held tasks; only valid before any block refers to them
+     */
+    void sortTasks(Comparator<Task> order) {
+        Arrays.sort(tasks, 0, taskCount, order);
+        taskIndexes = null;
+    }
+    
+    Task taskAt(int task) {
+        return tasks[task];
+    }
+    
+    /**
+     * Returns a reusable view; position it with moveTo before reading
+     */
+    public Block block() {
+        return new Block();
+    }
+    
+    public static String dayName(int day) {
+        return DAY_NAMES[day];
+    }
+    
+    /**
+     * Converts an HH:MM time to minutes from midnight without allocating
+     */
+    public static int minuteOfDay(String time) {
+        return ((time.charAt(0) - '0') * 10 + (time.charAt(1) - '0')) * 60
+             + (time.charAt(3) - '0') * 10 + (time.charAt(4) - '0');
+    }
+    
+    /**
+     * Appends minutes from midnight as HH:MM without allocating
+     */
+    public static void appendTime(Appendable out, int minuteOfDay) throws IOException {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        out.append((char) ('0' + hour / 10)).append((char) ('0' + hour % 10)).append(':')
+           .append((char) ('0' + minute / 10)).append((char) ('0' + minute % 10));
+    }
+    
+    /**
+     * Flyweight over one block at a time; rendering methods format only on demand
+     */
+    public final class Block {
+        private int index;
+        
+        private Block() {
+        }
+        
+        public Block moveTo(int block) {
+            checkIndex(block);
+            index = block;
+            return this;
+        }
+        
+        public int getIndex() { return index; }
+        public Task getTask() { return tasks[taskIndex[index]]; }
+        public int getDayOrdinal() { return dayOrdinal[index]; }
+        public String getDay() { return DAY_NAMES[dayOrdinal[index]]; }
+        public LocalDate getDate() { return weekStart.plusDays(dayOrdinal[index]); }
+        public int getStartMinute() { return startMinute[index] - dayOrdinal[index] * MINUTES_PER_DAY; }
+        public int getEndMinute() { return endMinute[index] - dayOrdinal[index] * MINUTES_PER_DAY; }
+        public boolean isSplit() { return splitPart[index] != 0; }
+        public int getSplitPart() { return splitPart[index]; }
+        public boolean isLate() { return late.get(index); }
+        
+        public void appendStartTime(Appendable out) throws IOException {
+            appendTime(out, getStartMinute());
+        }
+        
+        public void appendEndTime(Appendable out) throws IOException {
+            appendTime(out, getEndMinute());
+        }
+        
+        public String getStartTime() {
+            return format(getStartMinute());
+        }
+        
+        public String getEndTime() {
+            return format(getEndMinute());
+        }
+        
+        /**
+         * Materializes the block as a ScheduledTask, e.g. to hand it to older code
+         */
+        public ScheduledTask toScheduledTask() {
+            return isSplit()
+                ? new ScheduledTask(getTask(), getDay(), getStartTime(), getEndTime(), getSplitPart())
+                : new ScheduledTask(getTask(), getDay(), getStartTime(), getEndTime());
+        }
+        
+        /**
+         * Same layout as ScheduledTask.toString, built in one pass
+         */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(64).append("  [");
+            try {
+                appendStartTime(text);
+                text.append(" - ");
+                appendEndTime(text);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            text.append("] ").append(getTask().getName());
+            if (isSplit()) {
+                text.append(" (Part ").append(getSplitPart()).append(')');
+            }
+            return text.append(" - Priority: ").append(getTask().getPriority()).toString();
+        }
+        
+        private String format(int minuteOfDay) {
+            StringBuilder time = new StringBuilder(5);
+            try {
+                appendTime(time, minuteOfDay);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return time.toString();
+        }
+    }
+    
+    private void sortByStart() {
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = startMinute[i - 1] <= startMinute[i];
+        }
+        if (sorted) {
+            return;
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) startMinute[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] newTaskIndex = new int[taskIndex.length];
+        byte[] newDayOrdinal = new byte[dayOrdinal.length];
+        int[] newStartMinute = new int[startMinute.length];
+        int[] newEndMinute = new int[endMinute.length];
+        short[] newSplitPart = new short[splitPart.length];
+        BitSet newLate = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            int from = (int) keys[i];
+            newTaskIndex[i] = taskIndex[from];
+            newDayOrdinal[i] = dayOrdinal[from];
+            newStartMinute[i] = startMinute[from];
+            newEndMinute[i] = endMinute[from];
+            newSplitPart[i] = splitPart[from];
+            newLate.set(i, late.get(from));
+        }
+        taskIndex = newTaskIndex;
+        dayOrdinal = newDayOrdinal;
+        startMinute = newStartMinute;
+        endMinute = newEndMinute;
+        splitPart = newSplitPart;
+        late.clear();
+        late.or(newLate);
+    }
+    
+    private void grow(int capacity) {
+        taskIndex = Arrays.copyOf(taskIndex, capacity);
+        dayOrdinal = Arrays.copyOf(dayOrdinal, capacity);
+        startMinute = Arrays.copyOf(startMinute, capacity);
+        endMinute = Arrays.copyOf(endMinute, capacity);
+        splitPart = Arrays.copyOf(splitPart, capacity);
+    }
+    
+    private void checkIndex(int block) {
+        if (block < 0 || block >= size) {
+            throw new IndexOutOfBoundsException("Block " + block + " of " + size);
+        }
+    }
+}
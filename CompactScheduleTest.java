@@ -0,0 +1,79 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Test cases for the primitive-array schedule and its flyweight view
+ */
+public class CompactScheduleTest {
+    @Test
+    @DisplayName("Test packing a generated schedule keeps every block")
+    public void testPackGeneratedSchedule() {
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.setQuiet(true);
+        engine.setWeekStart(LocalDate.of(2025, 10, 6));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            tasks.add(new Task("Task " + i, "", Priority.values()[i % 3], 0.5 + (i % 5) * 0.75, "07-10-2025"));
+        }
+        engine.generateSchedule(tasks, List.of(new TimeSlot("09:00", "12:00"), new TimeSlot("13:30", "17:00")),
+                                List.of(new TimeSlot("10:00", "12:00")));
+        
+        CompactSchedule compact = CompactSchedule.of(engine);
+        CompactSchedule.Block block = compact.block();
+        int blocks = 0;
+        for (int day = 0; day < CompactSchedule.DAYS_PER_WEEK; day++) {
+            List<ScheduledTask> expected = engine.getScheduleView().get(CompactSchedule.dayName(day));
+            assertEquals(expected.size(), compact.dayStart(day + 1) - compact.dayStart(day));
+            for (int i = 0; i < expected.size(); i++) {
+                ScheduledTask st = expected.get(i);
+                block.moveTo(compact.dayStart(day) + i);
+                assertSame(st.getTask(), block.getTask());
+                assertEquals(st.getDay(), block.getDay());
+                assertEquals(st.getStartTime(), block.getStartTime());
+                assertEquals(st.getEndTime(), block.getEndTime());
+                assertEquals(st.getSplitPart(), block.getSplitPart());
+                assertEquals(st.toString(), block.toString(), "Display should match ScheduledTask");
+                blocks++;
+            }
+        }
+        assertEquals(blocks, compact.size());
+        assertEquals(engine.getLateTasksView().size(),
+                    (int) java.util.stream.IntStream.range(0, compact.size()).filter(compact::isLate).count());
+        assertEquals(engine.getUnscheduledTasksView(), compact.getUnscheduledTasks());
+    }
+    
+    @Test
+    @DisplayName("Test blocks added out of order are grouped by day and start time")
+    public void testOutOfOrderBlocks() {
+        CompactSchedule compact = new CompactSchedule(LocalDate.of(2025, 10, 6), 1);
+        Task a = new Task("A", "", Priority.HIGH, 3, "10-10-2025");
+        Task b = new Task("B", "", Priority.LOW, 1, "10-10-2025");
+        int late = compact.add(a, 4, 600, 660, 2);
+        compact.add(b, 0, 540, 600, 0);
+        compact.add(a, 0, 480, 540, 1);
+        compact.markLate(late);
+        
+        assertEquals(3, compact.size());
+        assertEquals(2, compact.getTaskCount(), "Each task should be stored once");
+        assertEquals(0, compact.dayStart(0));
+        assertEquals(2, compact.dayStart(1));
+        assertEquals(2, compact.dayStart(4));
+        assertEquals(3, compact.dayStart(5));
+        
+        CompactSchedule.Block block = compact.block().moveTo(0);
+        assertEquals("08:00", block.getStartTime());
+        assertEquals(1, block.getSplitPart());
+        block.moveTo(2);
+        assertEquals("Friday", block.getDay());
+        assertEquals(LocalDate.of(2025, 10, 10), block.getDate());
+        assertEquals(4 * CompactSchedule.MINUTES_PER_DAY + 600, compact.getStartMinuteOfWeek(2));
+        assertTrue(block.isLate(), "Late flag should follow its block when sorted");
+        assertThrows(IndexOutOfBoundsException.class, () -> block.moveTo(3));
+    }
+}
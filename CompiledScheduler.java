@@ -0,0 +1,238 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Schedule generation over a week of slots compiled once into primitive arrays
+ * Slots are numbered in week order like SlotCapacityIndex, with their day
+ * ordinal, start minute and length, and a segment tree of remaining minutes
+ * answers first-fit queries. Best fit scans the slots, which are few. The
+ * placement loop only reads these arrays and appends to a CompactSchedule,
+ * so once a call has copied and sorted its tasks nothing is allocated per task.
+ * The result matches SchedulingEngine.generateSchedule with the same
+ * settings, except that tasks comparing equal keep their input order.
+ * Not thread-safe; use one instance per thread.
+ */
+public final class CompiledScheduler {
+    private static final int BUFFER_MINUTES = SchedulingEngine.BUFFER_MINUTES;
+    
+    private final SchedulingEngine settings;
+    private final List<TimeSlot> weekdaySlots;
+    private final List<TimeSlot> weekendSlots;
+    private final Comparator<Task> order;
+    private final boolean bestFit;
+    private final boolean splittingEnabled;
+    private final int minChunkMinutes;
+    private final boolean checkDeadlines;
+    private final LocalDate weekStart;
+    private final long weekStartDay;
+    
+    private final byte[] slotDay;
+    private final int[] slotStart;
+    private final int[] slotLength;
+    private final int[] slotUsed;
+    private final int[] tree;
+    private final int leaves;
+    private final int[] chunkSlot;
+    private final int[] chunkMinutes;
+    private FeasibilityReport lastFeasibility;
+    
+    /**
+     * Compiles the slots for the week and captures the engine's placement, splitting and mode settings
+     */
+    public CompiledScheduler(SchedulingEngine schedulingEngine, List<TimeSlot> weekdaySlots,
+                             List<TimeSlot> weekendSlots) {
+        this.settings = schedulingEngine.withSameSettings();
+        this.settings.setWeekStart(schedulingEngine.getWeekStart());
+        this.settings.setQuiet(true);
+        this.weekdaySlots = List.copyOf(weekdaySlots);
+        this.weekendSlots = List.copyOf(weekendSlots);
+        this.order = settings.taskComparator();
+        this.bestFit = settings.getPlacementStrategy() == PlacementStrategy.BEST_FIT;
+        this.splittingEnabled = settings.isSplittingEnabled();
+        this.minChunkMinutes = settings.getMinChunkMinutes();
+        this.checkDeadlines = settings.getSchedulingMode() != SchedulingMode.PRIORITY;
+        this.weekStart = settings.getWeekStart();
+        this.weekStartDay = weekStart.toEpochDay();
+        
+        SlotCapacityIndex slots = new SlotCapacityIndex(weekdaySlots, weekendSlots);
+        int count = slots.slotCount();
+        this.slotDay = new byte[count];
+        this.slotStart = new int[count];
+        this.slotLength = new int[count];
+        for (int slot = 0; slot < count; slot++) {
+            slotDay[slot] = (byte) slots.dayOf(slot);
+            slotStart[slot] = slots.slotStart(slot);
+            slotLength[slot] = slots.remaining(slot);
+        }
+        this.slotUsed = new int[count];
+        int size = 1;
+        while (size < Math.max(count, 1)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        this.chunkSlot = new int[count];
+        this.chunkMinutes = new int[count];
+    }
+    
+    public int slotCount() {
+        return slotDay.length;
+    }
+    
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+    
+    /**
+     * Returns the result of the last feasibility check, or null if none has run
+     */
+    public FeasibilityReport getLastFeasibility() {
+        return lastFeasibility;
+    }
+    
+    /**
+     * Generates the week into a new CompactSchedule
+     */
+    public CompactSchedule schedule(List<Task> tasks) {
+        CompactSchedule week = new CompactSchedule(weekStart, tasks.size() + slotCount());
+        schedule(tasks, week);
+        return week;
+    }
+    
+    /**
+     * Generates the week into an existing CompactSchedule, replacing its contents
+     * Reusing the same schedule across calls keeps its arrays, so repeated
+     * generation allocates nothing once they are large enough.
+     * Returns true when every task was placed.
+     */
+    public boolean schedule(List<Task> tasks, CompactSchedule into) {
+        into.reset(weekStart, tasks, tasks.size() + slotCount());
+        into.sortTasks(order);
+        resetSlots();
+        if (checkDeadlines) {
+            lastFeasibility = settings.checkFeasibility(tasks, weekdaySlots, weekendSlots);
+        }
+        if (checkDeadlines && !lastFeasibility.isFeasible()) {
+            for (Task task : tasks) {
+                into.addUnscheduledTask(task);
+            }
+            return false;
+        }
+        
+        boolean complete = true;
+        for (int task = 0; task < into.getTaskCount(); task++) {
+            int footprint = SchedulingEngine.footprintOf(into.taskAt(task));
+            int minutes = footprint - BUFFER_MINUTES;
+            int slot = bestFit ? bestFit(footprint) : firstFitFrom(1, 0, leaves, 0, footprint);
+            if (slot < 0 && splittingEnabled && placeSplit(into, task, minutes)) {
+                continue;
+            }
+            if (slot < 0) {
+                into.addUnscheduledTask(into.taskAt(task));
+                complete = false;
+                continue;
+            }
+            checkDeadline(into, place(into, task, slot, minutes, 0), task, slot);
+        }
+        return complete;
+    }
+    
+    /**
+     * Same chunking as SchedulingEngine.placeSplit, planned into the chunk arrays
+     */
+    private boolean placeSplit(CompactSchedule into, int task, int taskMinutes) {
+        int minFootprint = minChunkMinutes + BUFFER_MINUTES;
+        int chunks = 0;
+        int left = taskMinutes;
+        int slot = firstFitFrom(1, 0, leaves, 0, minFootprint);
+        
+        while (left > 0 && slot >= 0) {
+            int take = Math.min(remaining(slot) - BUFFER_MINUTES, left);
+            if (left - take > 0 && left - take < minChunkMinutes) {
+                take = left - minChunkMinutes;
+            }
+            if (take >= minChunkMinutes) {
+                chunkSlot[chunks] = slot;
+                chunkMinutes[chunks++] = take;
+                left -= take;
+            }
+            slot = firstFitFrom(1, 0, leaves, slot + 1, minFootprint);
+        }
+        if (left > 0) {
+            return false;
+        }
+        
+        int lastPart = -1;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            lastPart = place(into, task, chunkSlot[chunk], chunkMinutes[chunk], chunk + 1);
+        }
+        checkDeadline(into, lastPart, task, chunkSlot[chunks - 1]);
+        return true;
+    }
+    
+    private int place(CompactSchedule into, int task, int slot, int minutes, int splitPart) {
+        int start = slotStart[slot] + slotUsed[slot];
+        setUsed(slot, slotUsed[slot] + minutes + BUFFER_MINUTES);
+        return into.add(task, slotDay[slot], start, start + minutes, splitPart);
+    }
+    
+    private void checkDeadline(CompactSchedule into, int block, int task, int slot) {
+        Task placed = into.taskAt(task);
+        if (placed.hasDeadline() && weekStartDay + slotDay[slot] > placed.getDeadlineEpochDay()) {
+            into.markLate(block);
+        }
+    }
+    
+    private int remaining(int slot) {
+        return slotLength[slot] - slotUsed[slot];
+    }
+    
+    /**
+     * Returns the slot whose free minutes exceed the request by the least, earliest on ties, or -1
+     */
+    private int bestFit(int minutes) {
+        int best = -1;
+        for (int slot = 0; slot < slotDay.length; slot++) {
+            int free = remaining(slot);
+            if (free >= minutes && (best < 0 || free < remaining(best))) {
+                best = slot;
+            }
+        }
+        return best;
+    }
+    
+    private int firstFitFrom(int node, int lo, int hi, int fromSlot, int minutes) {
+        if (hi <= fromSlot || tree[node] < minutes) {
+            return -1;
+        }
+        if (node >= leaves) {
+            return lo;
+        }
+        int mid = (lo + hi) >>> 1;
+        int found = firstFitFrom(2 * node, lo, mid, fromSlot, minutes);
+        return found >= 0 ? found : firstFitFrom(2 * node + 1, mid, hi, fromSlot, minutes);
+    }
+    
+    private void resetSlots() {
+        Arrays.fill(slotUsed, 0);
+        Arrays.fill(tree, 0);
+        for (int slot = 0; slot < slotDay.length; slot++) {
+            tree[leaves + slot] = slotLength[slot];
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+    
+    private void setUsed(int slot, int used) {
+        slotUsed[slot] = used;
+        int node = leaves + slot;
+        tree[node] = remaining(slot);
+        for (node >>= 1; node > 0; node >>= 1) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+}
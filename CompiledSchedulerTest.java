@@ -0,0 +1,102 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Test cases for schedule generation over pre-compiled slots
+ */
+public class CompiledSchedulerTest {
+    private static final LocalDate WEEK = LocalDate.of(2025, 10, 6);
+    
+    private List<Task> tasks;
+    private List<TimeSlot> weekdaySlots;
+    private List<TimeSlot> weekendSlots;
+    
+    /**
+     * Every task has its own priority and deadline pair, so no two compare equal
+     */
+    @BeforeEach
+    public void setUp() {
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 36; i++) {
+            String deadline = String.format("%02d-10-2025", 8 + i / 3);
+            tasks.add(new Task("Task " + i, "", Priority.values()[i % 3], 0.5 + (i * 7 % 11) * 0.25, deadline));
+        }
+        weekdaySlots = List.of(new TimeSlot("09:00", "11:30"), new TimeSlot("13:00", "14:00"),
+                               new TimeSlot("15:00", "17:45"));
+        weekendSlots = List.of(new TimeSlot("10:00", "12:00"));
+    }
+    
+    @Test
+    @DisplayName("Test compiled scheduling matches the engine for every strategy and mode")
+    public void testMatchesEngine() {
+        for (PlacementStrategy strategy : PlacementStrategy.values()) {
+            for (SchedulingMode mode : SchedulingMode.values()) {
+                for (boolean splitting : new boolean[]{true, false}) {
+                    SchedulingEngine engine = newEngine(strategy, mode, splitting);
+                    CompiledScheduler scheduler = engine.compile(weekdaySlots, weekendSlots);
+                    engine.generateSchedule(tasks, weekdaySlots, weekendSlots);
+                    
+                    String label = strategy + "/" + mode + "/" + splitting;
+                    assertSameSchedule(CompactSchedule.of(engine), scheduler.schedule(tasks), label);
+                }
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test reusing a schedule gives the same result as a fresh one")
+    public void testReuseSchedule() {
+        CompiledScheduler scheduler = newEngine(PlacementStrategy.BEST_FIT, SchedulingMode.PRIORITY, true)
+            .compile(weekdaySlots, weekendSlots);
+        CompactSchedule reused = scheduler.schedule(tasks.subList(0, 5));
+        assertTrue(reused.getUnscheduledTasks().isEmpty());
+        
+        assertFalse(scheduler.schedule(tasks, reused), "Not every task fits the week");
+        assertSameSchedule(scheduler.schedule(tasks), reused, "reused");
+        assertEquals(tasks.size(), reused.getTaskCount());
+    }
+    
+    @Test
+    @DisplayName("Test an infeasible week leaves every task unscheduled in deadline mode")
+    public void testInfeasibleWeek() {
+        SchedulingEngine engine = newEngine(PlacementStrategy.FIRST_FIT, SchedulingMode.EARLIEST_DEADLINE_FIRST, true);
+        CompiledScheduler scheduler = engine.compile(List.of(new TimeSlot("09:00", "10:00")), List.of());
+        CompactSchedule week = scheduler.schedule(tasks);
+        
+        assertEquals(0, week.size());
+        assertEquals(tasks, week.getUnscheduledTasks());
+        assertFalse(scheduler.getLastFeasibility().isFeasible());
+        assertNull(engine.getLastFeasibility(), "The compiling engine should be left untouched");
+    }
+    
+    private SchedulingEngine newEngine(PlacementStrategy strategy, SchedulingMode mode, boolean splitting) {
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.setQuiet(true);
+        engine.setWeekStart(WEEK);
+        engine.setPlacementStrategy(strategy);
+        engine.setSchedulingMode(mode);
+        engine.setSplittingEnabled(splitting);
+        return engine;
+    }
+    
+    private void assertSameSchedule(CompactSchedule expected, CompactSchedule actual, String label) {
+        assertEquals(expected.size(), actual.size(), label);
+        for (int day = 0; day <= CompactSchedule.DAYS_PER_WEEK; day++) {
+            assertEquals(expected.dayStart(day), actual.dayStart(day), label);
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.getTask(i), actual.getTask(i), label + " block " + i);
+            assertEquals(expected.getStartMinuteOfWeek(i), actual.getStartMinuteOfWeek(i), label + " block " + i);
+            assertEquals(expected.getEndMinuteOfWeek(i), actual.getEndMinuteOfWeek(i), label + " block " + i);
+            assertEquals(expected.getSplitPart(i), actual.getSplitPart(i), label + " block " + i);
+            assertEquals(expected.isLate(i), actual.isLate(i), label + " block " + i);
+        }
+        assertEquals(expected.getUnscheduledTasks(), actual.getUnscheduledTasks(), label);
+    }
+}
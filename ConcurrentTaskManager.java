@@ -0,0 +1,390 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.io.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe TaskManager for concurrent producers
+ * Tasks are partitioned by id across lock stripes, each with its own TaskStore.
+ * Single-task operations lock one stripe; whole-set reads hold every stripe's
+ * read lock at once, so they see a consistent snapshot.
+ */
+public class ConcurrentTaskManager extends TaskManager {
+    private static final long serialVersionUID = 1L;
+    
+    private static final Comparator<Task> ISSUE_ORDER = TaskSort.ISSUE.comparator();
+    private static final Comparator<Task> DEADLINE_ORDER = TaskSort.DEADLINE.comparator();
+    
+    private final transient TaskStore[] stores;
+    private final transient ReentrantReadWriteLock[] locks;
+    
+    public ConcurrentTaskManager() {
+        this(defaultStripeCount());
+    }
+    
+    public ConcurrentTaskManager(int stripes) {
+        this.stores = new TaskStore[stripes];
+        this.locks = new ReentrantReadWriteLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            stores[i] = new TaskStore();
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+    
+    /**
+     * Creates a concurrent copy of an existing TaskManager's tasks
+     */
+    public ConcurrentTaskManager(TaskManager source) {
+        this();
+        for (Task task : source.getAllTasks()) {
+            stores[stripeFor(task.getTaskId())].add(task);
+        }
+    }
+    
+    @Override
+    public void addTask(Task task) {
+        int stripe = stripeFor(task.getTaskId());
+        locks[stripe].writeLock().lock();
+        try {
+            stores[stripe].add(task);
+            fireTaskAdded(task);
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Takes each stripe's write lock once per batch instead of once per task
+     */
+    @Override
+    public void addTasks(Collection<Task> tasks) {
+        List<List<Task>> byStripe = new ArrayList<>(stores.length);
+        for (int i = 0; i < stores.length; i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        for (Task task : tasks) {
+            byStripe.get(stripeFor(task.getTaskId())).add(task);
+        }
+        for (int stripe = 0; stripe < stores.length; stripe++) {
+            if (byStripe.get(stripe).isEmpty()) {
+                continue;
+            }
+            locks[stripe].writeLock().lock();
+            try {
+                for (Task task : byStripe.get(stripe)) {
+                    stores[stripe].add(task);
+                    fireTaskAdded(task);
+                }
+            } finally {
+                locks[stripe].writeLock().unlock();
+            }
+        }
+    }
+    
+    @Override
+    public Task getTaskById(String taskId) {
+        int stripe = stripeFor(taskId);
+        locks[stripe].readLock().lock();
+        try {
+            return stores[stripe].get(taskId);
+        } finally {
+            locks[stripe].readLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean updateTaskStatus(String taskId, TaskStatus status, LocalDate on) {
+        int stripe = stripeFor(taskId);
+        locks[stripe].writeLock().lock();
+        try {
+            Task task = stores[stripe].get(taskId);
+            if (task == null) {
+                return false;
+            }
+            TaskStatus previousStatus = task.getStatus();
+            stores[stripe].updateStatus(task, status, on);
+            fireTaskStatusChanged(task, previousStatus);
+            return true;
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean deleteTask(String taskId) {
+        int stripe = stripeFor(taskId);
+        locks[stripe].writeLock().lock();
+        try {
+            Task task = stores[stripe].remove(taskId);
+            if (task == null) {
+                return false;
+            }
+            fireTaskDeleted(task);
+            return true;
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns a consistent snapshot of all tasks in the order their ids were issued
+     */
+    @Override
+    public List<Task> getAllTasks() {
+        List<Task> tasks = new ArrayList<>();
+        lockAll();
+        try {
+            for (TaskStore store : stores) {
+                tasks.addAll(store.all());
+            }
+        } finally {
+            unlockAll();
+        }
+        tasks.sort(ISSUE_ORDER);
+        return tasks;
+    }
+    
+    /**
+     * Takes a page from every stripe under all read locks and keeps the first pageSize + 1
+     */
+    @Override
+    public TaskPage getTaskPage(TaskStatus status, TaskSort sort, String cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Task after = cursor == null ? null : TaskPage.decode(cursor, sort);
+        List<Task> tasks = new ArrayList<>();
+        lockAll();
+        try {
+            for (TaskStore store : stores) {
+                tasks.addAll(store.page(status, sort, after, pageSize));
+            }
+        } finally {
+            unlockAll();
+        }
+        tasks.sort(sort.comparator());
+        return TaskPage.of(tasks.size() - 1 > pageSize ? tasks.subList(0, pageSize + 1) : tasks, pageSize, sort);
+    }
+    
+    /**
+     * Merges every stripe's issue order under all read locks
+     */
+    @Override
+    public void forEachTask(Consumer<Task> action) {
+        lockAll();
+        try {
+            List<Iterator<Task>> sources = new ArrayList<>(stores.length);
+            for (TaskStore store : stores) {
+                sources.add(store.scan(TaskSort.ISSUE));
+            }
+            TaskStore.merge(sources, ISSUE_ORDER).forEachRemaining(action);
+        } finally {
+            unlockAll();
+        }
+    }
+    
+    @Override
+    public List<Task> getPendingTasks() {
+        return mergePending(Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<Task> getTopPendingTasks(int n) {
+        return mergePending(n);
+    }
+    
+    /**
+     * Iterates a snapshot of pending tasks, so concurrent changes never break it
+     */
+    @Override
+    public Iterator<Task> iteratePendingTasks() {
+        return getPendingTasks().iterator();
+    }
+    
+    @Override
+    public int getPendingTaskCount() {
+        lockAll();
+        try {
+            int count = 0;
+            for (TaskStore store : stores) {
+                count += store.countWithStatus(TaskStatus.PENDING);
+            }
+            return count;
+        } finally {
+            unlockAll();
+        }
+    }
+    
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        List<Task> tasks = new ArrayList<>();
+        lockAll();
+        try {
+            for (TaskStore store : stores) {
+                tasks.addAll(store.withStatus(status));
+            }
+        } finally {
+            unlockAll();
+        }
+        tasks.sort(ISSUE_ORDER);
+        return tasks;
+    }
+    
+    @Override
+    public List<Task> getTasksByPriority(Priority priority) {
+        List<Task> tasks = new ArrayList<>();
+        lockAll();
+        try {
+            for (TaskStore store : stores) {
+                tasks.addAll(store.withPriority(priority));
+            }
+        } finally {
+            unlockAll();
+        }
+        tasks.sort(ISSUE_ORDER);
+        return tasks;
+    }
+    
+    @Override
+    protected List<Task> getTasksDueBetween(long fromDay, long toDay) {
+        List<Task> tasks = new ArrayList<>();
+        lockAll();
+        try {
+            for (TaskStore store : stores) {
+                tasks.addAll(store.dueBetween(fromDay, toDay));
+            }
+        } finally {
+            unlockAll();
+        }
+        tasks.sort(DEADLINE_ORDER);
+        return tasks;
+    }
+    
+    /**
+     * Takes each stripe's best matches and keeps the overall best
+     */
+    @Override
+    public List<Task> searchTasks(String query, Priority priority, TaskStatus status, int limit) {
+        List<TaskSearchIndex.Hit> hits = new ArrayList<>();
+        lockAll();
+        try {
+            for (TaskStore store : stores) {
+                hits.addAll(store.searchHits(query, priority, status, limit));
+            }
+        } finally {
+            unlockAll();
+        }
+        hits.sort(TaskSearchIndex.RANK_ORDER);
+        List<Task> tasks = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            tasks.add(hits.get(i).task);
+        }
+        return tasks;
+    }
+    
+    @Override
+    public Map<String, Integer> getTaskStatistics() {
+        return getStatistics().toMap();
+    }
+    
+    /**
+     * Sums every stripe's counters under all read locks, so the counts are consistent
+     */
+    @Override
+    public TaskStatistics getStatistics() {
+        TaskCounters sum = new TaskCounters();
+        lockAll();
+        try {
+            for (TaskStore store : stores) {
+                store.addStatisticsTo(sum);
+            }
+        } finally {
+            unlockAll();
+        }
+        return new TaskStatistics(sum);
+    }
+    
+    /**
+     * Merges the per-stripe pending sets, which are already in scheduling order
+     */
+    private List<Task> mergePending(int limit) {
+        List<Task> merged = new ArrayList<>();
+        lockAll();
+        try {
+            PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(
+                (a, b) -> TaskStore.PENDING_ORDER.compare(a.head, b.head));
+            for (TaskStore store : stores) {
+                Iterator<Task> it = store.pending().iterator();
+                if (it.hasNext()) {
+                    heads.add(new PeekingIterator(it));
+                }
+            }
+            while (merged.size() < limit && !heads.isEmpty()) {
+                PeekingIterator next = heads.poll();
+                merged.add(next.head);
+                if (next.advance()) {
+                    heads.add(next);
+                }
+            }
+        } finally {
+            unlockAll();
+        }
+        return merged;
+    }
+    
+    private int stripeFor(String taskId) {
+        return (taskId.hashCode() & 0x7FFFFFFF) % stores.length;
+    }
+    
+    /**
+     * Takes every stripe's read lock in index order, which keeps lock ordering deadlock-free
+     */
+    private void lockAll() {
+        for (ReentrantReadWriteLock lock : locks) {
+            lock.readLock().lock();
+        }
+    }
+    
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].readLock().unlock();
+        }
+    }
+    
+    private static int defaultStripeCount() {
+        return Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+    }
+    
+    /**
+     * Serializes as a plain TaskManager holding the same tasks
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        TaskManager copy = new TaskManager();
+        for (Task task : getAllTasks()) {
+            copy.addTask(task);
+        }
+        return copy;
+    }
+    
+    private static class PeekingIterator {
+        private final Iterator<Task> iterator;
+        private Task head;
+        
+        PeekingIterator(Iterator<Task> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+        
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.ConcurrentTaskManager;
+import taskscheduler.service.TaskPage;
+import taskscheduler.service.TaskSort;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Multi-threaded stress tests for ConcurrentTaskManager
+ */
+public class ConcurrentTaskManagerTest {
+    private static final int THREADS = 8;
+    private static final int TASKS_PER_THREAD = 2000;
+    
+    private ConcurrentTaskManager taskManager;
+    private ExecutorService executor;
+    
+    @BeforeEach
+    public void setUp() {
+        taskManager = new ConcurrentTaskManager();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    @DisplayName("Test concurrent producers get unique ids and lose no tasks")
+    public void testConcurrentAdds() throws Exception {
+        runConcurrently(thread -> {
+            for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                taskManager.addTask(new Task("Task " + thread + "-" + i, "Stress",
+                                             Priority.values()[i % 3], 1.0, "30-10-2025"));
+            }
+        });
+        
+        List<Task> all = taskManager.getAllTasks();
+        Set<String> ids = new HashSet<>();
+        for (Task task : all) {
+            ids.add(task.getTaskId());
+        }
+        assertEquals(THREADS * TASKS_PER_THREAD, all.size(), "No task should be lost");
+        assertEquals(all.size(), ids.size(), "Every task id should be unique");
+        assertEquals(all.size(), taskManager.getPendingTaskCount());
+    }
+    
+    @Test
+    @DisplayName("Test concurrent completion and deletion keep indexes consistent")
+    public void testConcurrentMutations() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS * TASKS_PER_THREAD; i++) {
+            Task task = new Task("Task " + i, "Stress", Priority.values()[i % 3], 1.0, "30-10-2025");
+            taskManager.addTask(task);
+            ids.add(task.getTaskId());
+        }
+        
+        runConcurrently(thread -> {
+            for (int i = thread; i < ids.size(); i += THREADS) {
+                if (i % 3 == 0) {
+                    taskManager.deleteTask(ids.get(i));
+                } else if (i % 3 == 1) {
+                    taskManager.markTaskComplete(ids.get(i));
+                }
+                if (i % 100 == 0) {
+                    Map<String, Integer> stats = taskManager.getTaskStatistics();
+                    assertEquals(stats.get("total"), stats.get("pending") + stats.get("completed"),
+                                 "Snapshot counts should always add up");
+                }
+            }
+        });
+        
+        int total = ids.size();
+        int deleted = (total + 2) / 3;
+        int completed = (total + 1) / 3;
+        Map<String, Integer> stats = taskManager.getTaskStatistics();
+        assertEquals(total - deleted, stats.get("total"));
+        assertEquals(completed, stats.get("completed"));
+        assertEquals(total - deleted - completed, taskManager.getPendingTasks().size());
+        
+        List<Task> pending = taskManager.getPendingTasks();
+        for (int i = 1; i < pending.size(); i++) {
+            assertTrue(pending.get(i - 1).compareTo(pending.get(i)) <= 0,
+                       "Merged pending tasks should stay in scheduling order");
+        }
+        
+        for (TaskSort sort : TaskSort.values()) {
+            List<Task> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                TaskPage page = taskManager.getTaskPage(null, sort, cursor, 500);
+                paged.addAll(page.getTasks());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            List<Task> expected = taskManager.getAllTasks();
+            expected.sort(sort.comparator());
+            assertEquals(expected, paged, "Pages merged across stripes should cover every task once in " + sort + " order");
+        }
+        
+        List<Task> found = taskManager.searchTasks("task 1000", null, TaskStatus.COMPLETED, 5);
+        assertEquals(5, found.size());
+        assertEquals("Task 1000", found.get(0).getName(), "Exact match should win across stripes");
+        assertTrue(found.stream().allMatch(task -> task.getStatus() == TaskStatus.COMPLETED));
+    }
+    
+    private void runConcurrently(ThreadBody body) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                body.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+    
+    private interface ThreadBody {
+        void run(int thread);
+    }
+}
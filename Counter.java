@@ -0,0 +1,34 @@
+package taskscheduler.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free running count, striped so concurrent updates do not contend
+ */
+public final class Counter {
+    private final String name;
+    private final LongAdder value;
+    
+    Counter(String name) {
+        this.name = name;
+        this.value = new LongAdder();
+    }
+    
+    public void increment() {
+        add(1);
+    }
+    
+    public void add(long amount) {
+        if (Metrics.isEnabled()) {
+            value.add(amount);
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,73 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.CompactSchedule;
+import taskscheduler.service.ScheduleBlocks;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * One CSV row per scheduled block; unscheduled tasks have no row
+ */
+public class CsvScheduleExporter implements ScheduleExporter {
+    static final String HEADER = "day,date,start,end,taskId,name,priority,part,deadline";
+    
+    @Override
+    public void export(ScheduleBlocks schedule, Writer out) throws IOException {
+        out.write(HEADER);
+        out.write("\r\n");
+        for (int day = 0; day < CompactSchedule.DAYS_PER_WEEK; day++) {
+            String date = schedule.getWeekStart().plusDays(day).toString();
+            for (int i = schedule.dayStart(day); i < schedule.dayStart(day + 1); i++) {
+                Task task = schedule.getTask(i);
+                out.write(CompactSchedule.dayName(day));
+                out.write(',');
+                out.write(date);
+                out.write(',');
+                schedule.appendStartTime(i, out);
+                out.write(',');
+                schedule.appendEndTime(i, out);
+                out.write(',');
+                writeField(out, task.getTaskId());
+                out.write(',');
+                writeField(out, task.getName());
+                out.write(',');
+                out.write(task.getPriority().name());
+                out.write(',');
+                if (schedule.getSplitPart(i) != 0) {
+                    out.write(Integer.toString(schedule.getSplitPart(i)));
+                }
+                out.write(',');
+                writeField(out, task.getDeadline());
+                out.write("\r\n");
+            }
+        }
+    }
+    
+    /**
+     * Writes a field, quoting it only when it holds a comma, quote or line break
+     */
+    static void writeField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
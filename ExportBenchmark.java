@@ -0,0 +1,84 @@
+package taskscheduler.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import taskscheduler.model.*;
+import taskscheduler.service.SchedulingEngine;
+import taskscheduler.util.FileManager;
+import taskscheduler.util.ScheduleExporter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks each export format on large schedules, both into a discarding
+ * writer (encoding cost only) and to a file through FileManager
+ * The blocksExported counter is reported by JMH as blocks per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ExportBenchmark {
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday",
+                                          "Friday", "Saturday", "Sunday"};
+    
+    @Param({"10000", "200000"})
+    public int blockCount;
+    
+    @Param({"TEXT", "CSV", "ICS", "JSON"})
+    public ScheduleExporter.Format format;
+    
+    private Path dataDir;
+    private FileManager fileManager;
+    private SchedulingEngine schedulingEngine;
+    
+    /**
+     * Builds the schedule directly, since a generated week holds only a few hundred blocks
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("taskscheduler-export");
+        fileManager = new FileManager(dataDir.toString());
+        schedulingEngine = new SchedulingEngine();
+        List<Task> tasks = SyntheticData.tasks(blockCount, SyntheticData.DEFAULT_SEED);
+        for (int i = 0; i < blockCount; i++) {
+            int minute = (i / DAYS.length) % (24 * 60 - 1);
+            String start = String.format("%02d:%02d", minute / 60, minute % 60);
+            String end = String.format("%02d:%02d", (minute + 1) / 60, (minute + 1) % 60);
+            schedulingEngine.addScheduledTask(new ScheduledTask(tasks.get(i), DAYS[i % DAYS.length], start, end));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    /**
+     * Per-thread block counter that JMH reports as a rate
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Blocks {
+        public long blocksExported;
+    }
+    
+    @Benchmark
+    public void exportToNullWriter(Blocks blocks) throws IOException {
+        format.getExporter().export(schedulingEngine, Writer.nullWriter());
+        blocks.blocksExported += blockCount;
+    }
+    
+    @Benchmark
+    public void exportToFile(Blocks blocks) {
+        fileManager.exportSchedule(schedulingEngine, "export." + format.getExtension(), format);
+        blocks.blocksExported += blockCount;
+    }
+}
@@ -0,0 +1,50 @@
+package taskscheduler.service;
+
+import taskscheduler.model.Task;
+import java.time.LocalDate;
+
+/**
+ * Outcome of the up-front check that a week has enough time for every deadline in it
+ */
+public class FeasibilityReport {
+    private final boolean feasible;
+    private final Task firstMissed;
+    private final int shortfallMinutes;
+    
+    FeasibilityReport(boolean feasible, Task firstMissed, int shortfallMinutes) {
+        this.feasible = feasible;
+        this.firstMissed = firstMissed;
+        this.shortfallMinutes = shortfallMinutes;
+    }
+    
+    public boolean isFeasible() {
+        return feasible;
+    }
+    
+    /**
+     * Returns the task whose deadline first exceeds the available time, or null when feasible
+     */
+    public Task getFirstMissed() {
+        return firstMissed;
+    }
+    
+    /**
+     * Returns the minutes of work still missing by that deadline
+     */
+    public int getShortfallMinutes() {
+        return shortfallMinutes;
+    }
+    
+    public LocalDate getMissedDeadline() {
+        return firstMissed == null ? null : LocalDate.ofEpochDay(firstMissed.getDeadlineEpochDay());
+    }
+    
+    @Override
+    public String toString() {
+        if (feasible) {
+            return "All deadlines in the week fit the available time";
+        }
+        return String.format("%d minutes short by %s (task %s)",
+                           shortfallMinutes, getMissedDeadline(), firstMissed.getTaskId());
+    }
+}
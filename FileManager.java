@@ -1,144 +1,316 @@
 package taskscheduler.util;
 
+import taskscheduler.metrics.*;
 import taskscheduler.service.*;
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 
 public class FileManager {
     private static final String DATA_DIR = "data/";
-    private static final String SCHEDULE_FILE = DATA_DIR + "user_schedule.dat";
-    private static final String TASKS_FILE = DATA_DIR + "tasks.dat";
-    private static final String GENERATED_SCHEDULE_FILE = DATA_DIR + "generated_schedule.dat";
+    private static final String SCHEDULE_FILE = "user_schedule.bin";
+    private static final String TASKS_FILE = "tasks.bin";
+    private static final String GENERATED_SCHEDULE_FILE = "generated_schedule.bin";
+    private static final String TASKS_JOURNAL_FILE = "tasks.journal";
+    private static final String TASKS_SEALED_JOURNAL_FILE = "tasks.journal.sealed";
+    private static final String LEGACY_SCHEDULE_FILE = "user_schedule.dat";
+    private static final String LEGACY_TASKS_FILE = "tasks.dat";
+    private static final String LEGACY_GENERATED_SCHEDULE_FILE = "generated_schedule.dat";
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private static final OperationTimer SAVE_TASKS_TIMER = Metrics.timer("persistence.saveTasks");
+    private static final OperationTimer LOAD_TASKS_TIMER = Metrics.timer("persistence.loadTasks");
+    private static final OperationTimer EXPORT_TIMER = Metrics.timer("export.schedule");
+    private static final Counter ERRORS = Metrics.counter("persistence.errors");
+    private static final Counter EXPORT_ERRORS = Metrics.counter("export.errors");
+    
+    private final String dataDir;
+    private TaskJournal taskJournal;
     
     public FileManager() {
-        File directory = new File(DATA_DIR);
+        this(DATA_DIR);
+    }
+    
+    /**
+     * Creates a FileManager that keeps its files in the given directory
+     */
+    public FileManager(String dataDir) {
+        this.dataDir = dataDir;
+        File directory = new File(dataDir);
         if (!directory.exists()) {
             directory.mkdirs();
         }
+        migrateLegacyData();
+    }
+    
+    /**
+     * Converts Java-serialized data files from earlier versions to the binary format
+     */
+    private void migrateLegacyData() {
+        LegacyDataMigrator migrator = new LegacyDataMigrator();
+        migrator.migrateUserSchedule(path(LEGACY_SCHEDULE_FILE), path(SCHEDULE_FILE));
+        migrator.migrateTasks(path(LEGACY_TASKS_FILE), path(TASKS_FILE));
+        migrator.migrateSchedule(path(LEGACY_GENERATED_SCHEDULE_FILE), 
+                                 path(GENERATED_SCHEDULE_FILE));
     }
     
     public void saveUserSchedule(UserScheduleManager scheduleManager) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(SCHEDULE_FILE))) {
-            oos.writeObject(scheduleManager);
+        try {
+            writeUserSchedule(scheduleManager);
         } catch (IOException e) {
+            ERRORS.increment();
             System.err.println("Error saving user schedule: " + e.getMessage());
         }
     }
     
     public UserScheduleManager loadUserSchedule() {
-        File file = new File(SCHEDULE_FILE);
-        if (!file.exists()) {
-            return new UserScheduleManager();
-        }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(SCHEDULE_FILE))) {
-            return (UserScheduleManager) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+        try {
+            return readUserSchedule();
+        } catch (IOException e) {
+            ERRORS.increment();
             System.err.println("Error loading user schedule: " + e.getMessage());
             return new UserScheduleManager();
         }
     }
     
+    /**
+     * Writes a full tasks snapshot, folding in and clearing the journal when one is open
+     */
     public void saveTasks(TaskManager taskManager) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(TASKS_FILE))) {
-            oos.writeObject(taskManager);
+        try {
+            writeTasks(taskManager, true);
         } catch (IOException e) {
+            ERRORS.increment();
             System.err.println("Error saving tasks: " + e.getMessage());
         }
     }
     
+    /**
+     * Loads tasks by replaying the journal on top of the last snapshot
+     */
     public TaskManager loadTasks() {
-        File file = new File(TASKS_FILE);
-        if (!file.exists()) {
-            return new TaskManager();
-        }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(TASKS_FILE))) {
-            return (TaskManager) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+        try {
+            return readTasks();
+        } catch (IOException e) {
+            ERRORS.increment();
             System.err.println("Error loading tasks: " + e.getMessage());
             return new TaskManager();
         }
     }
     
+    /**
+     * Starts journaling every change made through the given TaskManager
+     */
+    public void openTaskJournal(TaskManager taskManager) {
+        closeTaskJournal();
+        try {
+            taskJournal = new TaskJournal(path(TASKS_FILE), path(TASKS_JOURNAL_FILE));
+            taskManager.addChangeListener(taskJournal);
+        } catch (IOException e) {
+            System.err.println("Error opening task journal: " + e.getMessage());
+        }
+    }
+    
+    public void closeTaskJournal() {
+        if (taskJournal == null) {
+            return;
+        }
+        try {
+            taskJournal.close();
+        } catch (IOException e) {
+            System.err.println("Error closing task journal: " + e.getMessage());
+        }
+        taskJournal = null;
+    }
+    
     public void saveSchedule(SchedulingEngine schedulingEngine) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(GENERATED_SCHEDULE_FILE))) {
-            oos.writeObject(schedulingEngine);
+        try {
+            writeSchedule(schedulingEngine);
         } catch (IOException e) {
+            ERRORS.increment();
             System.err.println("Error saving schedule: " + e.getMessage());
         }
     }
     
-    public SchedulingEngine loadSchedule() {
-        File file = new File(GENERATED_SCHEDULE_FILE);
-        if (!file.exists()) {
-            return new SchedulingEngine();
+    /**
+     * Reads the user schedule, failing instead of falling back to an empty one
+     * A missing file reads as an empty schedule, unless a legacy file failed to migrate.
+     */
+    UserScheduleManager readUserSchedule() throws IOException {
+        Path file = path(SCHEDULE_FILE);
+        if (!Files.exists(file)) {
+            requireMigrated(LEGACY_SCHEDULE_FILE);
+            return new UserScheduleManager();
+        }
+        return decode(file, () -> BinaryFormat.readUserSchedule(file));
+    }
+    
+    /**
+     * Reads the tasks by replaying the journal on top of the last snapshot, failing
+     * instead of falling back to an empty TaskManager
+     */
+    TaskManager readTasks() throws IOException {
+        Path snapshot = path(TASKS_FILE);
+        Path journal = path(TASKS_JOURNAL_FILE);
+        if (!Files.exists(snapshot) && !Files.exists(journal)) {
+            requireMigrated(LEGACY_TASKS_FILE);
+            return new TaskManager();
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(GENERATED_SCHEDULE_FILE))) {
-            return (SchedulingEngine) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Error loading schedule: " + e.getMessage());
+        try (OperationTimer.Span span = LOAD_TASKS_TIMER.start()) {
+            TaskManager taskManager = decode(snapshot, () -> TaskJournal.recover(snapshot, journal));
+            span.setItems(taskManager.getTaskStatistics().get("total"));
+            return taskManager;
+        }
+    }
+    
+    /**
+     * Reads the generated schedule, failing instead of falling back to an empty one
+     */
+    SchedulingEngine readSchedule() throws IOException {
+        Path file = path(GENERATED_SCHEDULE_FILE);
+        if (!Files.exists(file)) {
+            requireMigrated(LEGACY_GENERATED_SCHEDULE_FILE);
             return new SchedulingEngine();
         }
+        return decode(file, () -> BinaryFormat.readSchedule(file));
     }
     
-    public void exportScheduleToText(SchedulingEngine schedulingEngine, String filename) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DATA_DIR + filename))) {
-            writer.println("═══════════════════════════════════════════════════════");
-            writer.println("           CUSTOMIZABLE TASK SCHEDULER - EXPORT         ");
-            writer.println("═══════════════════════════════════════════════════════\n");
-            writer.println("Generated on: " + java.time.LocalDateTime.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss")));
-            writer.println();
-            
-            var schedule = schedulingEngine.getSchedule();
-            
-            for (var entry : schedule.entrySet()) {
-                writer.println("\n>>> " + entry.getKey().toUpperCase() + " <<<");
-                writer.println("────────────────────────────────────────────────────────────────");
-                
-                if (entry.getValue().isEmpty()) {
-                    writer.println("  No tasks scheduled for this day.");
-                } else {
-                    for (var st : entry.getValue()) {
-                        writer.println(st);
-                    }
-                }
+    /**
+     * A legacy file still in place had its migration fail, so its data would be lost
+     */
+    private void requireMigrated(String legacyFileName) throws IOException {
+        if (Files.exists(path(legacyFileName))) {
+            throw new IOException(legacyFileName + " could not be migrated");
+        }
+    }
+    
+    /**
+     * Reports a file that decodes to garbage as an IOException like any other read failure
+     */
+    private static <T> T decode(Path file, FileRead<T> read) throws IOException {
+        try {
+            return read.from();
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt " + file.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+    
+    void writeUserSchedule(UserScheduleManager scheduleManager) throws IOException {
+        replaceFile(SCHEDULE_FILE, tempFile -> BinaryFormat.writeUserSchedule(tempFile, scheduleManager));
+    }
+    
+    /**
+     * Makes the tasks durable: a snapshot when there is no journal or checkpoint is set,
+     * otherwise only a sync of the journal records appended so far
+     */
+    void writeTasks(TaskManager taskManager, boolean checkpoint) throws IOException {
+        try (OperationTimer.Span span = SAVE_TASKS_TIMER.start()) {
+            if (taskJournal != null && !checkpoint) {
+                taskJournal.commit();
+                return;
             }
-            
-            var unscheduledTasks = schedulingEngine.getUnscheduledTasks();
-            if (!unscheduledTasks.isEmpty()) {
-                writer.println("\n>>> UNSCHEDULED TASKS <<<");
-                writer.println("────────────────────────────────────────────────────────────────");
-                for (var task : unscheduledTasks) {
-                    writer.println("  [" + task.getTaskId() + "] " + task.getName() + 
-                                 " - Priority: " + task.getPriority() + 
-                                 " - Duration: " + task.getDurationHours() + "h");
-                }
+            span.setItems(taskManager.getTaskStatistics().get("total"));
+            if (taskJournal != null) {
+                taskJournal.checkpoint(taskManager);
+            } else {
+                replaceFile(TASKS_FILE, tempFile -> BinaryFormat.writeTasks(tempFile, taskManager));
             }
-            
-            writer.println("\n═══════════════════════════════════════════════════════");
-            
+        }
+    }
+    
+    void writeSchedule(SchedulingEngine schedulingEngine) throws IOException {
+        replaceFile(GENERATED_SCHEDULE_FILE, tempFile -> BinaryFormat.writeSchedule(tempFile, schedulingEngine));
+    }
+    
+    /**
+     * Writes a data file through a temp file of its own, so concurrent saves cannot
+     * interleave, leaving the old file in place if the write fails
+     */
+    private void replaceFile(String fileName, FileWrite write) throws IOException {
+        Path tempFile = Files.createTempFile(Paths.get(dataDir), fileName, TEMP_SUFFIX);
+        try {
+            write.to(tempFile);
+            moveIntoPlace(tempFile, path(fileName));
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Forces a fully written temp file to disk and renames it over the target in one step,
+     * so a crash leaves either the old file or the new one
+     */
+    static void moveIntoPlace(Path tempFile, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    public SchedulingEngine loadSchedule() {
+        try {
+            return readSchedule();
+        } catch (IOException e) {
+            ERRORS.increment();
+            System.err.println("Error loading schedule: " + e.getMessage());
+            return new SchedulingEngine();
+        }
+    }
+    
+    public void exportScheduleToText(SchedulingEngine schedulingEngine, String filename) {
+        exportSchedule(schedulingEngine, filename, ScheduleExporter.Format.TEXT);
+    }
+    
+    public void exportSchedule(SchedulingEngine schedulingEngine, String filename, ScheduleExporter.Format format) {
+        exportSchedule(schedulingEngine.blocks(), filename, format);
+    }
+    
+    /**
+     * Streams the schedule to a file in the given format through a buffered writer
+     */
+    public void exportSchedule(ScheduleBlocks schedule, String filename, ScheduleExporter.Format format) {
+        try (OperationTimer.Span span = EXPORT_TIMER.start();
+             Writer writer = Files.newBufferedWriter(path(filename), StandardCharsets.UTF_8)) {
+            span.setItems(schedule.size());
+            format.getExporter().export(schedule, writer);
         } catch (IOException e) {
+            EXPORT_ERRORS.increment();
             System.err.println("Error exporting schedule: " + e.getMessage());
         }
     }
     
+    /**
+     * Closes the task journal first so it cannot write its files back after they are deleted
+     */
     public void clearAllData() {
+        closeTaskJournal();
         deleteFile(SCHEDULE_FILE);
         deleteFile(TASKS_FILE);
         deleteFile(GENERATED_SCHEDULE_FILE);
+        deleteFile(TASKS_JOURNAL_FILE);
+        deleteFile(TASKS_SEALED_JOURNAL_FILE);
+        deleteFile(LEGACY_SCHEDULE_FILE);
+        deleteFile(LEGACY_TASKS_FILE);
+        deleteFile(LEGACY_GENERATED_SCHEDULE_FILE);
         System.out.println("All data files cleared.");
     }
     
-    private void deleteFile(String filepath) {
-        File file = new File(filepath);
+    private Path path(String fileName) {
+        return Paths.get(dataDir, fileName);
+    }
+    
+    private interface FileWrite {
+        void to(Path file) throws IOException;
+    }
+    
+    private interface FileRead<T> {
+        T from() throws IOException;
+    }
+    
+    private void deleteFile(String fileName) {
+        File file = path(fileName).toFile();
         if (file.exists()) {
             file.delete();
         }
@@ -0,0 +1,37 @@
+package taskscheduler.util;
+
+import taskscheduler.service.*;
+import java.io.IOException;
+import java.nio.file.*;
+
+/**
+ * Keeps each user's data files in their own directory under a base directory
+ * Every user directory is laid out exactly like the single-user data/ directory.
+ */
+public class FileWorkspaceStore implements WorkspaceStore {
+    private final Path usersDir;
+    
+    public FileWorkspaceStore(Path baseDir) {
+        this.usersDir = baseDir.resolve("users");
+    }
+    
+    @Override
+    public UserWorkspace load(String userId) throws IOException {
+        Path userDir = usersDir.resolve(userId);
+        if (!Files.isDirectory(userDir)) {
+            return new UserWorkspace(userId);
+        }
+        FileManager fileManager = new FileManager(userDir.toString());
+        return new UserWorkspace(userId, fileManager.readUserSchedule(),
+                                 fileManager.readTasks(), fileManager.readSchedule());
+    }
+    
+    @Override
+    public void save(UserWorkspace workspace) throws IOException {
+        Path userDir = Files.createDirectories(usersDir.resolve(workspace.getUserId()));
+        FileManager fileManager = new FileManager(userDir.toString());
+        fileManager.writeUserSchedule(workspace.getScheduleManager());
+        fileManager.writeTasks(workspace.getTaskManager(), true);
+        fileManager.writeSchedule(workspace.getSchedulingEngine());
+    }
+}
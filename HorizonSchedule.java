@@ -0,0 +1,82 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Result of scheduling a multi-week planning horizon
+ * Holds one SchedulingEngine per week, starting on the Monday of the first week
+ */
+public class HorizonSchedule {
+    private final LocalDate firstMonday;
+    private final List<SchedulingEngine> weeks;
+    private final List<FeasibilityReport> feasibility;
+    private final List<Task> unscheduledTasks;
+    private final long elapsedNanos;
+    
+    HorizonSchedule(LocalDate firstMonday, List<SchedulingEngine> weeks, List<FeasibilityReport> feasibility,
+                    List<Task> unscheduledTasks, long elapsedNanos) {
+        this.firstMonday = firstMonday;
+        this.weeks = weeks;
+        this.feasibility = feasibility;
+        this.unscheduledTasks = unscheduledTasks;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public int getWeekCount() {
+        return weeks.size();
+    }
+    
+    public LocalDate getWeekStart(int week) {
+        return firstMonday.plusWeeks(week);
+    }
+    
+    /**
+     * Returns the schedule of one week, keyed by day name like SchedulingEngine.getSchedule
+     */
+    public Map<String, List<ScheduledTask>> getWeek(int week) {
+        return weeks.get(week).getSchedule();
+    }
+    
+    /**
+     * Returns the deadline check of the tasks due in one week, or null in PRIORITY mode
+     * The check covers only that week's own time, not the earlier weeks its overflow can use.
+     */
+    public FeasibilityReport getFeasibility(int week) {
+        return feasibility.get(week);
+    }
+    
+    /**
+     * Returns false if the deadline check failed for any week
+     */
+    public boolean isFeasible() {
+        return feasibility.stream().allMatch(report -> report == null || report.isFeasible());
+    }
+    
+    /**
+     * Returns tasks that did not fit anywhere up to the end of the horizon
+     */
+    public List<Task> getUnscheduledTasks() {
+        return new ArrayList<>(unscheduledTasks);
+    }
+    
+    /**
+     * Returns placements in any week that land after their task's deadline,
+     * including the tasks carried past their deadline week
+     */
+    public List<ScheduledTask> getLateTasks() {
+        List<ScheduledTask> late = new ArrayList<>();
+        for (SchedulingEngine week : weeks) {
+            late.addAll(week.getLateTasks());
+        }
+        return late;
+    }
+    
+    /**
+     * Returns the wall-clock time generation took, for comparing the parallel and sequential paths
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
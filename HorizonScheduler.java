@@ -0,0 +1,162 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Schedules tasks over a horizon of several weeks
+ * Tasks are partitioned into the week their deadline falls in. Each week is
+ * scheduled independently, in parallel on a ForkJoinPool. Tasks that did not
+ * fit their own week then go to the free time of the earlier weeks, from
+ * their deadline week backwards, and only what still does not fit is carried
+ * into the following weeks, where it finishes late. Both passes run in week
+ * order, so the result does not depend on thread timing.
+ */
+public class HorizonScheduler {
+    private final SchedulingEngine settings;
+    private final int parallelism;
+    
+    public HorizonScheduler() {
+        this(new SchedulingEngine(), ForkJoinPool.getCommonPoolParallelism());
+    }
+    
+    /**
+     * Creates a scheduler whose weeks copy the placement and splitting settings of the given engine
+     * A parallelism of 1 schedules the weeks sequentially on the calling thread
+     */
+    public HorizonScheduler(SchedulingEngine settings, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.settings = settings;
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Schedules tasks over the given number of weeks, starting with the week containing start
+     * Overdue tasks go to the first week, tasks due after the horizon or with an
+     * unreadable deadline go to the last
+     */
+    public HorizonSchedule schedule(List<Task> tasks, List<TimeSlot> weekdaySlots,
+                                    List<TimeSlot> weekendSlots, LocalDate start, int weeks) {
+        if (weeks < 1) {
+            throw new IllegalArgumentException("Horizon must cover at least one week");
+        }
+        long begin = System.nanoTime();
+        LocalDate firstMonday = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        
+        List<List<Task>> buckets = new ArrayList<>(weeks);
+        for (int w = 0; w < weeks; w++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Task task : tasks) {
+            buckets.get(weekOf(task, firstMonday, weeks)).add(task);
+        }
+        
+        SchedulingEngine[] engines = new SchedulingEngine[weeks];
+        List<List<Task>> leftovers = new ArrayList<>(Collections.nCopies(weeks, null));
+        FeasibilityReport[] feasibility = new FeasibilityReport[weeks];
+        WeekRange all = new WeekRange(0, weeks, firstMonday, buckets, engines, leftovers,
+                                      feasibility, weekdaySlots, weekendSlots);
+        if (parallelism == 1) {
+            all.scheduleSequentially();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(all);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        
+        for (int w = 1; w < weeks; w++) {
+            for (int earlier = w - 1; earlier >= 0 && !leftovers.get(w).isEmpty(); earlier--) {
+                leftovers.set(w, engines[earlier].scheduleAdditional(leftovers.get(w)));
+            }
+        }
+        List<Task> carry = new ArrayList<>();
+        for (int w = 0; w < weeks; w++) {
+            List<Task> stillUnplaced = engines[w].scheduleAdditional(carry);
+            stillUnplaced.addAll(leftovers.get(w));
+            carry = stillUnplaced;
+        }
+        return new HorizonSchedule(firstMonday, Arrays.asList(engines), Arrays.asList(feasibility), carry,
+                                   System.nanoTime() - begin);
+    }
+    
+    private int weekOf(Task task, LocalDate firstMonday, int weeks) {
+        if (!task.hasDeadline()) {
+            return weeks - 1;
+        }
+        long week = Math.floorDiv(task.getDeadlineEpochDay() - firstMonday.toEpochDay(), 7);
+        return (int) Math.max(0, Math.min(weeks - 1, week));
+    }
+    
+    /**
+     * Schedules a range of weeks, forking halves until a single week is left
+     */
+    private class WeekRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        private final LocalDate firstMonday;
+        private final List<List<Task>> buckets;
+        private final SchedulingEngine[] engines;
+        private final List<List<Task>> leftovers;
+        private final FeasibilityReport[] feasibility;
+        private final List<TimeSlot> weekdaySlots;
+        private final List<TimeSlot> weekendSlots;
+        
+        WeekRange(int from, int to, LocalDate firstMonday, List<List<Task>> buckets,
+                  SchedulingEngine[] engines, List<List<Task>> leftovers, FeasibilityReport[] feasibility,
+                  List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+            this.from = from;
+            this.to = to;
+            this.firstMonday = firstMonday;
+            this.buckets = buckets;
+            this.engines = engines;
+            this.leftovers = leftovers;
+            this.feasibility = feasibility;
+            this.weekdaySlots = weekdaySlots;
+            this.weekendSlots = weekendSlots;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                scheduleWeek(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(split(from, mid), split(mid, to));
+        }
+        
+        void scheduleSequentially() {
+            for (int w = from; w < to; w++) {
+                scheduleWeek(w);
+            }
+        }
+        
+        private WeekRange split(int lo, int hi) {
+            return new WeekRange(lo, hi, firstMonday, buckets, engines, leftovers, feasibility,
+                                 weekdaySlots, weekendSlots);
+        }
+        
+        private void scheduleWeek(int week) {
+            SchedulingEngine engine = settings.withSameSettings();
+            engine.setWeekStart(firstMonday.plusWeeks(week));
+            engine.beginSchedule(weekdaySlots, weekendSlots);
+            if (engine.getSchedulingMode() != SchedulingMode.PRIORITY) {
+                feasibility[week] = engine.checkFeasibility(buckets.get(week), weekdaySlots, weekendSlots);
+            }
+            leftovers.set(week, engine.scheduleAdditional(buckets.get(week)));
+            engines[week] = engine;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * JUnit test cases for HorizonScheduler class
+ */
+public class HorizonSchedulerTest {
+    private static final LocalDate START = LocalDate.of(2025, 10, 6);
+    
+    private List<TimeSlot> weekdaySlots;
+    private List<TimeSlot> weekendSlots;
+    
+    @BeforeEach
+    public void setUp() {
+        weekdaySlots = List.of(new TimeSlot("09:00", "12:00"));
+        weekendSlots = List.of(new TimeSlot("10:00", "12:00"));
+    }
+    
+    @Test
+    @DisplayName("Test tasks land in the week of their deadline")
+    public void testPartitionByDeadline() {
+        Task early = new Task("Early", "Week one", Priority.LOW, 1.0, "08-10-2025");
+        Task later = new Task("Later", "Week three", Priority.HIGH, 1.0, "22-10-2025");
+        
+        HorizonSchedule horizon = new HorizonScheduler().schedule(
+            List.of(early, later), weekdaySlots, weekendSlots, START, 4);
+        
+        assertEquals(4, horizon.getWeekCount());
+        assertEquals(LocalDate.of(2025, 10, 20), horizon.getWeekStart(2));
+        assertEquals(early, horizon.getWeek(0).get("Monday").get(0).getTask());
+        assertEquals(later, horizon.getWeek(2).get("Monday").get(0).getTask());
+        assertTrue(horizon.getWeek(1).get("Monday").isEmpty(), "A week with room keeps its own tasks");
+    }
+    
+    @Test
+    @DisplayName("Test overflow uses earlier free time before finishing late")
+    public void testOverflowFillsEarlierWeeks() {
+        SchedulingEngine settings = new SchedulingEngine();
+        settings.setSplittingEnabled(false);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(new Task("Busy " + i, "One per weekday slot", Priority.MEDIUM, 2.0, "26-10-2025"));
+        }
+        
+        HorizonSchedule horizon = new HorizonScheduler(settings, 1)
+            .schedule(tasks, weekdaySlots, weekendSlots, START, 4);
+        
+        assertEquals(5, placements(horizon, 2), "The deadline week fills first");
+        assertEquals(3, placements(horizon, 1), "Overflow goes to the week before the deadline");
+        assertEquals(0, placements(horizon, 3), "Nothing is carried past the deadline while earlier time is free");
+        assertTrue(horizon.getLateTasks().isEmpty());
+        assertTrue(horizon.getUnscheduledTasks().isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Test deadline-aware horizons check each week's deadlines")
+    public void testWeeklyFeasibility() {
+        SchedulingEngine settings = new SchedulingEngine();
+        settings.setSchedulingMode(SchedulingMode.EARLIEST_DEADLINE_FIRST);
+        List<Task> tasks = List.of(new Task("Fits", "Week one", Priority.LOW, 1.0, "08-10-2025"),
+                                   new Task("Too much", "Week two", Priority.HIGH, 4.0, "13-10-2025"));
+        
+        HorizonSchedule horizon = new HorizonScheduler(settings, 1)
+            .schedule(tasks, weekdaySlots, weekendSlots, START, 2);
+        
+        assertTrue(horizon.getFeasibility(0).isFeasible());
+        assertFalse(horizon.getFeasibility(1).isFeasible(), "Four hours cannot fit a Monday slot of three");
+        assertFalse(horizon.isFeasible());
+        assertNull(new HorizonScheduler().schedule(tasks, weekdaySlots, weekendSlots, START, 2).getFeasibility(0),
+                  "PRIORITY mode has no deadline check");
+    }
+    
+    @Test
+    @DisplayName("Test overflow carries into the next week identically in parallel and sequentially")
+    public void testCarryOverIsDeterministic() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int day = 6 + (i % 21);
+            tasks.add(new Task("Task " + i, "Load", Priority.values()[i % 3], 1.0 + (i % 4) * 0.5,
+                               String.format("%02d-10-2025", day)));
+        }
+        
+        HorizonSchedule parallel = new HorizonScheduler(new SchedulingEngine(), 4)
+            .schedule(tasks, weekdaySlots, weekendSlots, START, 4);
+        HorizonSchedule sequential = new HorizonScheduler(new SchedulingEngine(), 1)
+            .schedule(tasks, weekdaySlots, weekendSlots, START, 4);
+        
+        for (int w = 0; w < 4; w++) {
+            assertEquals(parallel.getWeek(w).toString(), sequential.getWeek(w).toString(),
+                        "Week " + w + " should not depend on thread timing");
+        }
+        assertEquals(parallel.getUnscheduledTasks(), sequential.getUnscheduledTasks());
+        assertEquals(sequential.getLateTasks().toString(), parallel.getLateTasks().toString());
+        assertFalse(parallel.getWeek(3).get("Monday").isEmpty(),
+                   "The last week should absorb the overflow no earlier week has room for");
+        Set<Task> late = new HashSet<>();
+        parallel.getLateTasks().forEach(scheduled -> late.add(scheduled.getTask()));
+        for (List<ScheduledTask> day : parallel.getWeek(3).values()) {
+            for (ScheduledTask scheduled : day) {
+                assertTrue(late.contains(scheduled.getTask()), "Tasks carried past their deadline should be reported late");
+            }
+        }
+    }
+    
+    private static int placements(HorizonSchedule horizon, int week) {
+        return horizon.getWeek(week).values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -0,0 +1,122 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.CompactSchedule;
+import taskscheduler.service.ScheduleBlocks;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * iCalendar (RFC 5545) export with one VEVENT per scheduled block
+ * Times are floating local times, so calendars show them in the user's own
+ * time zone as the schedule was planned.
+ */
+public class ICalendarScheduleExporter implements ScheduleExporter {
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    
+    @Override
+    public void export(ScheduleBlocks schedule, Writer out) throws IOException {
+        String stamp = ZonedDateTime.now(ZoneOffset.UTC).format(STAMP);
+        StringBuilder line = new StringBuilder(128);
+        
+        out.write("BEGIN:VCALENDAR" + CRLF);
+        out.write("VERSION:2.0" + CRLF);
+        out.write("PRODID:-//taskscheduler//Task Scheduler//EN" + CRLF);
+        out.write("CALSCALE:GREGORIAN" + CRLF);
+        for (int day = 0; day < CompactSchedule.DAYS_PER_WEEK; day++) {
+            String date = schedule.getWeekStart().plusDays(day).format(DATE);
+            for (int i = schedule.dayStart(day); i < schedule.dayStart(day + 1); i++) {
+                Task task = schedule.getTask(i);
+                out.write("BEGIN:VEVENT" + CRLF);
+                line.append("UID:").append(task.getTaskId()).append('-').append(date).append('T');
+                appendBasicTime(line, schedule.getStartMinute(i));
+                writeLine(out, line.append("@taskscheduler"));
+                writeLine(out, line.append("DTSTAMP:").append(stamp));
+                line.append("DTSTART:").append(date).append('T');
+                appendBasicTime(line, schedule.getStartMinute(i));
+                writeLine(out, line);
+                line.append("DTEND:").append(date).append('T');
+                appendBasicTime(line, schedule.getEndMinute(i));
+                writeLine(out, line);
+                line.append("SUMMARY:");
+                escape(line, task.getName());
+                if (schedule.getSplitPart(i) != 0) {
+                    line.append(" (Part ").append(schedule.getSplitPart(i)).append(')');
+                }
+                writeLine(out, line);
+                line.append("DESCRIPTION:");
+                escape(line, task.getDescription());
+                line.append("\\nPriority: ").append(task.getPriority()).append("\\nDeadline: ");
+                escape(line, task.getDeadline());
+                writeLine(out, line);
+                writeLine(out, line.append("PRIORITY:").append(icalPriority(task.getPriority())));
+                out.write("END:VEVENT" + CRLF);
+            }
+        }
+        out.write("END:VCALENDAR" + CRLF);
+    }
+    
+    /**
+     * Writes a content line folded at 75 octets, then clears the builder for reuse
+     */
+    static void writeLine(Writer out, StringBuilder line) throws IOException {
+        int octets = 0;
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            int width = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isSurrogate(c) ? 2 : 3;
+            int needed = Character.isHighSurrogate(c) ? 4 : width;
+            if (!Character.isLowSurrogate(c) && octets + needed > MAX_LINE_OCTETS) {
+                out.append(line, start, i).append(CRLF).append(' ');
+                start = i;
+                octets = 1;
+            }
+            octets += width;
+        }
+        out.append(line, start, line.length()).append(CRLF);
+        line.setLength(0);
+    }
+    
+    private static void escape(StringBuilder line, String text) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else if (c != '\r') {
+                line.append(c);
+            }
+        }
+    }
+    
+    /**
+     * Appends minutes from midnight as the HHMMSS form used in DATE-TIME values
+     */
+    private static void appendBasicTime(StringBuilder line, int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        line.append((char) ('0' + hour / 10)).append((char) ('0' + hour % 10))
+            .append((char) ('0' + minute / 10)).append((char) ('0' + minute % 10)).append("00");
+    }
+    
+    /**
+     * iCalendar priorities run 1 (highest) to 9 (lowest)
+     */
+    private static int icalPriority(Priority priority) {
+        switch (priority) {
+            case HIGH: return 1;
+            case MEDIUM: return 5;
+            default: return 9;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package taskscheduler.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import taskscheduler.model.Task;
+import taskscheduler.service.*;
+import taskscheduler.util.ImportReport;
+import taskscheduler.util.TaskImporter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks bulk CSV import of a synthetic file
+ * The rowsImported counter is reported by JMH as rows per second next to the
+ * per-file import rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ImportBenchmark {
+    @Param({"100000", "1000000"})
+    public int taskCount;
+    
+    @Param({"1", "4"})
+    public int parallelism;
+    
+    private Path file;
+    
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("taskscheduler-import", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,description,priority,durationHours,deadline");
+            writer.newLine();
+            for (Task task : SyntheticData.tasks(taskCount, SyntheticData.DEFAULT_SEED)) {
+                writer.write(task.getName() + "," + task.getDescription() + "," + task.getPriority() + ","
+                           + task.getDurationHours() + "," + task.getDeadline());
+                writer.newLine();
+            }
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+    
+    /**
+     * Per-thread row counter that JMH reports as a rate
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rows {
+        public long rowsImported;
+    }
+    
+    @Benchmark
+    public ImportReport importCsv(Rows rows) throws IOException {
+        ImportReport report = new TaskImporter(TaskImporter.DEFAULT_BATCH_SIZE, parallelism)
+            .importFile(file, new TaskManager());
+        rows.rowsImported += report.getImported();
+        return report;
+    }
+}
@@ -0,0 +1,82 @@
+package taskscheduler.util;
+
+import java.util.*;
+
+/**
+ * Outcome of a bulk task import
+ * Only the first few bad rows are kept with their line numbers, so the report
+ * stays small however many rows a file has; the rejected count is exact.
+ */
+public class ImportReport {
+    static final int MAX_REPORTED_ERRORS = 100;
+    
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long elapsedNanos;
+    private final List<RowError> errors;
+    
+    ImportReport() {
+        this.errors = new ArrayList<>();
+    }
+    
+    /**
+     * A rejected row and why it was rejected
+     */
+    public static class RowError {
+        private final long line;
+        private final String message;
+        
+        RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+        
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+        
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+    
+    void addImported(int count) {
+        rowsRead += count;
+        imported += count;
+    }
+    
+    void addRejected(RowError error) {
+        rowsRead++;
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+    
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    public long getRejected() { return rejected; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    
+    /**
+     * The first rejected rows, in file order
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+    
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1e9 / elapsedNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d rows read, %d imported, %d rejected in %.2fs (%.0f rows/s)",
+                           rowsRead, imported, rejected, elapsedNanos / 1e9, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,79 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.CompactSchedule;
+import taskscheduler.service.ScheduleBlocks;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON export: {"weekStart", "days": {day: [blocks]}, "unscheduled": [ids], "late": [ids]}
+ * Each block is encoded into one reused buffer and written out, so no object
+ * tree is built for the schedule.
+ */
+public class JsonScheduleExporter implements ScheduleExporter {
+    @Override
+    public void export(ScheduleBlocks schedule, Writer out) throws IOException {
+        StringBuilder buffer = new StringBuilder(256);
+        out.write("{\"weekStart\":\"");
+        out.write(schedule.getWeekStart().toString());
+        out.write("\",\"days\":{");
+        for (int day = 0; day < CompactSchedule.DAYS_PER_WEEK; day++) {
+            if (day > 0) {
+                out.write(',');
+            }
+            Json.writeString(buffer, CompactSchedule.dayName(day));
+            buffer.append(":[");
+            for (int i = schedule.dayStart(day); i < schedule.dayStart(day + 1); i++) {
+                if (i > schedule.dayStart(day)) {
+                    buffer.append(',');
+                }
+                buffer.append("{\"taskId\":");
+                Json.writeString(buffer, schedule.getTask(i).getTaskId());
+                buffer.append(",\"name\":");
+                Json.writeString(buffer, schedule.getTask(i).getName());
+                buffer.append(",\"start\":\"");
+                schedule.appendStartTime(i, buffer);
+                buffer.append("\",\"end\":\"");
+                schedule.appendEndTime(i, buffer);
+                buffer.append('"');
+                if (schedule.getSplitPart(i) != 0) {
+                    buffer.append(",\"part\":").append(schedule.getSplitPart(i));
+                }
+                buffer.append('}');
+                flush(buffer, out);
+            }
+            buffer.append(']');
+            flush(buffer, out);
+        }
+        out.write("},\"unscheduled\":[");
+        boolean first = true;
+        for (Task task : schedule.getUnscheduledTasks()) {
+            if (!first) {
+                buffer.append(',');
+            }
+            first = false;
+            Json.writeString(buffer, task.getTaskId());
+            flush(buffer, out);
+        }
+        out.write("],\"late\":[");
+        first = true;
+        for (int i = 0; i < schedule.size(); i++) {
+            if (!schedule.isLate(i)) {
+                continue;
+            }
+            if (!first) {
+                buffer.append(',');
+            }
+            first = false;
+            Json.writeString(buffer, schedule.getTask(i).getTaskId());
+            flush(buffer, out);
+        }
+        out.write("]}");
+    }
+    
+    private static void flush(StringBuilder buffer, Writer out) throws IOException {
+        out.append(buffer);
+        buffer.setLength(0);
+    }
+}
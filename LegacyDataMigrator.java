@@ -0,0 +1,81 @@
+package taskscheduler.util;
+
+import taskscheduler.service.*;
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * One-way migration of Java-serialized .dat files to the binary format
+ * A migrated .dat file is renamed to .dat.migrated and never read again
+ */
+public class LegacyDataMigrator {
+    private static final String MIGRATED_SUFFIX = ".migrated";
+    
+    /**
+     * Converts a legacy tasks file if no binary file exists yet
+     */
+    public boolean migrateTasks(Path legacyFile, Path binaryFile) {
+        if (!needsMigration(legacyFile, binaryFile)) {
+            return false;
+        }
+        try {
+            TaskManager taskManager = (TaskManager) readLegacy(legacyFile);
+            BinaryFormat.writeTasks(binaryFile, taskManager);
+            return retire(legacyFile);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("Error migrating tasks: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Converts a legacy user schedule file if no binary file exists yet
+     */
+    public boolean migrateUserSchedule(Path legacyFile, Path binaryFile) {
+        if (!needsMigration(legacyFile, binaryFile)) {
+            return false;
+        }
+        try {
+            UserScheduleManager scheduleManager = (UserScheduleManager) readLegacy(legacyFile);
+            BinaryFormat.writeUserSchedule(binaryFile, scheduleManager);
+            return retire(legacyFile);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("Error migrating user schedule: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Converts a legacy generated schedule file if no binary file exists yet
+     */
+    public boolean migrateSchedule(Path legacyFile, Path binaryFile) {
+        if (!needsMigration(legacyFile, binaryFile)) {
+            return false;
+        }
+        try {
+            SchedulingEngine schedulingEngine = (SchedulingEngine) readLegacy(legacyFile);
+            BinaryFormat.writeSchedule(binaryFile, schedulingEngine);
+            return retire(legacyFile);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("Error migrating schedule: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private boolean needsMigration(Path legacyFile, Path binaryFile) {
+        return Files.exists(legacyFile) && !Files.exists(binaryFile);
+    }
+    
+    private Object readLegacy(Path legacyFile) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(legacyFile)))) {
+            return ois.readObject();
+        }
+    }
+    
+    private boolean retire(Path legacyFile) throws IOException {
+        Files.move(legacyFile, legacyFile.resolveSibling(legacyFile.getFileName() + MIGRATED_SUFFIX),
+                   StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+}
@@ -1,18 +1,34 @@
 package taskscheduler;
 
+import taskscheduler.api.ApiServer;
+import taskscheduler.metrics.Metrics;
 import taskscheduler.model.*;
 import taskscheduler.service.*;
 import taskscheduler.util.*;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 public class Main {
+    private static final int TASKS_PER_PAGE = 20;
+    
     private static Scanner scanner = new Scanner(System.in);
     private static UserScheduleManager scheduleManager = new UserScheduleManager();
     private static TaskManager taskManager = new TaskManager();
     private static SchedulingEngine schedulingEngine = new SchedulingEngine();
     private static FileManager fileManager = new FileManager();
+    private static final ReentrantLock dataLock = new ReentrantLock();
+    private static AsyncPersistence persistence;
     
     public static void main(String[] args) {
+        Metrics.dumpOnExitIfRequested();
+        if (args.length > 0 && args[0].equals("--serve")) {
+            serve(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            return;
+        }
+        
         System.out.println("═══════════════════════════════════════════════════════");
         System.out.println("    CUSTOMIZABLE TASK SCHEDULER - TO-DO LIST SYSTEM    ");
         System.out.println("═══════════════════════════════════════════════════════\n");
@@ -36,10 +52,10 @@ public class Main {
                     viewAllTasks();
                     break;
                 case 4:
-                    generateSchedule();
+                    locked(Main::generateSchedule);
                     break;
                 case 5:
-                    viewGeneratedSchedule();
+                    locked(Main::viewGeneratedSchedule);
                     break;
                 case 6:
                     markTaskComplete();
@@ -48,7 +64,7 @@ public class Main {
                     deleteTask();
                     break;
                 case 8:
-                    viewUserSchedule();
+                    locked(Main::viewUserSchedule);
                     break;
                 case 9:
                     editUserSchedule();
@@ -57,9 +73,12 @@ public class Main {
                     exportScheduleToFile();
                     break;
                 case 11:
-                    saveData();
-                    System.out.println("\n✓ Data saved successfully!");
-                    System.out.println("Thank you for using Task Scheduler. Goodbye!");
+                    importTasksFromFile();
+                    break;
+                case 12:
+                    searchTasks();
+                    break;
+                case 13:
                     exit = true;
                     break;
                 default:
@@ -67,9 +86,38 @@ public class Main {
             }
         }
         
+        if (saveData()) {
+            System.out.println("\n✓ Data saved successfully!");
+        } else {
+            System.out.println("\n✗ Some data could not be saved, see the errors above.");
+        }
+        System.out.println("Thank you for using Task Scheduler. Goodbye!");
         scanner.close();
     }
     
+    /**
+     * Runs an action while holding the data lock, so a background flush never sees a half-made change
+     * Menu actions read their input first and lock only around the managers, so a flush
+     * never waits for the user to type.
+     */
+    private static void locked(Runnable action) {
+        dataLock.lock();
+        try {
+            action.run();
+        } finally {
+            dataLock.unlock();
+        }
+    }
+    
+    private static <T> T locked(Supplier<T> action) {
+        dataLock.lock();
+        try {
+            return action.get();
+        } finally {
+            dataLock.unlock();
+        }
+    }
+    
     private static void displayMainMenu() {
         System.out.println("\n─────────────────── MAIN MENU ───────────────────");
         System.out.println("1. Configure Your Daily Schedule");
@@ -82,7 +130,9 @@ public class Main {
         System.out.println("8. View Your Availability Schedule");
         System.out.println("9. Edit Your Availability Schedule");
         System.out.println("10. Export Schedule to File");
-        System.out.println("11. Save & Exit");
+        System.out.println("11. Import Tasks from File");
+        System.out.println("12. Search Tasks");
+        System.out.println("13. Save & Exit");
         System.out.println("─────────────────────────────────────────────────\n");
     }
     
@@ -92,11 +142,13 @@ public class Main {
         
         System.out.println(">>> WEEKDAY SCHEDULE (Monday - Friday) <<<");
         List<TimeSlot> weekdaySlots = getTimeSlots();
-        scheduleManager.setWeekdaySchedule(weekdaySlots);
         
         System.out.println("\n>>> WEEKEND SCHEDULE (Saturday - Sunday) <<<");
         List<TimeSlot> weekendSlots = getTimeSlots();
-        scheduleManager.setWeekendSchedule(weekendSlots);
+        locked(() -> {
+            scheduleManager.setWeekdaySchedule(weekdaySlots);
+            scheduleManager.setWeekendSchedule(weekendSlots);
+        });
         
         System.out.println("\n✓ Your schedule has been configured successfully!");
     }
@@ -150,16 +202,46 @@ public class Main {
         String deadline = scanner.nextLine();
         
         Task task = new Task(name, description, priority, duration, deadline);
-        taskManager.addTask(task);
+        locked(() -> taskManager.addTask(task));
         
         System.out.println("\n✓ Task added successfully with ID: " + task.getTaskId());
     }
     
+    private static void importTasksFromFile() {
+        System.out.println("\n═══════ IMPORT TASKS ═══════");
+        System.out.print("Enter path to a .csv or .jsonl file: ");
+        String file = scanner.nextLine().trim();
+        
+        try {
+            TaskImporter importer = new TaskImporter(TaskImporter.DEFAULT_BATCH_SIZE,
+                                                     Runtime.getRuntime().availableProcessors());
+            ImportReport report;
+            dataLock.lock();
+            try {
+                report = importer.importFile(Paths.get(file), taskManager);
+            } finally {
+                dataLock.unlock();
+            }
+            System.out.println("\n✓ " + report);
+            for (ImportReport.RowError error : report.getErrors().subList(0, Math.min(10, report.getErrors().size()))) {
+                System.out.println("  ✗ " + error);
+            }
+            if (report.getRejected() > 10) {
+                System.out.println("  ... and " + (report.getRejected() - 10) + " more rejected rows");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("\n✗ Error importing tasks: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Lists tasks a page at a time, so only the page being shown is copied and formatted
+     */
     private static void viewAllTasks() {
         System.out.println("\n═══════ ALL TASKS ═══════");
-        List<Task> tasks = taskManager.getAllTasks();
+        TaskPage page = locked(() -> taskManager.getTaskPage(null, TaskSort.ISSUE, null, TASKS_PER_PAGE));
         
-        if (tasks.isEmpty()) {
+        if (page.getTasks().isEmpty()) {
             System.out.println("No tasks found. Add some tasks first!");
             return;
         }
@@ -168,9 +250,79 @@ public class Main {
                          "ID", "Name", "Priority", "Duration", "Deadline", "Status"));
         System.out.println("─────────────────────────────────────────────────────────────────────────────────────");
         
-        for (Task task : tasks) {
+        while (true) {
+            for (Task task : page.getTasks()) {
+                System.out.println(task.toTableFormat());
+            }
+            if (!page.hasMore()) {
+                break;
+            }
+            System.out.print("-- Press Enter for more, or Q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                break;
+            }
+            String cursor = page.getNextCursor();
+            page = locked(() -> taskManager.getTaskPage(null, TaskSort.ISSUE, cursor, TASKS_PER_PAGE));
+        }
+        System.out.println("\n" + locked(taskManager::getStatistics));
+    }
+    
+    /**
+     * Prints the id and name of every task in one go, for picking a task by id
+     * Returns false if there are no tasks
+     */
+    private static boolean listTaskIds() {
+        TaskPage page = locked(() -> taskManager.getTaskPage(null, TaskSort.ISSUE, null, 1000));
+        if (page.getTasks().isEmpty()) {
+            return false;
+        }
+        System.out.println(String.format("\n%-8s %-25s %-10s", "ID", "Name", "Status"));
+        System.out.println("──────────────────────────────────────────────");
+        while (true) {
+            for (Task task : page.getTasks()) {
+                System.out.println(String.format("%-8s %-25s %-10s", task.getTaskId(),
+                               task.getName().length() > 25 ? task.getName().substring(0, 22) + "..." : task.getName(),
+                               task.getStatus()));
+            }
+            if (!page.hasMore()) {
+                return true;
+            }
+            String cursor = page.getNextCursor();
+            page = locked(() -> taskManager.getTaskPage(null, TaskSort.ISSUE, cursor, 1000));
+        }
+    }
+    
+    private static void searchTasks() {
+        System.out.println("\n═══════ SEARCH TASKS ═══════");
+        System.out.print("Enter search words (prefixes match too): ");
+        String query = scanner.nextLine();
+        System.out.print("Filter by priority (HIGH/MEDIUM/LOW, blank for any): ");
+        String priorityStr = scanner.nextLine().trim().toUpperCase();
+        System.out.print("Filter by status (PENDING/IN_PROGRESS/COMPLETED, blank for any): ");
+        String statusStr = scanner.nextLine().trim().toUpperCase();
+        
+        List<Task> matches;
+        try {
+            Priority priority = priorityStr.isEmpty() ? null : Priority.valueOf(priorityStr);
+            TaskStatus status = statusStr.isEmpty() ? null : TaskStatus.valueOf(statusStr);
+            matches = locked(() -> taskManager.searchTasks(query, priority, status, 20));
+        } catch (IllegalArgumentException e) {
+            System.out.println("✗ Invalid filter: " + e.getMessage());
+            return;
+        }
+        
+        if (matches.isEmpty()) {
+            System.out.println("No matching tasks found.");
+            return;
+        }
+        
+        System.out.println("\n" + String.format("%-8s %-25s %-10s %-10s %-12s %-10s", 
+                         "ID", "Name", "Priority", "Duration", "Deadline", "Status"));
+        System.out.println("─────────────────────────────────────────────────────────────────────────────────────");
+        for (Task task : matches) {
             System.out.println(task.toTableFormat());
         }
+        System.out.println("\nShowing the best " + matches.size() + " match(es).");
     }
     
     private static void generateSchedule() {
@@ -210,22 +362,20 @@ public class Main {
     private static void viewGeneratedSchedule() {
         System.out.println("\n═══════ YOUR OPTIMIZED SCHEDULE ═══════");
         
-        Map<String, List<ScheduledTask>> schedule = schedulingEngine.getSchedule();
-        
-        if (schedule.isEmpty()) {
+        if (schedulingEngine.getScheduleView().isEmpty()) {
             System.out.println("No schedule generated yet. Use Option 4 to generate one!");
             return;
         }
         
-        for (Map.Entry<String, List<ScheduledTask>> entry : schedule.entrySet()) {
-            System.out.println("\n>>> " + entry.getKey().toUpperCase() + " <<<");
+        for (Map.Entry<String, List<ScheduledTask>> day : schedulingEngine.getScheduleView().entrySet()) {
+            System.out.println("\n>>> " + day.getKey().toUpperCase() + " <<<");
             System.out.println("────────────────────────────────────────────────────────────────────────────────");
             
-            if (entry.getValue().isEmpty()) {
+            if (day.getValue().isEmpty()) {
                 System.out.println("  No tasks scheduled for this day.");
             } else {
-                for (ScheduledTask st : entry.getValue()) {
-                    System.out.println(st);
+                for (ScheduledTask scheduled : day.getValue()) {
+                    System.out.println(scheduled);
                 }
             }
         }
@@ -241,12 +391,23 @@ public class Main {
             }
             System.out.println("\n  ⚠ These tasks need more time or lower priority prevented scheduling.");
         }
+        
+        List<ScheduledTask> late = schedulingEngine.getLateTasks();
+        if (!late.isEmpty()) {
+            System.out.println("\n>>> PAST DEADLINE <<<");
+            System.out.println("────────────────────────────────────────────────────────────────────────────────");
+            for (ScheduledTask st : late) {
+                System.out.println("  [" + st.getTask().getTaskId() + "] " + st.getTask().getName() + 
+                                 " - Finishes " + st.getDay() + 
+                                 " - Deadline: " + st.getTask().getDeadline());
+            }
+        }
     }
     
     private static void markTaskComplete() {
         System.out.println("\n═══════ MARK TASK AS COMPLETE ═══════");
         
-        List<Task> pendingTasks = taskManager.getPendingTasks();
+        List<Task> pendingTasks = locked(taskManager::getPendingTasks);
         
         if (pendingTasks.isEmpty()) {
             System.out.println("No pending tasks found!");
@@ -269,11 +430,16 @@ public class Main {
         
         String taskId = getStringInput("\nEnter Task ID to mark as complete: ");
         
-        if (taskManager.markTaskComplete(taskId)) {
-            System.out.println("✓ Task marked as complete!");
+        boolean completed = locked(() -> {
+            if (!taskManager.markTaskComplete(taskId)) {
+                return false;
+            }
             schedulingEngine.removeTaskFromSchedule(taskId);
-            
-            System.out.println("\nUpdated Pending Tasks: " + taskManager.getPendingTasks().size());
+            return true;
+        });
+        if (completed) {
+            System.out.println("✓ Task marked as complete!");
+            System.out.println("\nUpdated Pending Tasks: " + locked(taskManager::getPendingTaskCount));
         } else {
             System.out.println("✗ Task not found!");
         }
@@ -281,13 +447,22 @@ public class Main {
     
     private static void deleteTask() {
         System.out.println("\n═══════ DELETE TASK ═══════");
-        viewAllTasks();
+        if (!listTaskIds()) {
+            System.out.println("No tasks found. Add some tasks first!");
+            return;
+        }
         
         String taskId = getStringInput("\nEnter Task ID to delete: ");
         
-        if (taskManager.deleteTask(taskId)) {
-            System.out.println("✓ Task deleted successfully!");
+        boolean deleted = locked(() -> {
+            if (!taskManager.deleteTask(taskId)) {
+                return false;
+            }
             schedulingEngine.removeTaskFromSchedule(taskId);
+            return true;
+        });
+        if (deleted) {
+            System.out.println("✓ Task deleted successfully!");
         } else {
             System.out.println("✗ Task not found!");
         }
@@ -315,7 +490,7 @@ public class Main {
     private static void editUserSchedule() {
         System.out.println("\n═══════ EDIT YOUR AVAILABILITY SCHEDULE ═══════");
         
-        if (!scheduleManager.isConfigured()) {
+        if (!locked(scheduleManager::isConfigured)) {
             System.out.println("No schedule configured yet. Use Option 1 first!");
             return;
         }
@@ -330,33 +505,33 @@ public class Main {
         switch (choice) {
             case 1:
                 System.out.println("\n>>> CURRENT WEEKDAY SCHEDULE <<<");
-                for (TimeSlot slot : scheduleManager.getWeekdaySchedule()) {
+                for (TimeSlot slot : locked(scheduleManager::getWeekdaySchedule)) {
                     System.out.println("  " + slot);
                 }
                 System.out.println("\n>>> ENTER NEW WEEKDAY SCHEDULE <<<");
                 List<TimeSlot> newWeekdaySlots = getTimeSlots();
-                scheduleManager.setWeekdaySchedule(newWeekdaySlots);
+                locked(() -> scheduleManager.setWeekdaySchedule(newWeekdaySlots));
                 System.out.println("✓ Weekday schedule updated!");
                 
                 System.out.print("\nRegenerate schedule with new availability (yes/no): ");
                 if (scanner.nextLine().trim().equalsIgnoreCase("yes")) {
-                    generateSchedule();
+                    locked(Main::generateSchedule);
                 }
                 break;
                 
             case 2:
                 System.out.println("\n>>> CURRENT WEEKEND SCHEDULE <<<");
-                for (TimeSlot slot : scheduleManager.getWeekendSchedule()) {
+                for (TimeSlot slot : locked(scheduleManager::getWeekendSchedule)) {
                     System.out.println("  " + slot);
                 }
                 System.out.println("\n>>> ENTER NEW WEEKEND SCHEDULE <<<");
                 List<TimeSlot> newWeekendSlots = getTimeSlots();
-                scheduleManager.setWeekendSchedule(newWeekendSlots);
+                locked(() -> scheduleManager.setWeekendSchedule(newWeekendSlots));
                 System.out.println("✓ Weekend schedule updated!");
                 
                 System.out.print("\nRegenerate schedule with new availability (yes/no): ");
                 if (scanner.nextLine().trim().equalsIgnoreCase("yes")) {
-                    generateSchedule();
+                    locked(Main::generateSchedule);
                 }
                 break;
                 
@@ -372,37 +547,80 @@ public class Main {
     private static void exportScheduleToFile() {
         System.out.println("\n═══════ EXPORT SCHEDULE TO FILE ═══════");
         
-        Map<String, List<ScheduledTask>> schedule = schedulingEngine.getSchedule();
+        Map<String, List<ScheduledTask>> schedule = locked(schedulingEngine::getScheduleView);
         
         if (schedule.isEmpty() || schedule.values().stream().allMatch(List::isEmpty)) {
             System.out.println("No schedule to export. Generate a schedule first (Option 4)!");
             return;
         }
         
+        System.out.print("Enter format (TXT/CSV/ICS/JSON) [TXT]: ");
+        ScheduleExporter.Format format = exportFormat(scanner.nextLine().trim());
+        
         System.out.print("Enter filename (without extension): ");
-        String filename = scanner.nextLine().trim();
-        if (filename.isEmpty()) {
-            filename = "schedule_" + System.currentTimeMillis();
-        }
-        filename = filename + ".txt";
+        String name = scanner.nextLine().trim();
+        String filename = (name.isEmpty() ? "schedule_" + System.currentTimeMillis() : name)
+                          + "." + format.getExtension();
         
-        fileManager.exportScheduleToText(schedulingEngine, filename);
+        locked(() -> fileManager.exportSchedule(schedulingEngine, filename, format));
         System.out.println("✓ Schedule exported successfully to data/" + filename);
     }
     
+    private static ScheduleExporter.Format exportFormat(String formatName) {
+        if (formatName.isEmpty()) {
+            return ScheduleExporter.Format.TEXT;
+        }
+        try {
+            return ScheduleExporter.Format.of(formatName);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid format! Exporting as text.");
+            return ScheduleExporter.Format.TEXT;
+        }
+    }
+    
+    /**
+     * Runs the HTTP API instead of the menu, keeping each user's data under data/users/
+     */
+    private static void serve(int port) {
+        SchedulingService service = new SchedulingService(new FileWorkspaceStore(Paths.get("data")));
+        try {
+            ApiServer server = new ApiServer(service, port);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                service.close();
+            }));
+            server.start();
+            System.out.println("Task scheduler API listening on port " + server.getPort());
+        } catch (IOException e) {
+            System.err.println("Error starting API server: " + e.getMessage());
+            service.close();
+        }
+    }
+    
     private static void loadData() {
         System.out.println("Loading saved data...");
         scheduleManager = fileManager.loadUserSchedule();
         taskManager = fileManager.loadTasks();
         schedulingEngine = fileManager.loadSchedule();
+        fileManager.openTaskJournal(taskManager);
+        persistence = new AsyncPersistence(fileManager, dataLock, scheduleManager, taskManager, schedulingEngine);
         System.out.println("✓ Data loaded successfully!\n");
     }
     
-    private static void saveData() {
+    /**
+     * Writes everything and waits for it, returning false if any store could not be written
+     */
+    private static boolean saveData() {
         System.out.println("\nSaving data...");
-        fileManager.saveUserSchedule(scheduleManager);
-        fileManager.saveTasks(taskManager);
-        fileManager.saveSchedule(schedulingEngine);
+        try {
+            persistence.close();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving data: " + e.getMessage());
+            return false;
+        } finally {
+            fileManager.closeTaskJournal();
+        }
     }
     
     private static int getIntInput(String prompt) {
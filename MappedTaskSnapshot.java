@@ -0,0 +1,281 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.TaskArchive;
+import taskscheduler.service.TaskSort;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Memory-mapped view of a tasks snapshot
+ * Tasks are decoded from the mapping on demand, using the sorted id index
+ * written by BinaryFormat.writeTasks for lookups
+ */
+public class MappedTaskSnapshot implements TaskArchive {
+    private static final int HEADER_BYTES = 7;
+    
+    private final MappedByteBuffer data;
+    private final int count;
+    private final int indexOffset;
+    private final int[] statusCounts;
+    private final int[][] priorityCounts;
+    private final int[] sortOffsets;
+    private final Map<Long, Integer> completionsByDay;
+    
+    private MappedTaskSnapshot(MappedByteBuffer data, int count, int indexOffset, int[] statusCounts,
+                               int[][] priorityCounts, int[] sortOffsets, Map<Long, Integer> completionsByDay) {
+        this.data = data;
+        this.count = count;
+        this.indexOffset = indexOffset;
+        this.statusCounts = statusCounts;
+        this.priorityCounts = priorityCounts;
+        this.sortOffsets = sortOffsets;
+        this.completionsByDay = completionsByDay;
+    }
+    
+    /**
+     * Maps a tasks snapshot, returning null if the file predates the lazy-read index
+     */
+    public static MappedTaskSnapshot open(Path path) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        
+        BinaryReader header = new BinaryReader(data.duplicate());
+        int version = BinaryFormat.readHeader(header, BinaryFormat.KIND_TASKS);
+        if (version < 2 || data.limit() < HEADER_BYTES + BinaryFormat.TRAILER_BYTES) {
+            return null;
+        }
+        
+        int trailer = data.limit() - BinaryFormat.TRAILER_BYTES;
+        if (data.getInt(trailer + 20) != BinaryFormat.INDEX_MAGIC) {
+            throw new IOException("Tasks snapshot index is missing or damaged");
+        }
+        int metaOffset = Math.toIntExact(data.getLong(trailer));
+        int indexOffset = Math.toIntExact(data.getLong(trailer + 8));
+        int count = data.getInt(trailer + 16);
+        
+        ByteBuffer metaBytes = data.duplicate().position(metaOffset).limit(indexOffset);
+        BinaryReader meta = new BinaryReader(metaBytes);
+        String maxTaskId = meta.readString();
+        int[] statusCounts = new int[TaskStatus.values().length];
+        int storedStatuses = meta.readVarInt();
+        for (int i = 0; i < storedStatuses; i++) {
+            statusCounts[i] = meta.readVarInt();
+        }
+        int[][] priorityCounts = null;
+        if (version >= 3) {
+            priorityCounts = new int[TaskStatus.values().length][Priority.values().length];
+            int storedPriorities = meta.readVarInt();
+            for (int i = 0; i < storedStatuses; i++) {
+                for (int p = 0; p < storedPriorities; p++) {
+                    priorityCounts[i][p] = meta.readVarInt();
+                }
+            }
+        }
+        int[] sortOffsets = null;
+        if (version >= 3) {
+            int storedSorts = meta.readVarInt();
+            sortOffsets = new int[storedSorts];
+            for (int i = 0; i < storedSorts; i++) {
+                sortOffsets[i] = Math.toIntExact(meta.readLong());
+            }
+        }
+        Map<Long, Integer> completionsByDay = new HashMap<>();
+        if (version >= 4) {
+            int days = meta.readVarInt();
+            for (int i = 0; i < days; i++) {
+                completionsByDay.put(meta.readLong(), meta.readVarInt());
+            }
+        }
+        Task.reserveTaskId(maxTaskId);
+        
+        return new MappedTaskSnapshot(data, count, indexOffset, statusCounts, priorityCounts, sortOffsets,
+                                      Collections.unmodifiableMap(completionsByDay));
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    @Override
+    public Task find(String taskId) {
+        byte[] key = taskId.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareIdAt(recordOffset(mid), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return decode(recordOffset(mid));
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public int count(TaskStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+    
+    /**
+     * Read from the meta block; version 2 snapshots, written before it held these counts, return -1
+     */
+    @Override
+    public int count(TaskStatus status, Priority priority) {
+        return priorityCounts == null ? -1 : priorityCounts[status.ordinal()][priority.ordinal()];
+    }
+    
+    /**
+     * Read from the meta block; snapshots before version 4 did not save completion days
+     */
+    @Override
+    public Map<Long, Integer> completionsByDay() {
+        return completionsByDay;
+    }
+    
+    @Override
+    public List<Task> loadWithStatus(TaskStatus status) {
+        if (statusCounts[status.ordinal()] == 0) {
+            return new ArrayList<>();
+        }
+        int[] offsets = new int[statusCounts[status.ordinal()]];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (data.get(indexOffset + i * BinaryFormat.INDEX_ENTRY_BYTES + 4) == status.ordinal()) {
+                offsets[found++] = recordOffset(i);
+            }
+        }
+        Arrays.sort(offsets, 0, found);
+        
+        List<Task> tasks = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            tasks.add(decode(offsets[i]));
+        }
+        return tasks;
+    }
+    
+    /**
+     * Binary searches the sort's entries for the first task after the given one,
+     * decoding only the probed records, then walks on skipping other statuses
+     */
+    @Override
+    public Iterator<Task> iterate(TaskStatus status, TaskSort sort, Task after) {
+        if (sortOffsets == null || sort.ordinal() >= sortOffsets.length) {
+            return null;
+        }
+        int entries = sortOffsets[sort.ordinal()];
+        int start = 0;
+        if (after != null) {
+            int high = count;
+            while (start < high) {
+                int mid = (start + high) >>> 1;
+                Task probe = decode(data.getInt(entries + mid * BinaryFormat.INDEX_ENTRY_BYTES));
+                if (sort.comparator().compare(probe, after) <= 0) {
+                    start = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        return new EntryIterator(entries, start, status);
+    }
+    
+    @Override
+    public List<Task> loadAll() {
+        List<Task> tasks = new ArrayList<>(count);
+        try {
+            BinaryReader reader = new BinaryReader(data.duplicate().position(HEADER_BYTES));
+            reader.readVarInt();
+            for (int i = 0; i < count; i++) {
+                tasks.add(BinaryFormat.readTask(reader));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt tasks snapshot", e);
+        }
+        return tasks;
+    }
+    
+    private int recordOffset(int indexEntry) {
+        return data.getInt(indexOffset + indexEntry * BinaryFormat.INDEX_ENTRY_BYTES);
+    }
+    
+    private Task decode(int offset) {
+        try {
+            return BinaryFormat.readTask(new BinaryReader(data.duplicate().position(offset)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt tasks snapshot", e);
+        }
+    }
+    
+    /**
+     * Decodes the tasks of one status from a run of index entries
+     */
+    private class EntryIterator implements Iterator<Task> {
+        private final int entries;
+        private final TaskStatus status;
+        private int next;
+        
+        EntryIterator(int entries, int start, TaskStatus status) {
+            this.entries = entries;
+            this.status = status;
+            this.next = skipToStatus(start);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return next < count;
+        }
+        
+        @Override
+        public Task next() {
+            if (next >= count) {
+                throw new NoSuchElementException();
+            }
+            Task task = decode(data.getInt(entries + next * BinaryFormat.INDEX_ENTRY_BYTES));
+            next = skipToStatus(next + 1);
+            return task;
+        }
+        
+        private int skipToStatus(int entry) {
+            while (entry < count && data.get(entries + entry * BinaryFormat.INDEX_ENTRY_BYTES + 4) != status.ordinal()) {
+                entry++;
+            }
+            return entry;
+        }
+    }
+    
+    /**
+     * Compares the UTF-8 id at the start of a record with a key, without decoding it
+     */
+    private int compareIdAt(int offset, byte[] key) {
+        int length = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data.get(offset++) & 0xFF;
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        length--;
+        
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(data.get(offset + i) & 0xFF, key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+}
@@ -0,0 +1,215 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.TaskArchive;
+import taskscheduler.service.TaskManager;
+import taskscheduler.service.TaskPage;
+import taskscheduler.service.TaskSort;
+import taskscheduler.service.TaskStatistics;
+import taskscheduler.util.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * JUnit test cases for lazily decoded, memory-mapped task snapshots
+ */
+public class MappedTaskSnapshotTest {
+    @TempDir
+    Path tempDir;
+    
+    private Path snapshotFile;
+    private List<Task> savedTasks;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        snapshotFile = tempDir.resolve("tasks.bin");
+        TaskManager taskManager = new TaskManager();
+        savedTasks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Task task = new Task("Task " + i, "Description " + i,
+                                 Priority.values()[i % 3], 1.0, "30-10-2025");
+            taskManager.addTask(task);
+            savedTasks.add(task);
+        }
+        for (int i = 0; i < 12; i += 2) {
+            taskManager.markTaskComplete(savedTasks.get(i).getTaskId());
+        }
+        BinaryFormat.writeTasks(snapshotFile, taskManager);
+    }
+    
+    @Test
+    @DisplayName("Test every task can be found through the id index")
+    public void testFindById() throws IOException {
+        MappedTaskSnapshot snapshot = MappedTaskSnapshot.open(snapshotFile);
+        
+        assertEquals(12, snapshot.size());
+        for (Task task : savedTasks) {
+            Task found = snapshot.find(task.getTaskId());
+            assertNotNull(found, "Task " + task.getTaskId() + " should be found");
+            assertEquals(task.getName(), found.getName());
+        }
+        assertNull(snapshot.find("T99999"), "Unknown id should not be found");
+    }
+    
+    @Test
+    @DisplayName("Test lazy TaskManager answers counts and lookups")
+    public void testLazyTaskManager() throws IOException {
+        TaskManager lazy = new TaskManager(MappedTaskSnapshot.open(snapshotFile));
+        
+        assertEquals(6, lazy.getPendingTaskCount());
+        assertEquals(12, lazy.getTaskStatistics().get("total"));
+        assertEquals(6, lazy.getTaskStatistics().get("completed"));
+        
+        String completedId = savedTasks.get(0).getTaskId();
+        assertEquals(TaskStatus.COMPLETED, lazy.getTaskById(completedId).getStatus());
+        assertTrue(lazy.deleteTask(completedId));
+        assertEquals(11, lazy.getTaskStatistics().get("total"));
+    }
+    
+    @Test
+    @DisplayName("Test statistics come from the snapshot counts without decoding it")
+    public void testStatisticsStayLazy() throws IOException {
+        CountingArchive archive = new CountingArchive(MappedTaskSnapshot.open(snapshotFile));
+        TaskManager lazy = new TaskManager(archive);
+        String completedId = savedTasks.get(0).getTaskId();
+        assertTrue(lazy.deleteTask(completedId));
+        
+        TaskStatistics statistics = lazy.getStatistics();
+        assertEquals(0, archive.fullLoads, "Statistics should not decode the archive");
+        assertEquals(11, statistics.getTotal());
+        assertEquals(5, statistics.getCount(TaskStatus.COMPLETED));
+        
+        lazy.getAllTasks();
+        TaskStatistics decoded = lazy.getStatistics();
+        for (Priority priority : Priority.values()) {
+            assertEquals(decoded.getCount(priority), statistics.getCount(priority),
+                        "Counts for " + priority + " should match the decoded tasks");
+        }
+        assertEquals(decoded.getRemainingHours(), statistics.getRemainingHours());
+    }
+    
+    @Test
+    @DisplayName("Test full listing keeps the saved order")
+    public void testGetAllTasksKeepsOrder() throws IOException {
+        TaskManager lazy = new TaskManager(MappedTaskSnapshot.open(snapshotFile));
+        Task decodedEarly = lazy.getTaskById(savedTasks.get(1).getTaskId());
+        
+        List<Task> all = lazy.getAllTasks();
+        assertEquals(12, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(savedTasks.get(i).getTaskId(), all.get(i).getTaskId());
+        }
+        assertSame(decodedEarly, all.get(1), "Already decoded tasks should be reused");
+    }
+    
+    @Test
+    @DisplayName("Test paging follows the snapshot order without decoding it")
+    public void testPagingStaysLazy() throws IOException {
+        TaskManager eager = new TaskManager(MappedTaskSnapshot.open(snapshotFile));
+        eager.getAllTasks();
+        
+        for (TaskSort sort : TaskSort.values()) {
+            for (TaskStatus status : new TaskStatus[] {null, TaskStatus.COMPLETED, TaskStatus.PENDING}) {
+                CountingArchive archive = new CountingArchive(MappedTaskSnapshot.open(snapshotFile));
+                TaskManager lazy = new TaskManager(archive);
+                Task decodedEarly = lazy.getTaskById(savedTasks.get(3).getTaskId());
+                
+                List<String> expected = pageIds(eager, status, sort);
+                List<String> actual = pageIds(lazy, status, sort);
+                assertEquals(expected, actual, "Paging by " + sort + " over " + status + " should match");
+                assertEquals(0, archive.fullLoads, "Paging should not decode the archive");
+                assertSame(decodedEarly, lazy.getTaskById(decodedEarly.getTaskId()));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test saving a lazy TaskManager streams the archive without decoding it into the store")
+    public void testWriteStaysLazy() throws IOException {
+        TaskManager eager = new TaskManager(MappedTaskSnapshot.open(snapshotFile));
+        eager.getAllTasks();
+        CountingArchive archive = new CountingArchive(MappedTaskSnapshot.open(snapshotFile));
+        TaskManager lazy = new TaskManager(archive);
+        Path rewritten = tempDir.resolve("rewritten.bin");
+        
+        BinaryFormat.writeTasks(rewritten, lazy);
+        assertEquals(0, archive.fullLoads, "Saving should not decode the whole archive");
+        lazy.getTaskById(savedTasks.get(0).getTaskId());
+        assertEquals(1, archive.finds, "Saved tasks should still be archived, not kept in the store");
+        
+        MappedTaskSnapshot snapshot = MappedTaskSnapshot.open(rewritten);
+        for (Task task : savedTasks) {
+            assertEquals(task.getName(), snapshot.find(task.getTaskId()).getName());
+        }
+        TaskManager reopened = new TaskManager(snapshot);
+        for (TaskSort sort : TaskSort.values()) {
+            assertEquals(pageIds(eager, null, sort), pageIds(reopened, null, sort),
+                        "Paging by " + sort + " should match after saving");
+        }
+    }
+    
+    private static List<String> pageIds(TaskManager manager, TaskStatus status, TaskSort sort) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage page = manager.getTaskPage(status, sort, cursor, 5);
+            page.getTasks().forEach(task -> ids.add(task.getTaskId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+    
+    /**
+     * Archive wrapper that counts how often every task is decoded
+     */
+    private static class CountingArchive implements TaskArchive {
+        private final TaskArchive archive;
+        int fullLoads;
+        int finds;
+        
+        CountingArchive(TaskArchive archive) {
+            this.archive = archive;
+        }
+        
+        @Override
+        public Task find(String taskId) {
+            finds++;
+            return archive.find(taskId);
+        }
+        
+        @Override
+        public int count(TaskStatus status) {
+            return archive.count(status);
+        }
+        
+        @Override
+        public int count(TaskStatus status, Priority priority) {
+            return archive.count(status, priority);
+        }
+        
+        @Override
+        public Map<Long, Integer> completionsByDay() {
+            return archive.completionsByDay();
+        }
+        
+        @Override
+        public List<Task> loadWithStatus(TaskStatus status) {
+            return archive.loadWithStatus(status);
+        }
+        
+        @Override
+        public Iterator<Task> iterate(TaskStatus status, TaskSort sort, Task after) {
+            return archive.iterate(status, sort, after);
+        }
+        
+        @Override
+        public List<Task> loadAll() {
+            fullLoads++;
+            return archive.loadAll();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package taskscheduler.metrics;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide registry of named counters and operation timers
+ * Instrumented classes look their metrics up once into static fields, so the
+ * hot path only touches a LongAdder or a lock-free histogram. Recording is on
+ * by default and can be switched off with -Dtaskscheduler.metrics=false or
+ * setEnabled(false). With -Dtaskscheduler.metrics.dump=<file> the metrics are
+ * written to that file when the process exits.
+ */
+public final class Metrics {
+    public static final String ENABLED_PROPERTY = "taskscheduler.metrics";
+    public static final String DUMP_PROPERTY = "taskscheduler.metrics.dump";
+    
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, OperationTimer> TIMERS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    
+    private Metrics() {
+    }
+    
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+    
+    public static OperationTimer timer(String name) {
+        return TIMERS.computeIfAbsent(name, OperationTimer::new);
+    }
+    
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+    
+    /**
+     * Returns every metric by name: counters as their value, timers as a latency summary
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        for (Counter counter : COUNTERS.values()) {
+            snapshot.put(counter.getName(), counter.get());
+        }
+        for (OperationTimer timer : TIMERS.values()) {
+            snapshot.put(timer.getName(), timer.getHistogram().toSummary());
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Writes the snapshot as text, one metric per line, replacing the file
+     */
+    public static void dumpTo(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# taskscheduler metrics at " + Instant.now());
+            for (Map.Entry<String, Object> metric : snapshot().entrySet()) {
+                StringBuilder line = new StringBuilder(metric.getKey());
+                if (metric.getValue() instanceof Map) {
+                    for (Map.Entry<?, ?> field : ((Map<?, ?>) metric.getValue()).entrySet()) {
+                        line.append(' ').append(field.getKey()).append('=').append(field.getValue());
+                    }
+                } else {
+                    line.append(" count=").append(metric.getValue());
+                }
+                out.println(line);
+            }
+            if (out.checkError()) {
+                throw new IOException("Could not write " + file);
+            }
+        }
+    }
+    
+    /**
+     * Registers a shutdown hook that dumps the metrics if the dump property names a file
+     */
+    public static void dumpOnExitIfRequested() {
+        String target = System.getProperty(DUMP_PROPERTY);
+        if (target == null || target.isBlank()) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                dumpTo(Paths.get(target));
+            } catch (IOException e) {
+                System.err.println("Error dumping metrics: " + e.getMessage());
+            }
+        }, "metrics-dump"));
+    }
+}
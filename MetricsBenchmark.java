@@ -0,0 +1,66 @@
+package taskscheduler.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import taskscheduler.metrics.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the instrumentation costs, with metrics switched on and off
+ * An empty span is the fixed cost added to each timed operation; generating
+ * a small week shows it against the cheapest real operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MetricsBenchmark {
+    @Param({"true", "false"})
+    public boolean enabled;
+    
+    private OperationTimer timer;
+    private Counter counter;
+    private List<Task> tasks;
+    private List<TimeSlot> weekdaySlots;
+    private List<TimeSlot> weekendSlots;
+    
+    @Setup
+    public void setUp() {
+        Metrics.setEnabled(enabled);
+        timer = Metrics.timer("benchmark.span");
+        counter = Metrics.counter("benchmark.count");
+        tasks = SyntheticData.tasks(20, SyntheticData.DEFAULT_SEED);
+        weekdaySlots = SyntheticData.SlotLayout.SINGLE_BLOCK.weekdaySlots();
+        weekendSlots = SyntheticData.SlotLayout.SINGLE_BLOCK.weekendSlots();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        Metrics.setEnabled(true);
+    }
+    
+    @Benchmark
+    public void emptySpan() {
+        try (OperationTimer.Span span = timer.start()) {
+            span.setItems(1);
+        }
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void counterIncrement() {
+        counter.increment();
+    }
+    
+    @Benchmark
+    public SchedulingEngine generateSmallSchedule() {
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.setQuiet(true);
+        engine.generateSchedule(tasks, weekdaySlots, weekendSlots);
+        return engine;
+    }
+}
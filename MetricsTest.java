@@ -0,0 +1,135 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.metrics.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import taskscheduler.util.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Test cases for the metrics registry, operation timers and their JFR events
+ */
+public class MetricsTest {
+    private Path tempDir;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("metrics-test");
+        Metrics.setEnabled(true);
+    }
+    
+    @AfterEach
+    public void tearDown() throws IOException {
+        Metrics.setEnabled(true);
+        try (var files = Files.walk(tempDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Test
+    @DisplayName("Test counters and timers record only while enabled")
+    public void testEnableSwitch() {
+        Counter counter = Metrics.counter("test.switch.count");
+        OperationTimer timer = Metrics.timer("test.switch.timer");
+        counter.add(3);
+        try (OperationTimer.Span span = timer.start()) {
+            span.setItems(5);
+        }
+        
+        Metrics.setEnabled(false);
+        counter.increment();
+        try (OperationTimer.Span span = timer.start()) {
+            span.setItems(1);
+        }
+        
+        assertSame(counter, Metrics.counter("test.switch.count"), "Names should map to one counter");
+        assertEquals(3, counter.get());
+        assertEquals(1, timer.getHistogram().getCount());
+        Map<String, Object> snapshot = Metrics.snapshot();
+        assertEquals(3L, snapshot.get("test.switch.count"));
+        assertEquals(1L, ((Map<?, ?>) snapshot.get("test.switch.timer")).get("count"));
+    }
+    
+    @Test
+    @DisplayName("Test schedule generation counts placed and unscheduled tasks")
+    public void testSchedulerMetrics() {
+        long placed = Metrics.counter("scheduler.tasksPlaced").get();
+        long unscheduled = Metrics.counter("scheduler.tasksUnscheduled").get();
+        long runs = Metrics.timer("scheduler.generate").getHistogram().getCount();
+        
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.setQuiet(true);
+        engine.setSplittingEnabled(false);
+        List<Task> tasks = List.of(new Task("Fits", "", Priority.HIGH, 1, "30-10-2025"),
+                                   new Task("Too long", "", Priority.LOW, 5, "30-10-2025"));
+        engine.generateSchedule(tasks, List.of(new TimeSlot("09:00", "11:00")), List.of());
+        
+        assertEquals(placed + 1, Metrics.counter("scheduler.tasksPlaced").get());
+        assertEquals(unscheduled + 1, Metrics.counter("scheduler.tasksUnscheduled").get());
+        assertEquals(runs + 1, Metrics.timer("scheduler.generate").getHistogram().getCount());
+    }
+    
+    @Test
+    @DisplayName("Test every failed save counts as a persistence error and exports count apart")
+    public void testErrorCounters() throws IOException {
+        Counter persistenceErrors = Metrics.counter("persistence.errors");
+        Counter exportErrors = Metrics.counter("export.errors");
+        long saveFailures = persistenceErrors.get();
+        long exportFailures = exportErrors.get();
+        FileManager fileManager = new FileManager(tempDir.toString());
+        for (String blocked : List.of("user_schedule.bin", "generated_schedule.bin", "export.txt")) {
+            Files.createFile(Files.createDirectory(tempDir.resolve(blocked)).resolve("keep"));
+        }
+        SchedulingEngine engine = new SchedulingEngine();
+        
+        fileManager.saveUserSchedule(new UserScheduleManager());
+        fileManager.saveSchedule(engine);
+        assertEquals(saveFailures + 2, persistenceErrors.get());
+        
+        fileManager.exportScheduleToText(engine, "export.txt");
+        assertEquals(saveFailures + 2, persistenceErrors.get(), "Exports should not count as persistence errors");
+        assertEquals(exportFailures + 1, exportErrors.get());
+    }
+    
+    @Test
+    @DisplayName("Test metrics dump writes one line per metric")
+    public void testDump() throws IOException {
+        Metrics.counter("test.dump.count").add(7);
+        Metrics.timer("test.dump.timer").record(2_000_000);
+        Path file = tempDir.resolve("metrics.txt");
+        
+        Metrics.dumpTo(file);
+        
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(0).startsWith("#"));
+        assertTrue(lines.contains("test.dump.count count=7"), lines.toString());
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("test.dump.timer count=1 ")
+                                                   && line.contains("maxMicros=2000")), lines.toString());
+    }
+    
+    @Test
+    @DisplayName("Test a JFR recording captures operation events")
+    public void testJfrEvent() throws IOException {
+        Path file = tempDir.resolve("operations.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("taskscheduler.Operation");
+            recording.start();
+            try (OperationTimer.Span span = Metrics.timer("test.jfr.timer").start()) {
+                span.setItems(42);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(event -> event.getString("operation").equals("test.jfr.timer")
+                                                     && event.getLong("items") == 42), events.toString());
+    }
+}
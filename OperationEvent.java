@@ -0,0 +1,20 @@
+package taskscheduler.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event committed for each timed operation while a recording has it enabled
+ */
+@Name("taskscheduler.Operation")
+@Label("Task Scheduler Operation")
+@Category("Task Scheduler")
+@Description("A timed scheduling, persistence or export operation")
+@StackTrace(false)
+final class OperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+    
+    @Label("Items")
+    @Description("Tasks or schedule blocks the operation handled")
+    long items;
+}
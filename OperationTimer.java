@@ -0,0 +1,85 @@
+package taskscheduler.metrics;
+
+/**
+ * Times one kind of operation into a latency histogram and, when JFR is recording, an OperationEvent
+ * Use a span per operation:
+ *   try (OperationTimer.Span span = TIMER.start()) { ... span.setItems(n); }
+ */
+public final class OperationTimer {
+    private static final Span DISABLED = new Span(null);
+    
+    private final String name;
+    private final LatencyHistogram histogram;
+    
+    OperationTimer(String name) {
+        this.name = name;
+        this.histogram = new LatencyHistogram();
+    }
+    
+    /**
+     * Starts timing; while metrics are disabled this returns a shared span that records nothing
+     */
+    public Span start() {
+        return Metrics.isEnabled() ? new Span(this) : DISABLED;
+    }
+    
+    public void record(long nanos) {
+        if (Metrics.isEnabled()) {
+            histogram.record(nanos);
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+    
+    /**
+     * One timed operation, recorded when closed
+     */
+    public static final class Span implements AutoCloseable {
+        private final OperationTimer timer;
+        private final long startNanos;
+        private OperationEvent event;
+        private long items;
+        
+        private Span(OperationTimer timer) {
+            this.timer = timer;
+            this.startNanos = timer == null ? 0 : System.nanoTime();
+            if (timer != null) {
+                OperationEvent candidate = new OperationEvent();
+                if (candidate.isEnabled()) {
+                    candidate.begin();
+                    event = candidate;
+                }
+            }
+        }
+        
+        /**
+         * Sets how many tasks or blocks the operation handled, reported with the JFR event
+         */
+        public Span setItems(long items) {
+            this.items = items;
+            return this;
+        }
+        
+        @Override
+        public void close() {
+            if (timer == null) {
+                return;
+            }
+            timer.histogram.record(System.nanoTime() - startNanos);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = timer.name;
+                    event.items = items;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
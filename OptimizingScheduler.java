@@ -0,0 +1,230 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.util.*;
+
+/**
+ * Branch-and-bound search for the best packing of whole tasks into a week's slots
+ * Each placed task earns its priority weight times the slot time it uses, halved when it
+ * lands after its deadline. The search starts from the greedy schedule and
+ * improves on it until it proves optimality or the time budget runs out, so it
+ * always has a schedule to return.
+ */
+public class OptimizingScheduler {
+    private static final int CHECK_CLOCK_EVERY = 1024;
+    
+    private final SchedulingEngine settings;
+    private final long timeBudgetMillis;
+    
+    public OptimizingScheduler(long timeBudgetMillis) {
+        this(new SchedulingEngine(), timeBudgetMillis);
+    }
+    
+    /**
+     * Creates a solver using the week start and task order of the given engine
+     */
+    public OptimizingScheduler(SchedulingEngine settings, long timeBudgetMillis) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        this.settings = settings;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+    
+    public SolverResult solve(List<Task> tasks, List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+        long begin = System.nanoTime();
+        long deadline = begin + timeBudgetMillis * 1_000_000L;
+        
+        SchedulingEngine greedy = newEngine(weekdaySlots, weekendSlots);
+        greedy.scheduleAdditional(tasks);
+        
+        Search search = new Search(tasks, new SlotCapacityIndex(weekdaySlots, weekendSlots),
+                                   greedy.getWeekStart().toEpochDay());
+        for (int i = 0; i < search.n; i++) {
+            search.best[i] = greedy.slotOf(search.items[i].getTaskId());
+        }
+        search.bestScore = search.score(search.best);
+        long greedyScore = search.bestScore;
+        long upperBound = search.bound(0, search.totalCapacity);
+        boolean complete = search.run(deadline);
+        
+        SchedulingEngine engine = newEngine(weekdaySlots, weekendSlots);
+        List<Task> ordered = new ArrayList<>(tasks);
+        ordered.sort(engine.taskComparator());
+        Map<Task, Integer> slotByTask = new IdentityHashMap<>();
+        for (int i = 0; i < search.n; i++) {
+            slotByTask.put(search.items[i], search.best[i]);
+        }
+        ordered.sort(Comparator.comparingInt(task -> slotByTask.get(task) < 0
+                                                   ? Integer.MAX_VALUE : slotByTask.get(task)));
+        for (Task task : ordered) {
+            int slot = slotByTask.get(task);
+            if (slot < 0 || !engine.placeAt(task, slot)) {
+                engine.addUnscheduledTask(task);
+            }
+        }
+        
+        return new SolverResult(engine, search.bestScore, greedyScore,
+                                complete ? search.bestScore : upperBound, complete,
+                                search.nodes, System.nanoTime() - begin);
+    }
+    
+    private SchedulingEngine newEngine(List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+        SchedulingEngine engine = settings.withSameSettings();
+        engine.setWeekStart(settings.getWeekStart());
+        engine.setSplittingEnabled(false);
+        engine.beginSchedule(weekdaySlots, weekendSlots);
+        return engine;
+    }
+    
+    /**
+     * Depth-first search over items sorted by value per minute
+     * At each depth the item goes into one of the slots with room, or is
+     * left out. A fractional-knapsack relaxation over the remaining capacity
+     * bounds what a branch can still gain.
+     */
+    private static class Search {
+        final int n;
+        final int m;
+        final Task[] items;
+        final int[] footprint;
+        final long[] onTimeValue;
+        final long[] deadlineDay;
+        final int[] remaining;
+        final long[] slotDay;
+        final int[] choice;
+        final int[] best;
+        long bestScore;
+        long nodes;
+        int totalCapacity;
+        
+        Search(List<Task> tasks, SlotCapacityIndex slots, long weekStartDay) {
+            this.n = tasks.size();
+            this.m = slots.slotCount();
+            this.items = tasks.toArray(new Task[0]);
+            Arrays.sort(items, Comparator.comparingDouble(
+                (Task task) -> -(double) valueOf(task) / SchedulingEngine.footprintOf(task))
+                .thenComparing(Comparator.naturalOrder()));
+            
+            this.footprint = new int[n];
+            this.onTimeValue = new long[n];
+            this.deadlineDay = new long[n];
+            for (int i = 0; i < n; i++) {
+                footprint[i] = SchedulingEngine.footprintOf(items[i]);
+                onTimeValue[i] = valueOf(items[i]);
+                deadlineDay[i] = items[i].getDeadlineEpochDay();
+            }
+            this.remaining = new int[m];
+            this.slotDay = new long[m];
+            for (int j = 0; j < m; j++) {
+                remaining[j] = slots.remaining(j);
+                slotDay[j] = weekStartDay + slots.dayOf(j);
+                totalCapacity += remaining[j];
+            }
+            this.choice = new int[n];
+            this.best = new int[n];
+        }
+        
+        /**
+         * Explores the tree until it is exhausted or the deadline passes; true if exhausted
+         */
+        boolean run(long deadlineNanos) {
+            if (n == 0) {
+                return true;
+            }
+            long current = 0;
+            int free = totalCapacity;
+            int depth = 0;
+            choice[0] = -1;
+            
+            while (depth >= 0) {
+                if (++nodes % CHECK_CLOCK_EVERY == 0 && System.nanoTime() > deadlineNanos) {
+                    return false;
+                }
+                int previous = choice[depth];
+                if (previous >= 0 && previous < m) {
+                    remaining[previous] += footprint[depth];
+                    free += footprint[depth];
+                    current -= gain(depth, previous);
+                }
+                int next = nextOption(depth, previous + 1);
+                if (next > m) {
+                    depth--;
+                    continue;
+                }
+                choice[depth] = next;
+                if (next < m) {
+                    remaining[next] -= footprint[depth];
+                    free -= footprint[depth];
+                    current += gain(depth, next);
+                }
+                
+                if (depth == n - 1) {
+                    if (current > bestScore) {
+                        bestScore = current;
+                        for (int i = 0; i < n; i++) {
+                            best[i] = choice[i] < m ? choice[i] : -1;
+                        }
+                    }
+                } else if (current + bound(depth + 1, free) > bestScore) {
+                    depth++;
+                    choice[depth] = -1;
+                }
+            }
+            return true;
+        }
+        
+        /**
+         * Returns the next slot at or after from with room for the item, m to leave it out, or m + 1 when done
+         * Adjacent slots on the same day with the same free time are interchangeable, so only the first is tried
+         */
+        private int nextOption(int depth, int from) {
+            for (int j = from; j < m; j++) {
+                if (remaining[j] < footprint[depth]) {
+                    continue;
+                }
+                if (j > 0 && slotDay[j] == slotDay[j - 1] && remaining[j] == remaining[j - 1]) {
+                    continue;
+                }
+                return j;
+            }
+            return from <= m ? m : m + 1;
+        }
+        
+        private long gain(int item, int slot) {
+            return slotDay[slot] <= deadlineDay[item] ? onTimeValue[item] : onTimeValue[item] / 2;
+        }
+        
+        /**
+         * Fractional-knapsack bound on what items from depth onwards can still add
+         */
+        long bound(int depth, int free) {
+            long total = 0;
+            for (int i = depth; i < n && free > 0; i++) {
+                if (footprint[i] <= free) {
+                    total += onTimeValue[i];
+                    free -= footprint[i];
+                } else {
+                    total += onTimeValue[i] * free / footprint[i];
+                    free = 0;
+                }
+            }
+            return total;
+        }
+        
+        long score(int[] assignment) {
+            long total = 0;
+            for (int i = 0; i < n; i++) {
+                if (assignment[i] >= 0) {
+                    total += gain(i, assignment[i]);
+                }
+            }
+            return total;
+        }
+        
+        private static long valueOf(Task task) {
+            int weight = Priority.values().length + 1 - task.getPriority().getValue();
+            return 2L * weight * SchedulingEngine.footprintOf(task);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * JUnit test cases for OptimizingScheduler class
+ */
+public class OptimizingSchedulerTest {
+    private SchedulingEngine settings;
+    
+    @BeforeEach
+    public void setUp() {
+        settings = new SchedulingEngine();
+        settings.setWeekStart(LocalDate.of(2025, 10, 6));
+    }
+    
+    @Test
+    @DisplayName("Test solver finds a packing that greedy first-fit misses")
+    public void testBeatsGreedy() {
+        List<TimeSlot> weekendSlots = List.of(new TimeSlot("10:00", "11:40"));
+        List<Task> tasks = List.of(
+            new Task("Short A", "High", Priority.HIGH, 25.0 / 60, "30-10-2025"),
+            new Task("Short B", "High", Priority.HIGH, 25.0 / 60, "30-10-2025"),
+            new Task("Long A", "Low", Priority.LOW, 0.75, "30-10-2025"),
+            new Task("Long B", "Low", Priority.LOW, 0.75, "30-10-2025"));
+        
+        SolverResult result = new OptimizingScheduler(settings, 1000)
+            .solve(tasks, new ArrayList<>(), weekendSlots);
+        
+        assertTrue(result.isOptimal(), "A four-task instance should be solved exactly");
+        assertTrue(result.getSchedule().getUnscheduledTasks().isEmpty(), "Every task should fit");
+        assertTrue(result.getObjective() > result.getGreedyObjective());
+        assertTrue(result.getImprovementOverGreedy() > 0);
+        assertEquals(0.0, result.getOptimalityGap(), 1e-9);
+        assertEquals(2, result.getSchedule().getSchedule().get("Saturday").size());
+    }
+    
+    @Test
+    @DisplayName("Test solver returns its best schedule when the time budget runs out")
+    public void testTimeBudget() {
+        List<Task> tasks = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            tasks.add(new Task("Task " + i, "Load", Priority.values()[random.nextInt(3)],
+                               0.25 * (1 + random.nextInt(10)), "09-10-2025"));
+        }
+        List<TimeSlot> weekdaySlots = List.of(new TimeSlot("09:00", "12:00"), new TimeSlot("14:00", "17:30"));
+        
+        long start = System.nanoTime();
+        SolverResult result = new OptimizingScheduler(settings, 50)
+            .solve(tasks, weekdaySlots, new ArrayList<>());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertTrue(elapsedMillis < 2000, "Search should stop near its budget");
+        assertTrue(result.getObjective() >= result.getGreedyObjective(), "Never worse than greedy");
+        assertTrue(result.getUpperBound() >= result.getObjective());
+        int placed = 0;
+        for (List<ScheduledTask> day : result.getSchedule().getSchedule().values()) {
+            placed += day.size();
+        }
+        assertEquals(tasks.size(), placed + result.getSchedule().getUnscheduledTasks().size());
+    }
+}
@@ -0,0 +1,104 @@
+package taskscheduler.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import taskscheduler.service.*;
+import taskscheduler.util.AsyncPersistence;
+import taskscheduler.util.FileManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks FileManager save/load round-trips and the text export
+ * Files go to a temporary directory that is removed after the trial.
+ * saveAllSequential and saveAllParallel compare the blocking saves with
+ * AsyncPersistence; markDirty is what a change costs the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PersistenceBenchmark {
+    @Param({"1000", "50000"})
+    public int taskCount;
+    
+    private Path dataDir;
+    private FileManager fileManager;
+    private TaskManager taskManager;
+    private SchedulingEngine schedulingEngine;
+    private UserScheduleManager scheduleManager;
+    private AsyncPersistence persistence;
+    
+    @Setup
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("taskscheduler-bench");
+        fileManager = new FileManager(dataDir.toString());
+        taskManager = SyntheticData.taskManager(taskCount, 0.3, SyntheticData.DEFAULT_SEED);
+        
+        SyntheticData.SlotLayout layout = SyntheticData.SlotLayout.MORNING_AFTERNOON;
+        schedulingEngine = new SchedulingEngine();
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            schedulingEngine.generateSchedule(taskManager.getPendingTasks(),
+                                              layout.weekdaySlots(), layout.weekendSlots());
+        } finally {
+            System.setOut(console);
+        }
+        scheduleManager = new UserScheduleManager();
+        scheduleManager.setWeekdaySchedule(layout.weekdaySlots());
+        scheduleManager.setWeekendSchedule(layout.weekendSlots());
+        persistence = new AsyncPersistence(fileManager, new ReentrantLock(), scheduleManager,
+                                           taskManager, schedulingEngine);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        persistence.close();
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public TaskManager saveAndLoadTasks() {
+        fileManager.saveTasks(taskManager);
+        return fileManager.loadTasks();
+    }
+    
+    @Benchmark
+    public SchedulingEngine saveAndLoadSchedule() {
+        fileManager.saveSchedule(schedulingEngine);
+        return fileManager.loadSchedule();
+    }
+    
+    @Benchmark
+    public void saveAllSequential() {
+        fileManager.saveUserSchedule(scheduleManager);
+        fileManager.saveTasks(taskManager);
+        fileManager.saveSchedule(schedulingEngine);
+    }
+    
+    @Benchmark
+    public void saveAllParallel() {
+        persistence.saveAll().join();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void markDirty() {
+        persistence.markDirty(AsyncPersistence.Store.TASKS);
+    }
+    
+    @Benchmark
+    public void exportScheduleToText() {
+        fileManager.exportScheduleToText(schedulingEngine, "export.txt");
+    }
+}
@@ -0,0 +1,9 @@
+package taskscheduler.service;
+
+/**
+ * How SchedulingEngine picks a slot for each task
+ */
+public enum PlacementStrategy {
+    FIRST_FIT,
+    BEST_FIT
+}
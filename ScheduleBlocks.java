@@ -0,0 +1,51 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read-only view of one week's scheduled blocks, addressed by index
+ * Blocks are numbered in time order; those of day d (Monday = 0) run from
+ * dayStart(d) to dayStart(d + 1). CompactSchedule implements it over its
+ * arrays and SchedulingEngine.blocks() over the engine's own day lists, so
+ * exporters read either one without copying it into the other.
+ */
+public interface ScheduleBlocks {
+    LocalDate getWeekStart();
+    
+    int size();
+    
+    /**
+     * Index of the first block on a day; call it before reading blocks by index
+     */
+    int dayStart(int day);
+    
+    Task getTask(int block);
+    
+    int getDayOrdinal(int block);
+    
+    /**
+     * Minutes from midnight of the block's day
+     */
+    int getStartMinute(int block);
+    
+    int getEndMinute(int block);
+    
+    /**
+     * The part number of a split task's block, or 0 if the task is not split
+     */
+    int getSplitPart(int block);
+    
+    boolean isLate(int block);
+    
+    List<Task> getUnscheduledTasks();
+    
+    /**
+     * Appends the start time as HH:MM
+     */
+    void appendStartTime(int block, Appendable out) throws IOException;
+    
+    void appendEndTime(int block, Appendable out) throws IOException;
+}
@@ -0,0 +1,72 @@
+package taskscheduler.util;
+
+import taskscheduler.service.ScheduleBlocks;
+import taskscheduler.service.SchedulingEngine;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a generated schedule to a stream in one export format
+ * Exporters walk ScheduleBlocks by index and write each block as it is
+ * visited, formatting times straight into the writer, so neither the output
+ * nor a copy of the schedule is built up in memory. They do not flush or
+ * close the writer.
+ */
+public interface ScheduleExporter {
+    /**
+     * Supported export formats with their file extension and media type
+     */
+    enum Format {
+        TEXT("txt", "text/plain; charset=utf-8", new TextScheduleExporter()),
+        CSV("csv", "text/csv; charset=utf-8", new CsvScheduleExporter()),
+        ICS("ics", "text/calendar; charset=utf-8", new ICalendarScheduleExporter()),
+        JSON("json", "application/json; charset=utf-8", new JsonScheduleExporter());
+        
+        private final String extension;
+        private final String contentType;
+        private final ScheduleExporter exporter;
+        
+        Format(String extension, String contentType, ScheduleExporter exporter) {
+            this.extension = extension;
+            this.contentType = contentType;
+            this.exporter = exporter;
+        }
+        
+        public String getExtension() { return extension; }
+        public String getContentType() { return contentType; }
+        public ScheduleExporter getExporter() { return exporter; }
+        
+        /**
+         * Looks a format up by name or file extension, e.g. "ics" or "CSV"
+         */
+        public static Format of(String nameOrExtension) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(nameOrExtension)
+                        || format.extension.equalsIgnoreCase(nameOrExtension)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + nameOrExtension);
+        }
+        
+        /**
+         * Picks the format from a file name's extension
+         */
+        public static Format forFile(String filename) {
+            int dot = filename.lastIndexOf('.');
+            if (dot < 0) {
+                throw new IllegalArgumentException("Export file needs an extension: " + filename);
+            }
+            return of(filename.substring(dot + 1));
+        }
+    }
+    
+    void export(ScheduleBlocks schedule, Writer out) throws IOException;
+    
+    /**
+     * Exports an engine's schedule straight from its own lists
+     */
+    default void export(SchedulingEngine schedulingEngine, Writer out) throws IOException {
+        export(schedulingEngine.blocks(), out);
+    }
+}
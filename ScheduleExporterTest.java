@@ -0,0 +1,112 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.CompactSchedule;
+import taskscheduler.service.SchedulingEngine;
+import taskscheduler.util.Json;
+import taskscheduler.util.ScheduleExporter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Test cases for the text, CSV, iCalendar and JSON schedule exporters
+ */
+public class ScheduleExporterTest {
+    private SchedulingEngine engine;
+    private Task report;
+    private Task review;
+    
+    @BeforeEach
+    public void setUp() {
+        engine = new SchedulingEngine();
+        engine.setWeekStart(LocalDate.of(2025, 10, 6));
+        report = new Task("Report, \"final\"", "Long write-up; " + "x".repeat(120), Priority.HIGH, 2.5, "10-10-2025");
+        review = new Task("Review", "Check", Priority.LOW, 1.0, "12-10-2025");
+        engine.addScheduledTask(new ScheduledTask(report, "Monday", "09:00", "11:00", 1));
+        engine.addScheduledTask(new ScheduledTask(report, "Tuesday", "09:00", "09:30", 2));
+        engine.addUnscheduledTask(review);
+    }
+    
+    @Test
+    @DisplayName("Test CSV export quotes fields and dates each row")
+    public void testCsvExport() throws IOException {
+        String[] rows = export(ScheduleExporter.Format.CSV).split("\r\n");
+        assertEquals(3, rows.length, "Header plus one row per scheduled block");
+        assertEquals("day,date,start,end,taskId,name,priority,part,deadline", rows[0]);
+        assertEquals("Tuesday,2025-10-07,09:00,09:30," + report.getTaskId()
+                   + ",\"Report, \"\"final\"\"\",HIGH,2,10-10-2025", rows[2]);
+    }
+    
+    @Test
+    @DisplayName("Test iCalendar export folds long lines and escapes text")
+    public void testICalendarExport() throws IOException {
+        String ics = export(ScheduleExporter.Format.ICS);
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertEquals(2, ics.split("BEGIN:VEVENT", -1).length - 1);
+        assertTrue(ics.contains("DTSTART:20251007T090000\r\n"), "Tuesday of the week starting 6 Oct");
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, "Line too long: " + line);
+        }
+        String unfolded = ics.replace("\r\n ", "");
+        assertTrue(unfolded.contains("SUMMARY:Report\\, \"final\" (Part 1)"));
+        assertTrue(unfolded.contains("DESCRIPTION:Long write-up\\; " + "x".repeat(120) + "\\nPriority: HIGH"));
+    }
+    
+    @Test
+    @DisplayName("Test JSON export parses back to the schedule")
+    public void testJsonExport() throws IOException {
+        Map<String, Object> json = Json.parseObject(export(ScheduleExporter.Format.JSON));
+        assertEquals("2025-10-06", json.get("weekStart"));
+        Map<?, ?> days = (Map<?, ?>) json.get("days");
+        assertEquals(7, days.size());
+        Map<?, ?> monday = (Map<?, ?>) ((List<?>) days.get("Monday")).get(0);
+        assertEquals(report.getName(), monday.get("name"));
+        assertEquals(1.0, monday.get("part"));
+        assertEquals(List.of(review.getTaskId()), json.get("unscheduled"));
+    }
+    
+    @Test
+    @DisplayName("Test text export keeps the day-by-day layout")
+    public void testTextExport() throws IOException {
+        String text = export(ScheduleExporter.Format.TEXT);
+        assertTrue(text.contains(">>> MONDAY <<<"));
+        assertTrue(text.contains("  [09:00 - 11:00] Report, \"final\" (Part 1) - Priority: HIGH"));
+        assertTrue(text.contains("  No tasks scheduled for this day."));
+        assertTrue(text.contains("  [" + review.getTaskId() + "] Review - Priority: LOW - Duration: 1.0h"));
+        assertEquals(ScheduleExporter.Format.ICS, ScheduleExporter.Format.forFile("week.ics"));
+    }
+    
+    @Test
+    @DisplayName("Test the engine exports the same blocks as its packed copy without packing")
+    public void testEngineBlocksMatchCompactSchedule() throws IOException {
+        SchedulingEngine generated = new SchedulingEngine();
+        generated.setQuiet(true);
+        generated.setWeekStart(LocalDate.of(2025, 10, 6));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tasks.add(new Task("Task " + i, "", Priority.values()[i % 3], 1.5 + i % 2, "06-10-2025"));
+        }
+        generated.generateSchedule(tasks, List.of(new TimeSlot("09:00", "12:00")), List.of());
+        assertFalse(generated.getLateTasks().isEmpty(), "Some blocks should be late");
+        
+        for (ScheduleExporter.Format format : List.of(ScheduleExporter.Format.CSV, ScheduleExporter.Format.JSON)) {
+            StringWriter direct = new StringWriter();
+            format.getExporter().export(generated, direct);
+            StringWriter packed = new StringWriter();
+            format.getExporter().export(CompactSchedule.of(generated), packed);
+            assertEquals(packed.toString(), direct.toString(), format + " export should not depend on the source");
+        }
+    }
+    
+    private String export(ScheduleExporter.Format format) throws IOException {
+        StringWriter out = new StringWriter();
+        format.getExporter().export(engine, out);
+        return out.toString();
+    }
+}
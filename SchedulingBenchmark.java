@@ -0,0 +1,88 @@
+package taskscheduler.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks single-week and multi-week schedule generation
+ * Run with -prof gc to compare gc.alloc.rate.norm between the engine and the
+ * compiled path. generateCompiledReused gets its tasks already in scheduling
+ * order and refills one CompactSchedule, so its allocation per operation
+ * should stay flat as taskCount grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SchedulingBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int taskCount;
+    
+    @Param({"SINGLE_BLOCK", "MORNING_AFTERNOON", "FRAGMENTED"})
+    public SyntheticData.SlotLayout layout;
+    
+    private List<Task> tasks;
+    private List<TimeSlot> weekdaySlots;
+    private List<TimeSlot> weekendSlots;
+    private List<Task> sortedTasks;
+    private CompiledScheduler compiledScheduler;
+    private CompactSchedule reusedSchedule;
+    private PrintStream console;
+    
+    @Setup
+    public void setUp() {
+        tasks = SyntheticData.tasks(taskCount, SyntheticData.DEFAULT_SEED);
+        weekdaySlots = layout.weekdaySlots();
+        weekendSlots = layout.weekendSlots();
+        sortedTasks = new ArrayList<>(tasks);
+        Collections.sort(sortedTasks);
+        compiledScheduler = new SchedulingEngine().compile(weekdaySlots, weekendSlots);
+        reusedSchedule = compiledScheduler.schedule(sortedTasks);
+        // Unscheduled-task warnings would otherwise turn this into a console benchmark
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        System.setOut(console);
+    }
+    
+    @Benchmark
+    public SchedulingEngine generateSchedule() {
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.generateSchedule(tasks, weekdaySlots, weekendSlots);
+        return engine;
+    }
+    
+    @Benchmark
+    public CompactSchedule generateCompiled() {
+        return compiledScheduler.schedule(tasks);
+    }
+    
+    @Benchmark
+    public CompactSchedule generateCompiledReused() {
+        compiledScheduler.schedule(sortedTasks, reusedSchedule);
+        return reusedSchedule;
+    }
+    
+    @Benchmark
+    public HorizonSchedule generateHorizonSequential() {
+        return new HorizonScheduler(new SchedulingEngine(), 1)
+            .schedule(tasks, weekdaySlots, weekendSlots, LocalDate.of(2025, 10, 6), 8);
+    }
+    
+    @Benchmark
+    public HorizonSchedule generateHorizonParallel() {
+        return new HorizonScheduler()
+            .schedule(tasks, weekdaySlots, weekendSlots, LocalDate.of(2025, 10, 6), 8);
+    }
+}
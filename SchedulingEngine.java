@@ -1,26 +1,77 @@
-package taskscheduler.test;
+package taskscheduler.service;
 
+import taskscheduler.metrics.*;
 import taskscheduler.model.*;
-import java.io.Serializable;
+import java.io.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Core scheduling engine that allocates tasks to time slots
- * Ensures optimal spacing to avoid cramming
+ * Ensures optimal spacing to avoid cramming.
+ * After a week has been generated, the engine can be kept up to date one
+ * change at a time through onTaskAdded, onTaskCompleted and onTaskRemoved,
+ * or by registering it as a TaskChangeListener.
+ * Change listeners run on the mutating thread after each change to the schedule.
  */
-public class SchedulingEngine implements Serializable {
+public class SchedulingEngine implements Serializable, TaskChangeListener {
     private static final long serialVersionUID = 1L;
-    private static final double BUFFER_TIME = 0.25;
+    static final int BUFFER_MINUTES = 15;
+    private static final int DEFAULT_MIN_CHUNK_MINUTES = 30;
+    
+    private static final OperationTimer GENERATE_TIMER = Metrics.timer("scheduler.generate");
+    private static final Counter TASKS_PLACED = Metrics.counter("scheduler.tasksPlaced");
+    private static final Counter TASKS_UNSCHEDULED = Metrics.counter("scheduler.tasksUnscheduled");
+    private static final Counter INFEASIBLE_WEEKS = Metrics.counter("scheduler.infeasibleWeeks");
+    
+    private static final Comparator<Task> EDF_ORDER =
+        Comparator.comparingLong(Task::getDeadlineEpochDay).thenComparing(Comparator.naturalOrder());
+    private static final Comparator<Task> WEIGHTED_ORDER =
+        Comparator.comparingDouble(SchedulingEngine::weightPerHour).reversed().thenComparing(EDF_ORDER);
     
     private Map<String, List<ScheduledTask>> schedule;
+    private List<Task> unscheduledTasks;
+    private PlacementStrategy placementStrategy;
+    private boolean splittingEnabled;
+    private int minChunkMinutes;
+    private SchedulingMode schedulingMode;
+    private LocalDate weekStart;
+    private List<ScheduledTask> lateTasks;
+    private transient SlotCapacityIndex capacity;
+    private transient List<TimeSlot> weekdaySlots;
+    private transient List<TimeSlot> weekendSlots;
+    private transient List<List<ScheduledTask>> slotContents;
+    private transient Map<String, List<Integer>> slotsByTask;
+    private transient long weekStartDay;
+    private transient FeasibilityReport lastFeasibility;
+    private transient int[] scheduledMinutes;
+    private transient boolean quiet;
+    private transient List<Runnable> changeListeners;
     private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", 
                                          "Thursday", "Friday", "Saturday", "Sunday"};
     
     public SchedulingEngine() {
         this.schedule = new LinkedHashMap<>();
+        this.unscheduledTasks = new ArrayList<>();
+        this.placementStrategy = PlacementStrategy.FIRST_FIT;
+        this.splittingEnabled = true;
+        this.minChunkMinutes = DEFAULT_MIN_CHUNK_MINUTES;
+        this.schedulingMode = SchedulingMode.PRIORITY;
+        this.changeListeners = new CopyOnWriteArrayList<>();
         initializeSchedule();
     }
     
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+    
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+    
     /**
      * Initializes empty schedule for all days
      */
@@ -28,103 +79,552 @@ public class SchedulingEngine implements Serializable {
         for (String day : DAYS) {
             schedule.put(day, new ArrayList<>());
         }
+        unscheduledTasks = new ArrayList<>();
+        lateTasks = new ArrayList<>();
+        scheduledMinutes = new int[DAYS.length];
     }
     
     /**
      * Generates optimized schedule for given tasks
+     * Each task goes to a slot found through the capacity index, so time
+     * left over in a slot stays available to later, shorter tasks.
+     * A task that fits no single slot is split across slots when splitting is enabled.
+     * In the deadline-aware modes an infeasible week fails before any placement
      */
     public boolean generateSchedule(List<Task> tasks, 
                                    List<TimeSlot> weekdaySlots, 
                                    List<TimeSlot> weekendSlots) {
+        try (OperationTimer.Span span = GENERATE_TIMER.start()) {
+            span.setItems(tasks.size());
+            boolean complete = generate(tasks, weekdaySlots, weekendSlots);
+            TASKS_PLACED.add(tasks.size() - unscheduledTasks.size());
+            TASKS_UNSCHEDULED.add(unscheduledTasks.size());
+            fireChanged();
+            return complete;
+        }
+    }
+    
+    private boolean generate(List<Task> tasks, List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+        openWeek(weekdaySlots, weekendSlots);
+        if (schedulingMode != SchedulingMode.PRIORITY) {
+            FeasibilityReport report = checkFeasibility(tasks, weekdaySlots, weekendSlots);
+            lastFeasibility = report;
+            if (!report.isFeasible()) {
+                warn("Deadlines cannot all be met: " + report);
+                INFEASIBLE_WEEKS.increment();
+                unscheduledTasks.addAll(tasks);
+                return false;
+            }
+        }
+        for (Task task : placeTasks(tasks)) {
+            warn("Could not schedule task: " + task.getName());
+            unscheduledTasks.add(task);
+        }
+        return unscheduledTasks.isEmpty();
+    }
+    
+    /**
+     * Compiles the slots once for generating many weeks with these settings into CompactSchedules
+     * See CompiledScheduler; later changes to this engine's settings do not affect it.
+     */
+    public CompiledScheduler compile(List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+        return new CompiledScheduler(this, weekdaySlots, weekendSlots);
+    }
+    
+    /**
+     * Clears the schedule and opens a fresh week of the given slots for scheduleAdditional
+     */
+    public void beginSchedule(List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+        openWeek(weekdaySlots, weekendSlots);
+        fireChanged();
+    }
+    
+    private void openWeek(List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
         initializeSchedule();
+        capacity = new SlotCapacityIndex(weekdaySlots, weekendSlots);
+        this.weekdaySlots = weekdaySlots;
+        this.weekendSlots = weekendSlots;
+        slotContents = new ArrayList<>(capacity.slotCount());
+        for (int slot = 0; slot < capacity.slotCount(); slot++) {
+            slotContents.add(new ArrayList<>());
+        }
+        slotsByTask = new HashMap<>();
+        weekStartDay = getWeekStart().toEpochDay();
+    }
+    
+    /**
+     * Places a newly added pending task into the free time of the current week
+     * Only the slot it lands in changes; if nothing has room, or the week would
+     * no longer meet its deadlines, it joins the unscheduled list
+     */
+    @Override
+    public void onTaskAdded(Task task) {
+        if (capacity == null || task.getStatus() != TaskStatus.PENDING
+                || slotsByTask.containsKey(task.getTaskId())) {
+            return;
+        }
+        unscheduledTasks.addAll(placeFeasible(List.of(task)));
+        fireChanged();
+    }
+    
+    /**
+     * Frees the time of a completed task, like onTaskRemoved
+     */
+    public void onTaskCompleted(String taskId) {
+        onTaskRemoved(taskId);
+    }
+    
+    /**
+     * Takes a task out of the schedule and repairs only the slots it occupied
+     * Later tasks in those slots move up to close the gap, and the freed time
+     * is offered to unscheduled tasks under the same deadline check as generateSchedule
+     */
+    public void onTaskRemoved(String taskId) {
+        removeTask(taskId);
+        fireChanged();
+    }
+    
+    private void removeTask(String taskId) {
+        boolean waiting = unscheduledTasks.removeIf(t -> t.getTaskId().equals(taskId));
+        lateTasks.removeIf(st -> st.getTask().getTaskId().equals(taskId));
+        if (capacity == null) {
+            for (List<ScheduledTask> dayTasks : schedule.values()) {
+                for (Iterator<ScheduledTask> it = dayTasks.iterator(); it.hasNext();) {
+                    ScheduledTask scheduled = it.next();
+                    if (scheduled.getTask().getTaskId().equals(taskId)) {
+                        countScheduled(scheduled, -1);
+                        it.remove();
+                    }
+                }
+            }
+            return;
+        }
         
-        Queue<Task> taskQueue = new PriorityQueue<>(tasks);
+        List<Integer> slots = slotsByTask.remove(taskId);
+        if (slots == null && !waiting) {
+            return;
+        }
+        if (slots != null) {
+            for (int slot : slots) {
+                releaseFromSlot(slot, taskId);
+            }
+        }
+        if (!unscheduledTasks.isEmpty()) {
+            unscheduledTasks = placeFeasible(unscheduledTasks);
+        }
+    }
+    
+    @Override
+    public void onTaskStatusChanged(Task task, TaskStatus previousStatus) {
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            onTaskCompleted(task.getTaskId());
+        } else if (task.getStatus() == TaskStatus.PENDING && previousStatus == TaskStatus.COMPLETED) {
+            onTaskAdded(task);
+        }
+    }
+    
+    @Override
+    public void onTaskDeleted(Task task) {
+        onTaskRemoved(task.getTaskId());
+    }
+    
+    /**
+     * Removes a task's part from a slot and shifts the slot's later tasks into the gap
+     */
+    private void releaseFromSlot(int slot, String taskId) {
+        List<ScheduledTask> contents = slotContents.get(slot);
+        int freed = 0;
+        for (int i = 0; i < contents.size(); i++) {
+            ScheduledTask current = contents.get(i);
+            if (current.getTask().getTaskId().equals(taskId)) {
+                freed += parseTime(current.getEndTime()) - parseTime(current.getStartTime())
+                       + BUFFER_MINUTES;
+                schedule.get(current.getDay()).remove(current);
+                countScheduled(current, -1);
+                contents.remove(i--);
+            } else if (freed > 0) {
+                ScheduledTask moved = shiftEarlier(current, freed);
+                contents.set(i, moved);
+                // Moving within its own slot keeps the task's position among the day's tasks
+                List<ScheduledTask> dayTasks = schedule.get(current.getDay());
+                dayTasks.set(dayTasks.indexOf(current), moved);
+                int late = lateTasks.indexOf(current);
+                if (late >= 0) {
+                    lateTasks.set(late, moved);
+                }
+            }
+        }
+        capacity.release(slot, freed);
+    }
+    
+    private ScheduledTask shiftEarlier(ScheduledTask scheduled, int minutes) {
+        String start = formatTime(parseTime(scheduled.getStartTime()) - minutes);
+        String end = formatTime(parseTime(scheduled.getEndTime()) - minutes);
+        return scheduled.isSplit()
+               ? new ScheduledTask(scheduled.getTask(), scheduled.getDay(), start, end,
+                                   scheduled.getSplitPart())
+               : new ScheduledTask(scheduled.getTask(), scheduled.getDay(), start, end);
+    }
+    
+    /**
+     * Checks that, for every deadline inside the week, the work due by then fits the slot time up to that day
+     * This is a necessary condition only: it ignores how tasks pack into slots.
+     * Tasks already overdue are left out, since no placement can meet them,
+     * and so are tasks due after the week. Runs in O(n log n). Only
+     * generateSchedule records the result for getLastFeasibility.
+     */
+    public FeasibilityReport checkFeasibility(List<Task> tasks, List<TimeSlot> weekdaySlots,
+                                              List<TimeSlot> weekendSlots) {
+        long firstDay = getWeekStart().toEpochDay();
+        long lastDay = firstDay + DAYS.length - 1;
+        int[] cumulative = SlotCapacityIndex.minutesPerDay(weekdaySlots, weekendSlots);
+        for (int day = 1; day < cumulative.length; day++) {
+            cumulative[day] += cumulative[day - 1];
+        }
+        
+        List<Task> dueThisWeek = new ArrayList<>();
+        for (Task task : tasks) {
+            long deadline = task.getDeadlineEpochDay();
+            if (deadline >= firstDay && deadline <= lastDay) {
+                dueThisWeek.add(task);
+            }
+        }
+        dueThisWeek.sort(EDF_ORDER);
         
-        int dayIndex = 0;
-        int slotIndex = 0;
-        double currentSlotTimeUsed = 0;
+        int demand = 0;
+        for (Task task : dueThisWeek) {
+            demand += toMinutes(task.getDurationHours()) + BUFFER_MINUTES;
+            int available = cumulative[(int) (task.getDeadlineEpochDay() - firstDay)];
+            if (demand > available) {
+                return new FeasibilityReport(false, task, demand - available);
+            }
+        }
+        return new FeasibilityReport(true, null, 0);
+    }
+    
+    /**
+     * Places tasks into the time still free in the current week
+     * Returns the tasks that did not fit, without recording them as unscheduled
+     */
+    public List<Task> scheduleAdditional(Collection<Task> tasks) {
+        if (capacity == null) {
+            throw new IllegalStateException("No week has been started for scheduling");
+        }
+        List<Task> unplaced = placeTasks(tasks);
+        fireChanged();
+        return unplaced;
+    }
+    
+    /**
+     * Places tasks into the current week, first applying generate's deadline check in the
+     * deadline-aware modes: if the week's placed and waiting tasks together with these
+     * cannot all meet their deadlines, none of these is placed
+     * Returns the tasks that were not placed.
+     */
+    private List<Task> placeFeasible(Collection<Task> tasks) {
+        if (schedulingMode != SchedulingMode.PRIORITY
+                && !checkFeasibility(weekTasks(tasks), weekdaySlots, weekendSlots).isFeasible()) {
+            return new ArrayList<>(tasks);
+        }
+        return placeTasks(tasks);
+    }
+    
+    /**
+     * Every task placed in or waiting for the current week, plus the given ones, each once
+     */
+    private List<Task> weekTasks(Collection<Task> tasks) {
+        Map<String, Task> week = new LinkedHashMap<>();
+        for (List<ScheduledTask> contents : slotContents) {
+            for (ScheduledTask scheduled : contents) {
+                week.putIfAbsent(scheduled.getTask().getTaskId(), scheduled.getTask());
+            }
+        }
+        for (Task task : unscheduledTasks) {
+            week.putIfAbsent(task.getTaskId(), task);
+        }
+        for (Task task : tasks) {
+            week.putIfAbsent(task.getTaskId(), task);
+        }
+        return new ArrayList<>(week.values());
+    }
+    
+    private List<Task> placeTasks(Collection<Task> tasks) {
+        List<Task> unplaced = new ArrayList<>();
+        Queue<Task> taskQueue = new PriorityQueue<>(Math.max(1, tasks.size()), taskOrder());
+        taskQueue.addAll(tasks);
         
         while (!taskQueue.isEmpty()) {
             Task task = taskQueue.poll();
-            double taskDuration = task.getDurationHours() + BUFFER_TIME;
-            
-            boolean scheduled = false;
-            int attempts = 0;
+            int taskMinutes = toMinutes(task.getDurationHours());
+            int footprint = taskMinutes + BUFFER_MINUTES;
             
-            while (!scheduled && attempts < 14) {
-                String currentDay = DAYS[dayIndex % 7];
-                List<TimeSlot> availableSlots = isWeekend(currentDay) ? 
-                                                weekendSlots : weekdaySlots;
-                
-                if (availableSlots.isEmpty()) {
-                    dayIndex++;
-                    attempts++;
-                    slotIndex = 0;
-                    currentSlotTimeUsed = 0;
-                    continue;
-                }
-                
-                if (slotIndex >= availableSlots.size()) {
-                    dayIndex++;
-                    attempts++;
-                    slotIndex = 0;
-                    currentSlotTimeUsed = 0;
-                    continue;
-                }
-                
-                TimeSlot currentSlot = availableSlots.get(slotIndex);
-                double remainingSlotTime = currentSlot.getDurationHours() - currentSlotTimeUsed;
-                
-                if (taskDuration <= remainingSlotTime) {
-                    String startTime = calculateTime(currentSlot.getStartHour(), 
-                                                    currentSlot.getStartMinute(), 
-                                                    currentSlotTimeUsed);
-                    String endTime = calculateTime(currentSlot.getStartHour(), 
-                                                  currentSlot.getStartMinute(), 
-                                                  currentSlotTimeUsed + task.getDurationHours());
-                    
-                    ScheduledTask st = new ScheduledTask(task, currentDay, startTime, endTime);
-                    schedule.get(currentDay).add(st);
-                    
-                    currentSlotTimeUsed += taskDuration;
-                    scheduled = true;
-                } else {
-                    slotIndex++;
-                    currentSlotTimeUsed = 0;
-                    
-                    if (slotIndex >= availableSlots.size()) {
-                        dayIndex++;
-                        slotIndex = 0;
-                    }
-                }
-                
-                attempts++;
+            int slot = placementStrategy == PlacementStrategy.BEST_FIT
+                       ? capacity.bestFit(footprint)
+                       : capacity.firstFit(footprint);
+            if (slot < 0 && splittingEnabled && placeSplit(task, taskMinutes)) {
+                continue;
+            }
+            if (slot < 0) {
+                unplaced.add(task);
+                continue;
             }
             
-            if (!scheduled) {
-                System.out.println("Warning: Could not schedule task: " + task.getName());
-                return false;
+            checkDeadline(place(task, slot, taskMinutes, 0), capacity.dayOf(slot));
+        }
+        return unplaced;
+    }
+    
+    /**
+     * Takes time at the end of a slot's used space and records the placement
+     * in the day list, the slot's contents and the task's slot list
+     */
+    private ScheduledTask place(Task task, int slot, int minutes, int splitPart) {
+        int start = capacity.allocate(slot, minutes + BUFFER_MINUTES);
+        String day = DAYS[capacity.dayOf(slot)];
+        ScheduledTask placed = splitPart == 0
+            ? new ScheduledTask(task, day, formatTime(start), formatTime(start + minutes))
+            : new ScheduledTask(task, day, formatTime(start), formatTime(start + minutes), splitPart);
+        
+        List<ScheduledTask> dayTasks = schedule.get(day);
+        int low = 0;
+        int high = dayTasks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dayTasks.get(mid).getStartTime().compareTo(placed.getStartTime()) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
+        dayTasks.add(low, placed);
+        scheduledMinutes[capacity.dayOf(slot)] += minutes;
+        slotContents.get(slot).add(placed);
+        slotsByTask.computeIfAbsent(task.getTaskId(), id -> new ArrayList<>(1)).add(slot);
+        return placed;
+    }
+    
+    /**
+     * Places a task as numbered parts in the next slots with room for a minimum chunk
+     * The parts are planned before any capacity is taken, so a task that
+     * cannot be completed leaves the index untouched
+     */
+    private boolean placeSplit(Task task, int taskMinutes) {
+        int minFootprint = minChunkMinutes + BUFFER_MINUTES;
+        List<int[]> chunks = new ArrayList<>();
+        int left = taskMinutes;
+        int slot = capacity.firstFitFrom(0, minFootprint);
         
+        while (left > 0 && slot >= 0) {
+            int take = Math.min(capacity.remaining(slot) - BUFFER_MINUTES, left);
+            if (left - take > 0 && left - take < minChunkMinutes) {
+                take = left - minChunkMinutes;
+            }
+            if (take >= minChunkMinutes) {
+                chunks.add(new int[]{slot, take});
+                left -= take;
+            }
+            slot = capacity.firstFitFrom(slot + 1, minFootprint);
+        }
+        if (left > 0) {
+            return false;
+        }
+        
+        int part = 1;
+        ScheduledTask lastPart = null;
+        for (int[] chunk : chunks) {
+            lastPart = place(task, chunk[0], chunk[1], part++);
+        }
+        checkDeadline(lastPart, capacity.dayOf(chunks.get(chunks.size() - 1)[0]));
         return true;
     }
     
     /**
-     * Calculates time string after adding hours
+     * Records a placement that finishes on a later date than the task's deadline
+     */
+    private void checkDeadline(ScheduledTask placed, int dayOfWeek) {
+        Task task = placed.getTask();
+        if (task.hasDeadline() && weekStartDay + dayOfWeek > task.getDeadlineEpochDay()) {
+            lateTasks.add(placed);
+        }
+    }
+    
+    private Comparator<Task> taskOrder() {
+        switch (schedulingMode) {
+            case EARLIEST_DEADLINE_FIRST:
+                return EDF_ORDER;
+            case WEIGHTED:
+                return WEIGHTED_ORDER;
+            default:
+                return Comparator.naturalOrder();
+        }
+    }
+    
+    /**
+     * Priority weight per hour of work, so short important tasks go first (Smith's rule)
+     */
+    private static double weightPerHour(Task task) {
+        int weight = Priority.values().length + 1 - task.getPriority().getValue();
+        return weight / Math.max(task.getDurationHours(), 1.0 / 60);
+    }
+    
+    public PlacementStrategy getPlacementStrategy() {
+        return placementStrategy;
+    }
+    
+    public void setPlacementStrategy(PlacementStrategy placementStrategy) {
+        this.placementStrategy = placementStrategy;
+    }
+    
+    /**
+     * Creates an empty engine with the same placement and splitting settings
+     */
+    SchedulingEngine withSameSettings() {
+        SchedulingEngine copy = new SchedulingEngine();
+        copy.placementStrategy = placementStrategy;
+        copy.splittingEnabled = splittingEnabled;
+        copy.minChunkMinutes = minChunkMinutes;
+        copy.schedulingMode = schedulingMode;
+        copy.weekStart = weekStart;
+        return copy;
+    }
+    
+    /**
+     * Places a whole task into the given slot of the current week, if it has room
+     */
+    boolean placeAt(Task task, int slot) {
+        int taskMinutes = toMinutes(task.getDurationHours());
+        if (capacity.remaining(slot) < taskMinutes + BUFFER_MINUTES) {
+            return false;
+        }
+        checkDeadline(place(task, slot, taskMinutes, 0), capacity.dayOf(slot));
+        return true;
+    }
+    
+    /**
+     * Returns the first slot holding the task in the current week, or -1
+     */
+    int slotOf(String taskId) {
+        List<Integer> slots = slotsByTask == null ? null : slotsByTask.get(taskId);
+        return slots == null ? -1 : slots.get(0);
+    }
+    
+    /**
+     * Returns the minutes a task takes in a slot, including the buffer after it
+     */
+    static int footprintOf(Task task) {
+        return toMinutes(task.getDurationHours()) + BUFFER_MINUTES;
+    }
+    
+    /**
+     * Returns the order tasks are considered in under the current scheduling mode
+     */
+    Comparator<Task> taskComparator() {
+        return taskOrder();
+    }
+    
+    /**
+     * Silences the console warnings printed during generation, for server use
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+    
+    private void warn(String message) {
+        if (!quiet) {
+            System.out.println("Warning: " + message);
+        }
+    }
+    
+    public SchedulingMode getSchedulingMode() {
+        return schedulingMode;
+    }
+    
+    public void setSchedulingMode(SchedulingMode schedulingMode) {
+        this.schedulingMode = schedulingMode;
+    }
+    
+    /**
+     * Returns the Monday the schedule's days fall on, defaulting to the current week
+     */
+    public LocalDate getWeekStart() {
+        if (weekStart != null) {
+            return weekStart;
+        }
+        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+    
+    public void setWeekStart(LocalDate weekStart) {
+        this.weekStart = weekStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        weekStartDay = this.weekStart.toEpochDay();
+    }
+    
+    /**
+     * Returns placements that land after their task's deadline; for split tasks, the last part
      */
-    private String calculateTime(int startHour, int startMinute, double hoursToAdd) {
-        int totalMinutes = (int)(hoursToAdd * 60);
-        int hour = startHour + (startMinute + totalMinutes) / 60;
-        int minute = (startMinute + totalMinutes) % 60;
-        return String.format("%02d:%02d", hour, minute);
+    public List<ScheduledTask> getLateTasks() {
+        return new ArrayList<>(lateTasks);
     }
     
     /**
-     * Checks if a day is weekend
+     * Read-only view of the late placements, for exporters that only iterate them
      */
-    private boolean isWeekend(String day) {
-        return day.equals("Saturday") || day.equals("Sunday");
+    public List<ScheduledTask> getLateTasksView() {
+        return Collections.unmodifiableList(lateTasks);
+    }
+    
+    /**
+     * Returns the result of generateSchedule's last feasibility check, or null if none has run
+     * Incremental additions check feasibility too but leave this unchanged.
+     */
+    public FeasibilityReport getLastFeasibility() {
+        return lastFeasibility;
+    }
+    
+    public boolean isSplittingEnabled() {
+        return splittingEnabled;
+    }
+    
+    public void setSplittingEnabled(boolean splittingEnabled) {
+        this.splittingEnabled = splittingEnabled;
+    }
+    
+    public int getMinChunkMinutes() {
+        return minChunkMinutes;
+    }
+    
+    /**
+     * Sets the shortest part a split task may be cut into
+     */
+    public void setMinChunkMinutes(int minChunkMinutes) {
+        if (minChunkMinutes <= 0) {
+            throw new IllegalArgumentException("Minimum chunk must be positive");
+        }
+        this.minChunkMinutes = minChunkMinutes;
+    }
+    
+    /**
+     * Converts hours to whole minutes
+     */
+    private static int toMinutes(double hours) {
+        return (int) Math.round(hours * 60);
+    }
+    
+    /**
+     * Parses HH:MM to a minute of the day
+     */
+    private int parseTime(String time) {
+        int colon = time.indexOf(':');
+        return Integer.parseInt(time.substring(0, colon)) * 60 + Integer.parseInt(time.substring(colon + 1));
+    }
+    
+    /**
+     * Formats a minute of the day as HH:MM
+     */
+    private String formatTime(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        return new String(new char[]{(char) ('0' + hour / 10), (char) ('0' + hour % 10), ':',
+                                     (char) ('0' + minute / 10), (char) ('0' + minute % 10)});
     }
     
     /**
@@ -135,18 +635,221 @@ public class SchedulingEngine implements Serializable {
     }
     
     /**
-     * Removes a task from the schedule
+     * Returns a read-only view of the schedule by day, without copying any placements
+     * The view reflects later changes, so callers must not hold it across schedule updates.
      */
-    public void removeTaskFromSchedule(String taskId) {
-        for (List<ScheduledTask> dayTasks : schedule.values()) {
-            dayTasks.removeIf(st -> st.getTask().getTaskId().equals(taskId));
+    public Map<String, List<ScheduledTask>> getScheduleView() {
+        Map<String, List<ScheduledTask>> view = new LinkedHashMap<>();
+        for (Map.Entry<String, List<ScheduledTask>> day : schedule.entrySet()) {
+            view.put(day.getKey(), Collections.unmodifiableList(day.getValue()));
+        }
+        return Collections.unmodifiableMap(view);
+    }
+    
+    /**
+     * Returns tasks that could not be placed by the last generation
+     */
+    public List<Task> getUnscheduledTasks() {
+        return new ArrayList<>(unscheduledTasks);
+    }
+    
+    /**
+     * Read-only view of the unscheduled tasks, for exporters that only iterate them
+     */
+    public List<Task> getUnscheduledTasksView() {
+        return Collections.unmodifiableList(unscheduledTasks);
+    }
+    
+    /**
+     * Returns a read-only block view of the current schedule, for exporting it without a copy
+     * The view holds the engine's day lists, so take a new one after the schedule changes.
+     */
+    public ScheduleBlocks blocks() {
+        return new Blocks();
+    }
+    
+    /**
+     * Addresses the day lists, which are kept in time order, as one run of blocks
+     */
+    private final class Blocks implements ScheduleBlocks {
+        private final List<List<ScheduledTask>> days = new ArrayList<>(DAYS.length);
+        private final int[] offsets = new int[DAYS.length + 1];
+        private Set<ScheduledTask> late;
+        
+        Blocks() {
+            for (int day = 0; day < DAYS.length; day++) {
+                List<ScheduledTask> dayTasks = schedule.getOrDefault(DAYS[day], Collections.emptyList());
+                days.add(dayTasks);
+                offsets[day + 1] = offsets[day] + dayTasks.size();
+            }
+        }
+        
+        @Override
+        public LocalDate getWeekStart() {
+            return SchedulingEngine.this.getWeekStart();
+        }
+        
+        @Override
+        public int size() {
+            return offsets[DAYS.length];
+        }
+        
+        @Override
+        public int dayStart(int day) {
+            return offsets[day];
+        }
+        
+        @Override
+        public Task getTask(int block) {
+            return at(block).getTask();
+        }
+        
+        @Override
+        public int getDayOrdinal(int block) {
+            checkIndex(block);
+            int day = 0;
+            while (offsets[day + 1] <= block) {
+                day++;
+            }
+            return day;
+        }
+        
+        @Override
+        public int getStartMinute(int block) {
+            return CompactSchedule.minuteOfDay(at(block).getStartTime());
+        }
+        
+        @Override
+        public int getEndMinute(int block) {
+            return CompactSchedule.minuteOfDay(at(block).getEndTime());
+        }
+        
+        @Override
+        public int getSplitPart(int block) {
+            ScheduledTask scheduled = at(block);
+            return scheduled.isSplit() ? scheduled.getSplitPart() : 0;
+        }
+        
+        @Override
+        public boolean isLate(int block) {
+            if (late == null) {
+                late = Collections.newSetFromMap(new IdentityHashMap<>());
+                late.addAll(lateTasks);
+            }
+            return late.contains(at(block));
+        }
+        
+        @Override
+        public List<Task> getUnscheduledTasks() {
+            return Collections.unmodifiableList(unscheduledTasks);
+        }
+        
+        @Override
+        public void appendStartTime(int block, Appendable out) throws IOException {
+            out.append(at(block).getStartTime());
+        }
+        
+        @Override
+        public void appendEndTime(int block, Appendable out) throws IOException {
+            out.append(at(block).getEndTime());
+        }
+        
+        private ScheduledTask at(int block) {
+            int day = getDayOrdinal(block);
+            return days.get(day).get(block - offsets[day]);
+        }
+        
+        private void checkIndex(int block) {
+            if (block < 0 || block >= size()) {
+                throw new IndexOutOfBoundsException("Block " + block + " of " + size());
+            }
         }
     }
     
+    /**
+     * Adds an already placed task to its day, used when restoring a saved schedule
+     */
+    public void addScheduledTask(ScheduledTask scheduledTask) {
+        schedule.computeIfAbsent(scheduledTask.getDay(), d -> new ArrayList<>()).add(scheduledTask);
+        countScheduled(scheduledTask, 1);
+        fireChanged();
+    }
+    
+    /**
+     * Returns the hours of work placed on each day, Monday first, from running per-day totals
+     */
+    public Map<String, Double> getScheduledHoursByDay() {
+        Map<String, Double> hours = new LinkedHashMap<>();
+        for (int day = 0; day < DAYS.length; day++) {
+            hours.put(DAYS[day], scheduledMinutes[day] / 60.0);
+        }
+        return hours;
+    }
+    
+    private void countScheduled(ScheduledTask scheduled, int sign) {
+        for (int day = 0; day < DAYS.length; day++) {
+            if (DAYS[day].equals(scheduled.getDay())) {
+                scheduledMinutes[day] += sign * (parseTime(scheduled.getEndTime())
+                                                 - parseTime(scheduled.getStartTime()));
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Records a task as unscheduled, used when restoring a saved schedule
+     */
+    public void addUnscheduledTask(Task task) {
+        unscheduledTasks.add(task);
+        fireChanged();
+    }
+    
+    /**
+     * Removes a task from the schedule, closing the gap when the week is still live
+     */
+    public void removeTaskFromSchedule(String taskId) {
+        onTaskRemoved(taskId);
+    }
+    
     /**
      * Clears the entire schedule
      */
     public void clearSchedule() {
         initializeSchedule();
+        capacity = null;
+        fireChanged();
+    }
+    
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+    
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (unscheduledTasks == null) {
+            unscheduledTasks = new ArrayList<>();
+        }
+        if (placementStrategy == null) {
+            placementStrategy = PlacementStrategy.FIRST_FIT;
+        }
+        if (lateTasks == null) {
+            lateTasks = new ArrayList<>();
+        }
+        changeListeners = new CopyOnWriteArrayList<>();
+        scheduledMinutes = new int[DAYS.length];
+        for (List<ScheduledTask> dayTasks : schedule.values()) {
+            for (ScheduledTask scheduled : dayTasks) {
+                countScheduled(scheduled, 1);
+            }
+        }
+        if (schedulingMode == null) {
+            schedulingMode = SchedulingMode.PRIORITY;
+        }
+        if (minChunkMinutes == 0) {
+            splittingEnabled = true;
+            minChunkMinutes = DEFAULT_MIN_CHUNK_MINUTES;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * JUnit test cases for SchedulingEngine class
+ */
+public class SchedulingEngineTest {
+    private SchedulingEngine engine;
+    private List<TimeSlot> weekdaySlots;
+    private List<TimeSlot> weekendSlots;
+    
+    @BeforeEach
+    public void setUp() {
+        engine = new SchedulingEngine();
+        weekdaySlots = new ArrayList<>();
+        weekdaySlots.add(new TimeSlot("09:00", "12:00"));
+        weekendSlots = new ArrayList<>();
+    }
+    
+    @Test
+    @DisplayName("Test leftover slot time is reused by shorter tasks")
+    public void testLeftoverCapacityIsReused() {
+        Task longTask = new Task("Long", "First", Priority.HIGH, 2.0, "30-10-2025");
+        Task longerTask = new Task("Longer", "Second", Priority.MEDIUM, 2.5, "30-10-2025");
+        Task shortTask = new Task("Short", "Third", Priority.LOW, 0.5, "30-10-2025");
+        
+        assertTrue(engine.generateSchedule(List.of(longTask, longerTask, shortTask),
+                                           weekdaySlots, weekendSlots));
+        
+        List<ScheduledTask> monday = engine.getSchedule().get("Monday");
+        assertEquals(2, monday.size(), "Short task should fill Monday's leftover time");
+        assertEquals("11:15", monday.get(1).getStartTime());
+        assertEquals("11:45", monday.get(1).getEndTime());
+        assertEquals(1, engine.getSchedule().get("Tuesday").size());
+    }
+    
+    @Test
+    @DisplayName("Test tasks beyond weekly capacity are reported as unscheduled")
+    public void testOverflowIsUnscheduled() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(new Task("Task " + i, "Hourly", Priority.MEDIUM, 1.0, "30-10-2025"));
+        }
+        
+        assertFalse(engine.generateSchedule(tasks, weekdaySlots, weekendSlots));
+        assertEquals(10, engine.getUnscheduledTasks().size(),
+                    "Two tasks fit per weekday, so ten should be left over");
+        assertTrue(engine.getSchedule().get("Saturday").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Test best-fit placement prefers the tightest slot")
+    public void testBestFitPlacement() {
+        weekdaySlots.add(new TimeSlot("14:00", "15:30"));
+        engine.setPlacementStrategy(PlacementStrategy.BEST_FIT);
+        Task task = new Task("Fits small slot", "Best fit", Priority.HIGH, 1.0, "30-10-2025");
+        
+        assertTrue(engine.generateSchedule(List.of(task), weekdaySlots, weekendSlots));
+        assertEquals("14:00", engine.getSchedule().get("Monday").get(0).getStartTime());
+    }
+    
+    @Test
+    @DisplayName("Test long task is split into numbered parts across days")
+    public void testTaskSplitting() {
+        Task longTask = new Task("Long", "Split", Priority.HIGH, 5.0, "30-10-2025");
+        
+        assertTrue(engine.generateSchedule(List.of(longTask), weekdaySlots, weekendSlots));
+        
+        ScheduledTask first = engine.getSchedule().get("Monday").get(0);
+        ScheduledTask second = engine.getSchedule().get("Tuesday").get(0);
+        assertTrue(first.isSplit() && second.isSplit(), "Both pieces should be split parts");
+        assertEquals(1, first.getSplitPart());
+        assertEquals(2, second.getSplitPart());
+        assertEquals("11:45", first.getEndTime());
+        assertEquals("11:15", second.getEndTime());
+        
+        engine.setSplittingEnabled(false);
+        assertFalse(engine.generateSchedule(List.of(longTask), weekdaySlots, weekendSlots));
+    }
+    
+    @Test
+    @DisplayName("Test split parts respect the minimum chunk size")
+    public void testMinimumChunkSize() {
+        Task filler = new Task("Filler", "Leaves a short gap", Priority.HIGH, 2.0 + 5.0 / 60, "30-10-2025");
+        Task longTask = new Task("Long", "Split", Priority.LOW, 4.0, "30-10-2025");
+        engine.setMinChunkMinutes(60);
+        
+        assertTrue(engine.generateSchedule(List.of(filler, longTask), weekdaySlots, weekendSlots));
+        
+        assertEquals(1, engine.getSchedule().get("Monday").size(),
+                    "A 25 minute gap is below the minimum chunk and should stay unused");
+        for (List<ScheduledTask> day : engine.getSchedule().values()) {
+            for (ScheduledTask part : day) {
+                if (part.isSplit()) {
+                    assertTrue(toMinutes(part.getEndTime()) - toMinutes(part.getStartTime()) >= 60);
+                }
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Test earliest-deadline-first avoids the late placement priority order makes")
+    public void testEarliestDeadlineFirst() {
+        Task dueMonday = new Task("Due Monday", "Low but urgent", Priority.LOW, 2.5, "06-10-2025");
+        Task dueFriday = new Task("Due Friday", "High but relaxed", Priority.HIGH, 2.5, "10-10-2025");
+        engine.setWeekStart(LocalDate.of(2025, 10, 6));
+        
+        engine.generateSchedule(List.of(dueMonday, dueFriday), weekdaySlots, weekendSlots);
+        assertEquals(1, engine.getLateTasks().size(), "Priority order should push the Monday task late");
+        assertEquals(dueMonday, engine.getLateTasks().get(0).getTask());
+        
+        engine.setSchedulingMode(SchedulingMode.EARLIEST_DEADLINE_FIRST);
+        assertTrue(engine.generateSchedule(List.of(dueMonday, dueFriday), weekdaySlots, weekendSlots));
+        assertEquals(dueMonday, engine.getSchedule().get("Monday").get(0).getTask());
+        assertTrue(engine.getLateTasks().isEmpty(), "No task should be late under EDF");
+    }
+    
+    @Test
+    @DisplayName("Test infeasible deadlines fail before any placement")
+    public void testFeasibilityCheck() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new Task("Task " + i, "All due Monday", Priority.MEDIUM, 2.5, "06-10-2025"));
+        }
+        engine.setWeekStart(LocalDate.of(2025, 10, 6));
+        engine.setSchedulingMode(SchedulingMode.EARLIEST_DEADLINE_FIRST);
+        
+        assertFalse(engine.generateSchedule(tasks, weekdaySlots, weekendSlots));
+        FeasibilityReport report = engine.getLastFeasibility();
+        assertFalse(report.isFeasible());
+        assertEquals(2 * 165 - 180, report.getShortfallMinutes(),
+                    "The second task due Monday is the first one that cannot fit");
+        assertEquals(LocalDate.of(2025, 10, 6), report.getMissedDeadline());
+        assertEquals(3, engine.getUnscheduledTasks().size());
+        assertTrue(engine.getSchedule().get("Monday").isEmpty(), "Nothing should be placed");
+    }
+    
+    @Test
+    @DisplayName("Test removing a task compacts its slot and backfills unscheduled work")
+    public void testIncrementalRemoval() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tasks.add(new Task("Task " + i, "Hourly", Priority.MEDIUM, 1.0, "30-10-2025"));
+        }
+        assertFalse(engine.generateSchedule(tasks, weekdaySlots, weekendSlots));
+        Task waiting = engine.getUnscheduledTasks().get(0);
+        ScheduledTask first = engine.getSchedule().get("Monday").get(0);
+        
+        engine.onTaskRemoved(first.getTask().getTaskId());
+        
+        List<ScheduledTask> monday = engine.getSchedule().get("Monday");
+        assertEquals("09:00", monday.get(0).getStartTime(), "Later task should move into the gap");
+        assertEquals(waiting, monday.get(1).getTask(), "Freed time should go to the waiting task");
+        assertEquals("10:15", monday.get(1).getStartTime());
+        assertTrue(engine.getUnscheduledTasks().isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Test incremental changes keep the deadline check of an infeasible week")
+    public void testIncrementalFeasibility() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new Task("Task " + i, "All due Monday", Priority.MEDIUM, 2.5, "06-10-2025"));
+        }
+        engine.setQuiet(true);
+        engine.setWeekStart(LocalDate.of(2025, 10, 6));
+        engine.setSchedulingMode(SchedulingMode.EARLIEST_DEADLINE_FIRST);
+        assertFalse(engine.generateSchedule(tasks, weekdaySlots, weekendSlots));
+        FeasibilityReport generated = engine.getLastFeasibility();
+        
+        engine.onTaskRemoved(tasks.get(0).getTaskId());
+        Task added = new Task("Added", "Due Friday", Priority.HIGH, 1.0, "10-10-2025");
+        engine.onTaskAdded(added);
+        assertEquals(3, engine.getUnscheduledTasks().size(), "Two tasks due Monday still cannot both fit");
+        assertTrue(engine.getSchedule().values().stream().allMatch(List::isEmpty), "Nothing should be placed");
+        
+        engine.onTaskRemoved(tasks.get(1).getTaskId());
+        assertTrue(engine.getUnscheduledTasks().isEmpty(), "The week is feasible again");
+        assertEquals(tasks.get(2), engine.getSchedule().get("Monday").get(0).getTask());
+        assertTrue(engine.getLateTasks().isEmpty());
+        assertSame(generated, engine.getLastFeasibility(), "Incremental checks should not replace generate's report");
+    }
+    
+    @Test
+    @DisplayName("Test engine follows TaskManager changes as a listener")
+    public void testIncrementalListener() {
+        TaskManager taskManager = new TaskManager();
+        Task first = new Task("First", "Monday", Priority.HIGH, 2.0, "30-10-2025");
+        taskManager.addTask(first);
+        engine.generateSchedule(taskManager.getPendingTasks(), weekdaySlots, weekendSlots);
+        taskManager.addChangeListener(engine);
+        
+        Task added = new Task("Added", "Fits after first", Priority.LOW, 0.5, "30-10-2025");
+        taskManager.addTask(added);
+        assertEquals("11:15", engine.getSchedule().get("Monday").get(1).getStartTime());
+        
+        taskManager.markTaskComplete(first.getTaskId());
+        List<ScheduledTask> monday = engine.getSchedule().get("Monday");
+        assertEquals(1, monday.size(), "Completed task should leave the schedule");
+        assertEquals(added, monday.get(0).getTask());
+        assertEquals("09:00", monday.get(0).getStartTime());
+    }
+    
+    private int toMinutes(String time) {
+        String[] parts = time.split(":");
+        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+    }
+}
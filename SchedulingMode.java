@@ -0,0 +1,13 @@
+package taskscheduler.service;
+
+/**
+ * Order in which SchedulingEngine considers tasks
+ */
+public enum SchedulingMode {
+    /** Priority first, then earliest deadline */
+    PRIORITY,
+    /** Earliest deadline first, then priority */
+    EARLIEST_DEADLINE_FIRST,
+    /** Highest priority weight per hour of work first, then earliest deadline */
+    WEIGHTED
+}
@@ -0,0 +1,182 @@
+package taskscheduler.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Serves many users' schedules from one process
+ * Workspaces are loaded on first use and kept by user id. Work for one user
+ * runs under that user's lock, so different users proceed in parallel while
+ * each user's changes stay serialized. Schedule generation and saving run on
+ * a fixed-size pool with a bounded queue; when the queue is full the caller
+ * runs the work itself, which slows producers down instead of piling up tasks.
+ * A workspace is loaded by the first caller to ask for it, outside the map's
+ * locks; callers arriving meanwhile wait for that load instead of starting
+ * their own.
+ */
+public class SchedulingService implements AutoCloseable {
+    private static final Pattern USER_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    
+    private final WorkspaceStore store;
+    private final ConcurrentMap<String, CompletableFuture<UserWorkspace>> workspaces;
+    private final ThreadPoolExecutor executor;
+    
+    public SchedulingService(WorkspaceStore store) {
+        this(store, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+    
+    public SchedulingService(WorkspaceStore store, int threads, int queueCapacity) {
+        this.store = store;
+        this.workspaces = new ConcurrentHashMap<>();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               new SchedulerThreadFactory(),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    /**
+     * Runs an action against a user's workspace while holding that user's lock
+     * A workspace evicted while this call waited for its lock is fetched again,
+     * so the action never changes a copy that has already been saved and dropped.
+     */
+    public <T> T withWorkspace(String userId, Function<UserWorkspace, T> action) {
+        while (true) {
+            UserWorkspace workspace = workspace(userId);
+            workspace.lock().lock();
+            try {
+                if (!workspace.isEvicted()) {
+                    return action.apply(workspace);
+                }
+            } finally {
+                workspace.lock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Generates a user's schedule from their pending tasks on the worker pool
+     */
+    public CompletableFuture<Boolean> generateSchedule(String userId) {
+        return CompletableFuture.supplyAsync(() -> withWorkspace(userId, workspace ->
+            workspace.getSchedulingEngine().generateSchedule(
+                workspace.getTaskManager().getPendingTasks(),
+                workspace.getScheduleManager().getWeekdaySchedule(),
+                workspace.getScheduleManager().getWeekendSchedule())), executor);
+    }
+    
+    /**
+     * Persists one user's workspace on the worker pool
+     */
+    public CompletableFuture<Void> save(String userId) {
+        return CompletableFuture.runAsync(() -> withWorkspace(userId, workspace -> {
+            try {
+                store.save(workspace);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }), executor);
+    }
+    
+    /**
+     * Persists every loaded workspace, each user independently
+     */
+    public CompletableFuture<Void> saveAll() {
+        List<CompletableFuture<Void>> saves = new ArrayList<>();
+        for (String userId : workspaces.keySet()) {
+            saves.add(save(userId));
+        }
+        return CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    /**
+     * Saves a user's workspace and drops it from memory, meant for users who have gone idle
+     */
+    public CompletableFuture<Void> evict(String userId) {
+        return CompletableFuture.runAsync(() -> {
+            CompletableFuture<UserWorkspace> loaded = workspaces.get(userId);
+            if (loaded == null) {
+                return;
+            }
+            UserWorkspace workspace = await(loaded);
+            workspace.lock().lock();
+            try {
+                if (workspace.isEvicted()) {
+                    return;
+                }
+                store.save(workspace);
+                workspace.markEvicted();
+                workspaces.remove(userId, loaded);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                workspace.lock().unlock();
+            }
+        }, executor);
+    }
+    
+    public int getLoadedUserCount() {
+        return workspaces.size();
+    }
+    
+    /**
+     * Saves all users, then stops the worker pool
+     */
+    @Override
+    public void close() {
+        try {
+            saveAll().join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private UserWorkspace workspace(String userId) {
+        if (userId == null || !USER_ID.matcher(userId).matches()) {
+            throw new IllegalArgumentException("Invalid user id: " + userId);
+        }
+        CompletableFuture<UserWorkspace> loaded = workspaces.get(userId);
+        if (loaded == null) {
+            CompletableFuture<UserWorkspace> loading = new CompletableFuture<>();
+            loaded = workspaces.putIfAbsent(userId, loading);
+            if (loaded == null) {
+                loaded = loading;
+                try {
+                    loading.complete(store.load(userId));
+                } catch (IOException | RuntimeException e) {
+                    workspaces.remove(userId, loading);
+                    loading.completeExceptionally(e instanceof IOException
+                                                  ? new UncheckedIOException((IOException) e) : e);
+                }
+            }
+        }
+        return await(loaded);
+    }
+    
+    private static UserWorkspace await(CompletableFuture<UserWorkspace> loaded) {
+        try {
+            return loaded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private static class SchedulerThreadFactory implements ThreadFactory {
+        private int next = 1;
+        
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "scheduling-service-" + next++);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import taskscheduler.util.FileWorkspaceStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Isolation, persistence and load tests for SchedulingService
+ */
+public class SchedulingServiceTest {
+    private static final int USERS = 2000;
+    private static final int TASKS_PER_USER = 10;
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    @DisplayName("Test thousands of users generate schedules concurrently without sharing state")
+    public void testConcurrentUsers() {
+        Map<String, UserWorkspace> saved = new ConcurrentHashMap<>();
+        WorkspaceStore memoryStore = new WorkspaceStore() {
+            @Override
+            public UserWorkspace load(String userId) {
+                return new UserWorkspace(userId);
+            }
+            
+            @Override
+            public void save(UserWorkspace workspace) {
+                saved.put(workspace.getUserId(), workspace);
+            }
+        };
+        
+        try (SchedulingService service = new SchedulingService(memoryStore, 8, 256)) {
+            for (int u = 0; u < USERS; u++) {
+                String userId = "user" + u;
+                service.withWorkspace(userId, workspace -> {
+                    workspace.getScheduleManager().setWeekdaySchedule(
+                        List.of(new TimeSlot("09:00", "12:00"), new TimeSlot("14:00", "18:00")));
+                    for (int i = 0; i < TASKS_PER_USER; i++) {
+                        workspace.getTaskManager().addTask(new Task(userId + "-" + i, "Load test",
+                            Priority.values()[i % 3], 0.5 + (i % 4) * 0.5, "30-10-2025"));
+                    }
+                    return null;
+                });
+            }
+            
+            long start = System.nanoTime();
+            List<CompletableFuture<Boolean>> runs = new ArrayList<>();
+            for (int u = 0; u < USERS; u++) {
+                runs.add(service.generateSchedule("user" + u));
+            }
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0])).join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Generated %d user schedules in %.2fs (%.0f users/s)%n",
+                            USERS, seconds, USERS / seconds);
+            
+            for (int u = 0; u < USERS; u += 97) {
+                String userId = "user" + u;
+                int placed = service.withWorkspace(userId, workspace -> {
+                    int count = 0;
+                    for (List<ScheduledTask> day : workspace.getSchedulingEngine().getSchedule().values()) {
+                        for (ScheduledTask st : day) {
+                            assertTrue(st.getTask().getName().startsWith(userId + "-"),
+                                      "A schedule should only hold its own user's tasks");
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+                assertEquals(TASKS_PER_USER, placed);
+            }
+        }
+        assertEquals(USERS, saved.size(), "Closing the service should save every user");
+    }
+    
+    @Test
+    @DisplayName("Test each user is persisted and reloaded independently")
+    public void testPerUserPersistence() {
+        try (SchedulingService service = new SchedulingService(new FileWorkspaceStore(tempDir))) {
+            service.withWorkspace("alice", workspace -> {
+                workspace.getScheduleManager().setWeekdaySchedule(List.of(new TimeSlot("09:00", "12:00")));
+                workspace.getTaskManager().addTask(
+                    new Task("Alice task", "Persisted", Priority.HIGH, 1.0, "30-10-2025"));
+                return null;
+            });
+            assertTrue(service.generateSchedule("alice").join());
+        }
+        
+        try (SchedulingService service = new SchedulingService(new FileWorkspaceStore(tempDir))) {
+            int aliceTasks = service.withWorkspace("alice", w -> w.getTaskManager().getAllTasks().size());
+            int aliceScheduled = service.withWorkspace("alice",
+                w -> w.getSchedulingEngine().getSchedule().get("Monday").size());
+            int bobTasks = service.withWorkspace("bob", w -> w.getTaskManager().getAllTasks().size());
+            assertEquals(1, aliceTasks);
+            assertEquals(1, aliceScheduled);
+            assertEquals(0, bobTasks, "A new user should start empty");
+        }
+    }
+    
+    @Test
+    @DisplayName("Test changes made while a user is being evicted still reach the store")
+    public void testEvictionKeepsConcurrentChanges() throws Exception {
+        Map<String, List<Task>> disk = new ConcurrentHashMap<>();
+        WorkspaceStore memoryStore = new WorkspaceStore() {
+            @Override
+            public UserWorkspace load(String userId) {
+                UserWorkspace workspace = new UserWorkspace(userId);
+                for (Task task : disk.getOrDefault(userId, List.of())) {
+                    workspace.getTaskManager().addTask(task);
+                }
+                return workspace;
+            }
+            
+            @Override
+            public void save(UserWorkspace workspace) {
+                disk.put(workspace.getUserId(), new ArrayList<>(workspace.getTaskManager().getAllTasks()));
+            }
+        };
+        int writers = 4;
+        int tasksPerWriter = 300;
+        
+        try (SchedulingService service = new SchedulingService(memoryStore, 4, 64)) {
+            ExecutorService pool = Executors.newFixedThreadPool(writers);
+            List<Future<?>> adds = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                adds.add(pool.submit(() -> {
+                    for (int i = 0; i < tasksPerWriter; i++) {
+                        service.withWorkspace("carol", workspace -> {
+                            workspace.getTaskManager().addTask(new Task("Task", "", Priority.LOW, 1.0, "30-10-2025"));
+                            return null;
+                        });
+                    }
+                }));
+            }
+            while (adds.stream().anyMatch(add -> !add.isDone())) {
+                service.evict("carol").join();
+            }
+            for (Future<?> add : adds) {
+                add.get();
+            }
+            pool.shutdown();
+        }
+        assertEquals(writers * tasksPerWriter, disk.get("carol").size(),
+                    "No task should be added to a workspace after its final save");
+    }
+    
+    @Test
+    @DisplayName("Test a failed save fails the returned future")
+    public void testSaveFailurePropagates() throws Exception {
+        try (SchedulingService service = new SchedulingService(new FileWorkspaceStore(tempDir))) {
+            service.withWorkspace("dave", w -> null);
+            Path blocker = Files.createDirectories(tempDir.resolve("users/dave/tasks.bin"));
+            Files.createFile(blocker.resolve("keep"));
+            
+            assertThrows(CompletionException.class, () -> service.save("dave").join());
+            
+            Files.delete(blocker.resolve("keep"));
+            Files.delete(blocker);
+        }
+    }
+    
+    @Test
+    @DisplayName("Test corrupt user files fail the load instead of being replaced by an empty workspace")
+    public void testCorruptFilesFailLoad() throws Exception {
+        FileWorkspaceStore store = new FileWorkspaceStore(tempDir);
+        Path erin = Files.createDirectories(tempDir.resolve("users/erin"));
+        Files.write(erin.resolve("tasks.dat"), new byte[] {1, 2, 3});
+        Path frank = Files.createDirectories(tempDir.resolve("users/frank"));
+        Files.write(frank.resolve("tasks.bin"), new byte[] {1, 2, 3});
+        
+        assertThrows(IOException.class, () -> store.load("erin"));
+        assertThrows(IOException.class, () -> store.load("frank"));
+        try (SchedulingService service = new SchedulingService(store)) {
+            assertThrows(RuntimeException.class, () -> service.withWorkspace("frank", w -> null));
+        }
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(frank.resolve("tasks.bin")),
+                         "A workspace that failed to load should never be saved");
+    }
+    
+    @Test
+    @DisplayName("Test user ids that could escape the data directory are rejected")
+    public void testInvalidUserId() {
+        try (SchedulingService service = new SchedulingService(new FileWorkspaceStore(tempDir))) {
+            assertThrows(IllegalArgumentException.class,
+                        () -> service.withWorkspace("../etc", w -> null));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package taskscheduler.service;
+
+import taskscheduler.model.TimeSlot;
+import java.util.*;
+
+/**
+ * Free-capacity index over every time slot of the week
+ * Slots are numbered in week order (Monday's slots first). A segment tree
+ * of remaining minutes answers first-fit queries and an ordered set keyed
+ * by remaining minutes answers best-fit queries, both in O(log n).
+ */
+public class SlotCapacityIndex {
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int FIRST_WEEKEND_DAY = 5;
+    
+    private final int[] slotDay;
+    private final int[] slotStart;
+    private final int[] slotEnd;
+    private final int[] slotUsed;
+    private final int[] tree;
+    private final int leaves;
+    private final NavigableSet<Long> byRemaining;
+    
+    public SlotCapacityIndex(List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+        int count = (FIRST_WEEKEND_DAY * weekdaySlots.size())
+                  + ((DAYS_PER_WEEK - FIRST_WEEKEND_DAY) * weekendSlots.size());
+        this.slotDay = new int[count];
+        this.slotStart = new int[count];
+        this.slotEnd = new int[count];
+        this.slotUsed = new int[count];
+        
+        int slot = 0;
+        for (int day = 0; day < DAYS_PER_WEEK; day++) {
+            List<TimeSlot> slots = day < FIRST_WEEKEND_DAY ? weekdaySlots : weekendSlots;
+            for (TimeSlot timeSlot : slots) {
+                slotDay[slot] = day;
+                slotStart[slot] = timeSlot.getStartHour() * 60 + timeSlot.getStartMinute();
+                slotEnd[slot] = timeSlot.getEndHour() * 60 + timeSlot.getEndMinute();
+                slot++;
+            }
+        }
+        
+        int size = 1;
+        while (size < Math.max(count, 1)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        this.byRemaining = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            tree[size + i] = remaining(i);
+            byRemaining.add(key(remaining(i), i));
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+    
+    /**
+     * Returns the total slot minutes of each day of the week
+     */
+    public static int[] minutesPerDay(List<TimeSlot> weekdaySlots, List<TimeSlot> weekendSlots) {
+        int[] minutes = new int[DAYS_PER_WEEK];
+        for (int day = 0; day < DAYS_PER_WEEK; day++) {
+            for (TimeSlot slot : day < FIRST_WEEKEND_DAY ? weekdaySlots : weekendSlots) {
+                minutes[day] += (slot.getEndHour() * 60 + slot.getEndMinute())
+                              - (slot.getStartHour() * 60 + slot.getStartMinute());
+            }
+        }
+        return minutes;
+    }
+    
+    public int slotCount() {
+        return slotDay.length;
+    }
+    
+    public int dayOf(int slot) {
+        return slotDay[slot];
+    }
+    
+    public int slotStart(int slot) {
+        return slotStart[slot];
+    }
+    
+    public int remaining(int slot) {
+        return slotEnd[slot] - slotStart[slot] - slotUsed[slot];
+    }
+    
+    /**
+     * Returns the earliest slot in the week with at least the given free minutes, or -1
+     */
+    public int firstFit(int minutes) {
+        if (tree[1] < minutes) {
+            return -1;
+        }
+        int node = 1;
+        while (node < leaves) {
+            node = tree[2 * node] >= minutes ? 2 * node : 2 * node + 1;
+        }
+        return node - leaves;
+    }
+    
+    /**
+     * Returns the first slot at or after fromSlot with at least the given free minutes, or -1
+     */
+    public int firstFitFrom(int fromSlot, int minutes) {
+        if (fromSlot >= slotDay.length) {
+            return -1;
+        }
+        return firstFitFrom(1, 0, leaves, fromSlot, minutes);
+    }
+    
+    private int firstFitFrom(int node, int lo, int hi, int fromSlot, int minutes) {
+        if (hi <= fromSlot || tree[node] < minutes) {
+            return -1;
+        }
+        if (node >= leaves) {
+            return lo;
+        }
+        int mid = (lo + hi) >>> 1;
+        int found = firstFitFrom(2 * node, lo, mid, fromSlot, minutes);
+        return found >= 0 ? found : firstFitFrom(2 * node + 1, mid, hi, fromSlot, minutes);
+    }
+    
+    /**
+     * Returns the slot whose free minutes exceed the request by the least, or -1
+     */
+    public int bestFit(int minutes) {
+        Long fit = byRemaining.ceiling(key(minutes, 0));
+        return fit == null ? -1 : (int) (fit & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Reserves minutes at the end of the slot's used space, returning the start minute of day
+     */
+    public int allocate(int slot, int minutes) {
+        int start = slotStart[slot] + slotUsed[slot];
+        setUsed(slot, slotUsed[slot] + minutes);
+        return start;
+    }
+    
+    /**
+     * Gives back minutes from the end of the slot's used space, after its contents were compacted
+     */
+    public void release(int slot, int minutes) {
+        setUsed(slot, slotUsed[slot] - minutes);
+    }
+    
+    private void setUsed(int slot, int used) {
+        byRemaining.remove(key(remaining(slot), slot));
+        slotUsed[slot] = used;
+        byRemaining.add(key(remaining(slot), slot));
+        
+        int node = leaves + slot;
+        tree[node] = remaining(slot);
+        for (node >>= 1; node > 0; node >>= 1) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+    
+    private static long key(int remaining, int slot) {
+        return ((long) remaining << 32) | slot;
+    }
+}
@@ -0,0 +1,80 @@
+package taskscheduler.service;
+
+/**
+ * Best schedule found by OptimizingScheduler, with how it compares to greedy placement
+ */
+public class SolverResult {
+    private final SchedulingEngine schedule;
+    private final long objective;
+    private final long greedyObjective;
+    private final long upperBound;
+    private final boolean optimal;
+    private final long nodesExplored;
+    private final long elapsedNanos;
+    
+    SolverResult(SchedulingEngine schedule, long objective, long greedyObjective, long upperBound,
+                 boolean optimal, long nodesExplored, long elapsedNanos) {
+        this.schedule = schedule;
+        this.objective = objective;
+        this.greedyObjective = greedyObjective;
+        this.upperBound = upperBound;
+        this.optimal = optimal;
+        this.nodesExplored = nodesExplored;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public SchedulingEngine getSchedule() {
+        return schedule;
+    }
+    
+    public long getObjective() {
+        return objective;
+    }
+    
+    public long getGreedyObjective() {
+        return greedyObjective;
+    }
+    
+    /**
+     * Returns a value no schedule can beat; equals the objective once the search has finished
+     */
+    public long getUpperBound() {
+        return upperBound;
+    }
+    
+    /**
+     * Returns true if the search finished within its budget, proving the schedule optimal
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+    
+    /**
+     * Returns the share of the objective gained over the greedy schedule
+     */
+    public double getImprovementOverGreedy() {
+        return objective == 0 ? 0.0 : (double) (objective - greedyObjective) / objective;
+    }
+    
+    /**
+     * Returns how far the objective may still be from optimal, as a share of the upper bound
+     */
+    public double getOptimalityGap() {
+        return upperBound == 0 ? 0.0 : (double) (upperBound - objective) / upperBound;
+    }
+    
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Objective %d (greedy %d, %+.1f%%), gap to bound %.1f%%%s, %d nodes",
+                           objective, greedyObjective, getImprovementOverGreedy() * 100,
+                           getOptimalityGap() * 100, optimal ? " (optimal)" : "", nodesExplored);
+    }
+}
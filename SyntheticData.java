@@ -0,0 +1,94 @@
+package taskscheduler.benchmark;
+
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Seeded generator of tasks and slot layouts for benchmarks
+ * The same seed and count always produce the same tasks, so results stay
+ * comparable across commits.
+ */
+public final class SyntheticData {
+    public static final long DEFAULT_SEED = 20251006L;
+    
+    private static final LocalDate FIRST_DEADLINE = LocalDate.of(2025, 10, 6);
+    private static final int DEADLINE_SPREAD_DAYS = 56;
+    private static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    
+    /**
+     * Weekly availability shapes, from one long block to many short ones
+     */
+    public enum SlotLayout {
+        SINGLE_BLOCK,
+        MORNING_AFTERNOON,
+        FRAGMENTED;
+        
+        public List<TimeSlot> weekdaySlots() {
+            switch (this) {
+                case SINGLE_BLOCK:
+                    return List.of(new TimeSlot("09:00", "17:00"));
+                case MORNING_AFTERNOON:
+                    return List.of(new TimeSlot("09:00", "12:00"), new TimeSlot("13:00", "17:00"));
+                default:
+                    return hourlySlots(8, 18);
+            }
+        }
+        
+        public List<TimeSlot> weekendSlots() {
+            switch (this) {
+                case SINGLE_BLOCK:
+                    return List.of(new TimeSlot("10:00", "14:00"));
+                case MORNING_AFTERNOON:
+                    return List.of(new TimeSlot("10:00", "12:00"), new TimeSlot("15:00", "18:00"));
+                default:
+                    return hourlySlots(10, 16);
+            }
+        }
+    }
+    
+    private SyntheticData() {
+    }
+    
+    /**
+     * Generates tasks with a realistic mix of priorities, half-hour durations and deadlines
+     */
+    public static List<Task> tasks(int count, long seed) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(10);
+            Priority priority = roll < 2 ? Priority.HIGH : roll < 6 ? Priority.MEDIUM : Priority.LOW;
+            double duration = 0.5 * (1 + random.nextInt(8));
+            String deadline = FIRST_DEADLINE.plusDays(random.nextInt(DEADLINE_SPREAD_DAYS))
+                                            .format(DEADLINE_FORMAT);
+            tasks.add(new Task("Task " + i, "Synthetic task " + i, priority, duration, deadline));
+        }
+        return tasks;
+    }
+    
+    /**
+     * Builds a TaskManager holding generated tasks, with the given share already completed
+     */
+    public static TaskManager taskManager(int count, double completedShare, long seed) {
+        TaskManager taskManager = new TaskManager();
+        Random random = new Random(seed ^ 0x5DEECE66DL);
+        for (Task task : tasks(count, seed)) {
+            taskManager.addTask(task);
+            if (random.nextDouble() < completedShare) {
+                taskManager.markTaskComplete(task.getTaskId());
+            }
+        }
+        return taskManager;
+    }
+    
+    private static List<TimeSlot> hourlySlots(int fromHour, int toHour) {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (int hour = fromHour; hour < toHour; hour++) {
+            slots.add(new TimeSlot(String.format("%02d:00", hour), String.format("%02d:50", hour)));
+        }
+        return slots;
+    }
+}
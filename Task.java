@@ -1,49 +1,154 @@
 package taskscheduler.model;
 
-import java.io.Serializable;
+import java.io.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Task implements Serializable, Comparable<Task> {
     private static final long serialVersionUID = 1L;
     
+    /**
+     * Format of deadlines entered by users, DD-MM-YYYY
+     */
+    public static final DateTimeFormatter DEADLINE_FORMAT =
+        DateTimeFormatter.ofPattern("dd-MM-uuuu").withResolverStyle(ResolverStyle.STRICT);
+    
+    /**
+     * Epoch day of a deadline that could not be parsed; sorts after every real date
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    
+    /**
+     * Completion epoch day of a task that is not completed, or whose completion day was not recorded
+     */
+    public static final long NOT_COMPLETED = Long.MIN_VALUE;
+    
     private String taskId;
     private String name;
     private String description;
     private Priority priority;
     private double durationHours;
     private String deadline;
-    private TaskStatus status;
+    private transient long deadlineEpochDay;
+    private volatile TaskStatus status;
+    private transient long completedEpochDay = NOT_COMPLETED;
     
-    private static int taskCounter = 1;
+    private static final AtomicInteger taskCounter = new AtomicInteger(1);
     
     public Task(String name, String description, Priority priority, 
                 double durationHours, String deadline) {
-        this.taskId = "T" + String.format("%03d", taskCounter++);
+        this.taskId = "T" + String.format("%03d", taskCounter.getAndIncrement());
         this.name = name;
         this.description = description;
         this.priority = priority;
         this.durationHours = durationHours;
         this.deadline = deadline;
+        this.deadlineEpochDay = parseDeadline(deadline);
         this.status = TaskStatus.PENDING;
     }
     
+    /**
+     * Restores a previously saved task with its original id and status
+     */
+    public Task(String taskId, String name, String description, Priority priority,
+                double durationHours, String deadline, TaskStatus status) {
+        this.taskId = taskId;
+        this.name = name;
+        this.description = description;
+        this.priority = priority;
+        this.durationHours = durationHours;
+        this.deadline = deadline;
+        this.deadlineEpochDay = parseDeadline(deadline);
+        this.status = status;
+        reserveTaskId(taskId);
+    }
+    
+    private Task(String taskId, Priority priority, long deadlineEpochDay) {
+        this.taskId = taskId;
+        this.name = "";
+        this.description = "";
+        this.priority = priority;
+        this.deadlineEpochDay = deadlineEpochDay;
+        this.status = TaskStatus.PENDING;
+    }
+    
+    /**
+     * Creates a stand-in with only the fields tasks are sorted by, for seeking in ordered sets
+     * Unlike the restore constructor it does not reserve the id.
+     */
+    public static Task probe(String taskId, Priority priority, long deadlineEpochDay) {
+        return new Task(taskId, priority, deadlineEpochDay);
+    }
+    
+    /**
+     * Moves the id counter past a restored id so new tasks never reuse it
+     */
+    public static void reserveTaskId(String taskId) {
+        if (taskId == null || !taskId.startsWith("T")) {
+            return;
+        }
+        try {
+            int number = Integer.parseInt(taskId.substring(1));
+            taskCounter.accumulateAndGet(number + 1, Math::max);
+        } catch (NumberFormatException e) {
+            // Ids not issued by this class do not affect the counter
+        }
+    }
+    
+    /**
+     * Parses a DD-MM-YYYY deadline to its epoch day, or NO_DEADLINE if it is not a valid date
+     */
+    public static long parseDeadline(String deadline) {
+        if (deadline == null) {
+            return NO_DEADLINE;
+        }
+        try {
+            return LocalDate.parse(deadline.trim(), DEADLINE_FORMAT).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NO_DEADLINE;
+        }
+    }
+    
+    /**
+     * Orders ids in the order they were issued: T999 comes before T1000
+     */
+    public static int compareTaskIds(String a, String b) {
+        if (a.length() != b.length()) {
+            return Integer.compare(a.length(), b.length());
+        }
+        return a.compareTo(b);
+    }
+    
     public String getTaskId() { return taskId; }
     public String getName() { return name; }
     public String getDescription() { return description; }
     public Priority getPriority() { return priority; }
     public double getDurationHours() { return durationHours; }
     public String getDeadline() { return deadline; }
+    public long getDeadlineEpochDay() { return deadlineEpochDay; }
+    public boolean hasDeadline() { return deadlineEpochDay != NO_DEADLINE; }
     public TaskStatus getStatus() { return status; }
+    public long getCompletedEpochDay() { return completedEpochDay; }
     
     public void setStatus(TaskStatus status) { this.status = status; }
     
+    /**
+     * Restores the day a saved task was completed on
+     * Stored tasks get it from TaskStore.updateStatus; setting it on one would put its statistics out of step.
+     */
+    public void setCompletedEpochDay(long completedEpochDay) { this.completedEpochDay = completedEpochDay; }
+    
     @Override
     public int compareTo(Task other) {
         int priorityCompare = this.priority.compareTo(other.priority);
         if (priorityCompare != 0) {
             return priorityCompare;
         }
-        return this.deadline.compareTo(other.deadline);
+        return Long.compare(this.deadlineEpochDay, other.deadlineEpochDay);
     }
     
     public String toTableFormat() {
@@ -56,6 +161,13 @@ public class Task implements Serializable, Comparable<Task> {
                            status);
     }
     
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        deadlineEpochDay = parseDeadline(deadline);
+        completedEpochDay = NOT_COMPLETED;
+        reserveTaskId(taskId);
+    }
+    
     @Override
     public String toString() {
         return String.format("Task[%s]: %s | Priority: %s | Duration: %.2fh | Deadline: %s | Status: %s",
@@ -0,0 +1,47 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only source of saved tasks that are decoded only when asked for
+ * Lets TaskStore keep untouched tasks off the heap
+ */
+public interface TaskArchive {
+    /**
+     * Decodes the task with the given id, or returns null if it is not archived
+     */
+    Task find(String taskId);
+    
+    int count(TaskStatus status);
+    
+    /**
+     * Counts archived tasks with a status and priority, or returns -1 if the archive does not record it
+     */
+    int count(TaskStatus status, Priority priority);
+    
+    /**
+     * Counts archived completed tasks by the epoch day they were completed on
+     * Empty if the archive does not record completion days.
+     */
+    Map<Long, Integer> completionsByDay();
+    
+    /**
+     * Decodes every archived task with the given status in file order
+     */
+    List<Task> loadWithStatus(TaskStatus status);
+    
+    /**
+     * Decodes archived tasks with a status one at a time in sort order, starting
+     * after the given task or from the first if it is null
+     * Returns null if the archive does not keep that order.
+     */
+    Iterator<Task> iterate(TaskStatus status, TaskSort sort, Task after);
+    
+    /**
+     * Decodes every archived task in file order
+     */
+    List<Task> loadAll();
+}
@@ -0,0 +1,15 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+
+/**
+ * Callback for changes made through TaskManager
+ * Listeners run on the mutating thread after the change has been applied
+ */
+public interface TaskChangeListener {
+    void onTaskAdded(Task task);
+    
+    void onTaskStatusChanged(Task task, TaskStatus previousStatus);
+    
+    void onTaskDeleted(Task task);
+}
@@ -0,0 +1,96 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.util.Arrays;
+
+/**
+ * Running totals over a TaskStore's indexed tasks, updated as tasks are indexed and unindexed
+ * Completed tasks are counted on their completion day, bucketed by day in a ring
+ * holding the last HISTORY_DAYS days; a bucket is reused once its day falls out of the window.
+ */
+final class TaskCounters {
+    static final int HISTORY_DAYS = 90;
+    
+    final int[] byStatus = new int[TaskStatus.values().length];
+    final int[] byPriority = new int[Priority.values().length];
+    long remainingMinutes;
+    final long[] bucketDay = new long[HISTORY_DAYS];
+    final int[] completedInBucket = new int[HISTORY_DAYS];
+    
+    TaskCounters() {
+        Arrays.fill(bucketDay, Long.MIN_VALUE);
+    }
+    
+    void add(Task task) {
+        byStatus[task.getStatus().ordinal()]++;
+        byPriority[task.getPriority().ordinal()]++;
+        if (task.getStatus() != TaskStatus.COMPLETED) {
+            remainingMinutes += minutesOf(task);
+        } else if (task.getCompletedEpochDay() != Task.NOT_COMPLETED) {
+            recordCompletions(task.getCompletedEpochDay(), 1);
+        }
+    }
+    
+    void remove(Task task) {
+        byStatus[task.getStatus().ordinal()]--;
+        byPriority[task.getPriority().ordinal()]--;
+        if (task.getStatus() != TaskStatus.COMPLETED) {
+            remainingMinutes -= minutesOf(task);
+        } else if (task.getCompletedEpochDay() != Task.NOT_COMPLETED) {
+            recordCompletions(task.getCompletedEpochDay(), -1);
+        }
+    }
+    
+    /**
+     * Clears everything before a full re-index, which counts the completions again
+     */
+    void clear() {
+        Arrays.fill(byStatus, 0);
+        Arrays.fill(byPriority, 0);
+        remainingMinutes = 0;
+        Arrays.fill(bucketDay, Long.MIN_VALUE);
+        Arrays.fill(completedInBucket, 0);
+    }
+    
+    /**
+     * Adds to the completions of a day; days older than the window are ignored
+     */
+    void recordCompletions(long epochDay, int count) {
+        int bucket = (int) Math.floorMod(epochDay, (long) HISTORY_DAYS);
+        if (bucketDay[bucket] > epochDay) {
+            return;
+        }
+        if (bucketDay[bucket] < epochDay) {
+            bucketDay[bucket] = epochDay;
+            completedInBucket[bucket] = 0;
+        }
+        completedInBucket[bucket] += count;
+    }
+    
+    int completedOn(long epochDay) {
+        int bucket = (int) Math.floorMod(epochDay, (long) HISTORY_DAYS);
+        return bucketDay[bucket] == epochDay ? completedInBucket[bucket] : 0;
+    }
+    
+    /**
+     * Adds these totals and completions into another set of counters, e.g. to sum lock stripes
+     */
+    void addTo(TaskCounters sum) {
+        for (int i = 0; i < byStatus.length; i++) {
+            sum.byStatus[i] += byStatus[i];
+        }
+        for (int i = 0; i < byPriority.length; i++) {
+            sum.byPriority[i] += byPriority[i];
+        }
+        sum.remainingMinutes += remainingMinutes;
+        for (int bucket = 0; bucket < HISTORY_DAYS; bucket++) {
+            if (bucketDay[bucket] != Long.MIN_VALUE) {
+                sum.recordCompletions(bucketDay[bucket], completedInBucket[bucket]);
+            }
+        }
+    }
+    
+    private static long minutesOf(Task task) {
+        return Math.round(task.getDurationHours() * 60);
+    }
+}
@@ -0,0 +1,362 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.TaskManager;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Streams tasks from CSV or JSON Lines files into a TaskManager
+ *
+ * Lines are read in chunks of batchSize and each valid chunk is added with one
+ * TaskManager.addTasks call, so memory stays bounded by the chunk size however
+ * large the file is. With parallelism above 1, chunks are parsed and validated
+ * on a worker pool while the reading thread keeps at most two chunks per worker
+ * in flight and inserts them in file order, so task ids still follow the file.
+ *
+ * CSV rows are name,description,priority,durationHours,deadline. A header row
+ * naming those columns may reorder them or leave out description. Fields may be
+ * quoted with "" as an escaped quote, but a row cannot span lines. JSON Lines
+ * rows are objects with the same field names.
+ */
+public class TaskImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    
+    private static final String[] COLUMNS = {"name", "description", "priority", "durationHours", "deadline"};
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int PRIORITY = 2;
+    private static final int DURATION = 3;
+    private static final int DEADLINE = 4;
+    
+    /**
+     * Input formats, chosen from the file extension by importFile
+     */
+    public enum Format {
+        CSV,
+        JSONL;
+        
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return JSONL;
+            }
+            throw new IllegalArgumentException("Unsupported import file type: " + name);
+        }
+    }
+    
+    private final int batchSize;
+    private final int parallelism;
+    
+    public TaskImporter() {
+        this(DEFAULT_BATCH_SIZE, 1);
+    }
+    
+    public TaskImporter(int batchSize, int parallelism) {
+        if (batchSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Batch size and parallelism must be positive");
+        }
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+    
+    public ImportReport importFile(Path file, TaskManager taskManager) throws IOException {
+        Format format = Format.of(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, format, taskManager);
+        }
+    }
+    
+    public ImportReport importFrom(BufferedReader reader, Format format, TaskManager taskManager)
+            throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        ChunkReader chunks = new ChunkReader(reader, format, batchSize);
+        if (parallelism == 1) {
+            Chunk chunk;
+            while ((chunk = chunks.next()) != null) {
+                insert(chunk.parse(), taskManager, report);
+            }
+        } else {
+            importParallel(chunks, taskManager, report);
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+    
+    private void importParallel(ChunkReader chunks, TaskManager taskManager, ImportReport report)
+            throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "task-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        try {
+            Chunk chunk;
+            while ((chunk = chunks.next()) != null) {
+                Chunk submitted = chunk;
+                inFlight.addLast(workers.submit(submitted::parse));
+                if (inFlight.size() >= parallelism * 2) {
+                    insert(await(inFlight.removeFirst()), taskManager, report);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                insert(await(inFlight.removeFirst()), taskManager, report);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+    
+    private static ParsedChunk await(Future<ParsedChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Error parsing import chunk: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    /**
+     * Creates the chunk's tasks and adds them in one batch; ids are issued here, in file order
+     */
+    private static void insert(ParsedChunk parsed, TaskManager taskManager, ImportReport report) {
+        List<Task> tasks = new ArrayList<>(parsed.rows.size());
+        for (Row row : parsed.rows) {
+            tasks.add(new Task(row.name, row.description, row.priority, row.durationHours, row.deadline));
+        }
+        taskManager.addTasks(tasks);
+        report.addImported(tasks.size());
+        for (ImportReport.RowError error : parsed.errors) {
+            report.addRejected(error);
+        }
+    }
+    
+    /**
+     * Reads the next batchSize non-blank lines, handling the optional CSV header first
+     */
+    private static class ChunkReader {
+        private final BufferedReader reader;
+        private final Format format;
+        private final int batchSize;
+        private int[] columns;
+        private long lineNumber;
+        
+        ChunkReader(BufferedReader reader, Format format, int batchSize) {
+            this.reader = reader;
+            this.format = format;
+            this.batchSize = batchSize;
+        }
+        
+        Chunk next() throws IOException {
+            List<String> lines = new ArrayList<>(batchSize);
+            List<Long> lineNumbers = new ArrayList<>(batchSize);
+            String line;
+            while (lines.size() < batchSize && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = headerColumns(line);
+                    if (columns != null) {
+                        continue;
+                    }
+                    columns = new int[] {0, 1, 2, 3, 4};
+                }
+                lines.add(line);
+                lineNumbers.add(lineNumber);
+            }
+            return lines.isEmpty() ? null : new Chunk(format, columns, lines, lineNumbers);
+        }
+        
+        /**
+         * Maps each field to its column if the line is a header, or returns null for a data row
+         */
+        private static int[] headerColumns(String line) {
+            List<String> fields;
+            try {
+                fields = splitCsv(line);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            int[] columns = {-1, -1, -1, -1, -1};
+            for (int i = 0; i < fields.size(); i++) {
+                int column = columnNamed(fields.get(i).trim());
+                if (column < 0) {
+                    return null;
+                }
+                columns[column] = i;
+            }
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (columns[c] < 0 && c != DESCRIPTION) {
+                    throw new IllegalArgumentException("CSV header is missing the " + COLUMNS[c] + " column");
+                }
+            }
+            return columns;
+        }
+        
+        private static int columnNamed(String field) {
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (field.equalsIgnoreCase(COLUMNS[c])) {
+                    return c;
+                }
+            }
+            return -1;
+        }
+    }
+    
+    /**
+     * Raw lines of one batch; parse() is safe to run on any thread
+     */
+    private static class Chunk {
+        private final Format format;
+        private final int[] columns;
+        private final List<String> lines;
+        private final List<Long> lineNumbers;
+        
+        Chunk(Format format, int[] columns, List<String> lines, List<Long> lineNumbers) {
+            this.format = format;
+            this.columns = columns;
+            this.lines = lines;
+            this.lineNumbers = lineNumbers;
+        }
+        
+        ParsedChunk parse() {
+            ParsedChunk parsed = new ParsedChunk(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                try {
+                    parsed.rows.add(format == Format.CSV ? csvRow(lines.get(i)) : jsonRow(lines.get(i)));
+                } catch (IllegalArgumentException e) {
+                    parsed.errors.add(new ImportReport.RowError(lineNumbers.get(i), e.getMessage()));
+                }
+            }
+            return parsed;
+        }
+        
+        private Row csvRow(String line) {
+            List<String> fields = splitCsv(line);
+            String[] values = new String[COLUMNS.length];
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (columns[c] >= fields.size()) {
+                    if (c == DESCRIPTION) {
+                        continue;
+                    }
+                    throw new IllegalArgumentException("Missing " + COLUMNS[c] + " column");
+                }
+                if (columns[c] >= 0) {
+                    values[c] = fields.get(columns[c]);
+                }
+            }
+            return Row.of(values[NAME], values[DESCRIPTION], values[PRIORITY], values[DURATION], values[DEADLINE]);
+        }
+        
+        private static Row jsonRow(String line) {
+            Map<String, Object> object = Json.parseObject(line);
+            String[] values = new String[COLUMNS.length];
+            for (int c = 0; c < COLUMNS.length; c++) {
+                Object value = object.get(COLUMNS[c]);
+                values[c] = value == null ? null : value.toString();
+            }
+            return Row.of(values[NAME], values[DESCRIPTION], values[PRIORITY], values[DURATION], values[DEADLINE]);
+        }
+    }
+    
+    private static class ParsedChunk {
+        private final List<Row> rows;
+        private final List<ImportReport.RowError> errors;
+        
+        ParsedChunk(int size) {
+            this.rows = new ArrayList<>(size);
+            this.errors = new ArrayList<>();
+        }
+    }
+    
+    /**
+     * A validated row, turned into a Task only when its chunk is inserted
+     */
+    private static class Row {
+        private final String name;
+        private final String description;
+        private final Priority priority;
+        private final double durationHours;
+        private final String deadline;
+        
+        private Row(String name, String description, Priority priority, double durationHours, String deadline) {
+            this.name = name;
+            this.description = description;
+            this.priority = priority;
+            this.durationHours = durationHours;
+            this.deadline = deadline;
+        }
+        
+        static Row of(String name, String description, String priority, String duration, String deadline) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Missing name");
+            }
+            Priority parsedPriority;
+            try {
+                parsedPriority = Priority.valueOf(priority == null ? "" : priority.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid priority: " + priority);
+            }
+            double durationHours;
+            try {
+                durationHours = Double.parseDouble(duration == null ? "" : duration.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid duration: " + duration);
+            }
+            if (!(durationHours > 0) || Double.isInfinite(durationHours)) {
+                throw new IllegalArgumentException("Invalid duration: " + duration);
+            }
+            if (Task.parseDeadline(deadline) == Task.NO_DEADLINE) {
+                throw new IllegalArgumentException("Invalid deadline: " + deadline + " (expected DD-MM-YYYY)");
+            }
+            return new Row(name.trim(), description == null ? "" : description.trim(),
+                           parsedPriority, durationHours, deadline.trim());
+        }
+    }
+    
+    /**
+     * Splits one CSV line, honouring double-quoted fields
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
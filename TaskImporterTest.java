@@ -0,0 +1,104 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import taskscheduler.util.ImportReport;
+import taskscheduler.util.TaskImporter;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Test cases for bulk CSV and JSON Lines import
+ */
+public class TaskImporterTest {
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    @DisplayName("Test CSV import with a reordered header, quoted fields and bad rows")
+    public void testCsvImport() throws IOException {
+        Path file = tempDir.resolve("tasks.csv");
+        Files.writeString(file, String.join("\n",
+            "deadline,name,priority,durationHours,description",
+            "30-10-2025,Write report,HIGH,2,\"Quarterly, with \"\"charts\"\"\"",
+            "",
+            "31-10-2025,Review,urgent,1,bad priority",
+            "01-11-2025,Plan,low,-1,bad duration",
+            "2025-11-01,Email,MEDIUM,0.5,bad deadline",
+            "02-11-2025,Read,medium,1.5,ok"));
+        
+        TaskManager taskManager = new TaskManager();
+        ImportReport report = new TaskImporter().importFile(file, taskManager);
+        
+        assertEquals(5, report.getRowsRead());
+        assertEquals(2, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals(List.of(4L, 5L, 6L),
+                    report.getErrors().stream().map(ImportReport.RowError::getLine).toList(),
+                    "Errors should carry their file line numbers");
+        assertTrue(report.getErrors().get(0).getMessage().contains("priority"));
+        
+        List<Task> tasks = taskManager.getAllTasks();
+        assertEquals("Write report", tasks.get(0).getName());
+        assertEquals("Quarterly, with \"charts\"", tasks.get(0).getDescription());
+        assertEquals(Priority.HIGH, tasks.get(0).getPriority());
+        assertEquals(Priority.MEDIUM, tasks.get(1).getPriority());
+    }
+    
+    @Test
+    @DisplayName("Test JSON Lines import rejects malformed objects")
+    public void testJsonLinesImport() throws IOException {
+        String lines = String.join("\n",
+            "{\"name\":\"A\",\"priority\":\"HIGH\",\"durationHours\":1,\"deadline\":\"30-10-2025\"}",
+            "{\"name\":\"B\",\"priority\":\"LOW\"",
+            "{\"name\":\"C\",\"description\":\"x\",\"priority\":\"LOW\",\"durationHours\":\"2.5\",\"deadline\":\"31-10-2025\"}");
+        
+        TaskManager taskManager = new TaskManager();
+        ImportReport report = new TaskImporter().importFrom(
+            new BufferedReader(new StringReader(lines)), TaskImporter.Format.JSONL, taskManager);
+        
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertEquals(2.5, taskManager.getAllTasks().get(1).getDurationHours());
+    }
+    
+    @Test
+    @DisplayName("Test parallel import keeps file order and matches a sequential import")
+    public void testParallelImport() throws IOException {
+        int rows = 50_000;
+        Path file = tempDir.resolve("large.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rows; i++) {
+                String duration = i % 1000 == 999 ? "zero" : String.valueOf(0.5 + (i % 4) * 0.5);
+                writer.write("Task " + i + ",Bulk," + Priority.values()[i % 3] + "," + duration + ","
+                           + String.format("%02d-11-2025", 1 + i % 28));
+                writer.newLine();
+            }
+        }
+        
+        TaskManager sequential = new TaskManager();
+        ImportReport sequentialReport = new TaskImporter(500, 1).importFile(file, sequential);
+        TaskManager parallel = new ConcurrentTaskManager();
+        ImportReport parallelReport = new TaskImporter(500, 4).importFile(file, parallel);
+        System.out.println("Sequential: " + sequentialReport);
+        System.out.println("Parallel:   " + parallelReport);
+        
+        assertEquals(rows / 1000, parallelReport.getRejected());
+        assertEquals(sequentialReport.getImported(), parallelReport.getImported());
+        assertEquals(sequentialReport.getErrors().get(0).getLine(), parallelReport.getErrors().get(0).getLine());
+        
+        List<Task> tasks = parallel.getAllTasks();
+        for (int i = 1; i < tasks.size(); i++) {
+            assertTrue(Task.compareTaskIds(tasks.get(i - 1).getTaskId(), tasks.get(i).getTaskId()) < 0);
+            int previous = Integer.parseInt(tasks.get(i - 1).getName().substring(5));
+            int current = Integer.parseInt(tasks.get(i).getName().substring(5));
+            assertTrue(previous < current, "Task ids should be issued in file order");
+        }
+    }
+}
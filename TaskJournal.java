@@ -0,0 +1,323 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of TaskManager mutations
+ * Records are framed as length, payload and CRC32 and made durable by a
+ * background group commit. Once the journal grows past a threshold it is
+ * sealed and folded into the tasks snapshot on the same background thread.
+ */
+public class TaskJournal implements TaskChangeListener, Closeable {
+    private static final int OP_ADD = 1;
+    private static final int OP_STATUS = 2;
+    private static final int OP_DELETE = 3;
+    private static final int OP_COMPLETE = 4;
+    
+    private static final long COMMIT_INTERVAL_MS = 50;
+    private static final long COMPACT_THRESHOLD_BYTES = 4L << 20;
+    private static final int MAX_RECORD_BYTES = 16 << 20;
+    private static final int RECORD_BUFFER_SIZE = 4096;
+    private static final String SEALED_SUFFIX = ".sealed";
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path sealedFile;
+    private final Object journalLock = new Object();
+    private final Object snapshotLock = new Object();
+    private final ByteArrayOutputStream recordBytes;
+    private final BinaryWriter recordWriter;
+    private final CRC32 crc;
+    private final ScheduledExecutorService background;
+    
+    private BinaryWriter journalWriter;
+    private long journalSize;
+    private boolean dirty;
+    
+    public TaskJournal(Path snapshotFile, Path journalFile) throws IOException {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+        this.sealedFile = sealedFileFor(journalFile);
+        this.recordBytes = new ByteArrayOutputStream();
+        this.recordWriter = new BinaryWriter(Channels.newChannel(recordBytes), RECORD_BUFFER_SIZE);
+        this.crc = new CRC32();
+        openJournal(false);
+        
+        this.background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "task-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        background.scheduleWithFixedDelay(this::groupCommit, COMMIT_INTERVAL_MS,
+                                          COMMIT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (Files.exists(sealedFile)) {
+            background.execute(this::compact);
+        }
+    }
+    
+    /**
+     * Rebuilds tasks from the snapshot plus any sealed and active journal records
+     */
+    public static TaskManager recover(Path snapshotFile, Path journalFile) throws IOException {
+        TaskManager taskManager = openSnapshot(snapshotFile);
+        Path sealedFile = sealedFileFor(journalFile);
+        if (Files.exists(sealedFile)) {
+            replay(sealedFile, taskManager);
+        }
+        if (Files.exists(journalFile)) {
+            long validLength = replay(journalFile, taskManager);
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                if (channel.size() > validLength) {
+                    channel.truncate(validLength);
+                }
+            }
+        }
+        return taskManager;
+    }
+    
+    /**
+     * Maps the snapshot for lazy reads, falling back to a full read for older files
+     */
+    private static TaskManager openSnapshot(Path snapshotFile) throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return new TaskManager();
+        }
+        MappedTaskSnapshot snapshot = MappedTaskSnapshot.open(snapshotFile);
+        return snapshot != null ? new TaskManager(snapshot) : BinaryFormat.readTasks(snapshotFile);
+    }
+    
+    /**
+     * Applies journal records to a TaskManager, stopping at the first torn or corrupt record
+     * Returns the length of the valid prefix of the file
+     */
+    public static long replay(Path file, TaskManager taskManager) throws IOException {
+        long fileSize = Files.size(file);
+        long position = 0;
+        CRC32 crc = new CRC32();
+        
+        try (BinaryReader reader = new BinaryReader(file)) {
+            while (position + 8 <= fileSize) {
+                int length = reader.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES || position + 8 + length > fileSize) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                reader.readBytes(payload);
+                int checksum = reader.readInt();
+                
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum || !apply(payload, taskManager)) {
+                    break;
+                }
+                position += 8 + length;
+            }
+        }
+        return position;
+    }
+    
+    private static boolean apply(byte[] payload, TaskManager taskManager) throws IOException {
+        BinaryReader record = new BinaryReader(ByteBuffer.wrap(payload));
+        switch (record.readByte()) {
+            case OP_ADD:
+                taskManager.addTask(BinaryFormat.readTask(record));
+                return true;
+            case OP_STATUS:
+                String taskId = record.readString();
+                taskManager.updateTaskStatus(taskId, TaskStatus.values()[record.readByte()]);
+                return true;
+            case OP_DELETE:
+                taskManager.deleteTask(record.readString());
+                return true;
+            case OP_COMPLETE:
+                String completedId = record.readString();
+                taskManager.updateTaskStatus(completedId, TaskStatus.COMPLETED, LocalDate.ofEpochDay(record.readInt()));
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    @Override
+    public void onTaskAdded(Task task) {
+        synchronized (journalLock) {
+            try {
+                beginRecord(OP_ADD);
+                BinaryFormat.writeTask(recordWriter, task);
+                endRecord();
+            } catch (IOException e) {
+                System.err.println("Error journaling task: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Completions are journaled with their day, so a replay counts them on the day they happened
+     */
+    @Override
+    public void onTaskStatusChanged(Task task, TaskStatus previousStatus) {
+        synchronized (journalLock) {
+            try {
+                if (task.getStatus() == TaskStatus.COMPLETED && task.getCompletedEpochDay() != Task.NOT_COMPLETED) {
+                    beginRecord(OP_COMPLETE);
+                    recordWriter.writeString(task.getTaskId());
+                    recordWriter.writeInt(Math.toIntExact(task.getCompletedEpochDay()));
+                } else {
+                    beginRecord(OP_STATUS);
+                    recordWriter.writeString(task.getTaskId());
+                    recordWriter.writeByte(task.getStatus().ordinal());
+                }
+                endRecord();
+            } catch (IOException e) {
+                System.err.println("Error journaling task: " + e.getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public void onTaskDeleted(Task task) {
+        synchronized (journalLock) {
+            try {
+                beginRecord(OP_DELETE);
+                recordWriter.writeString(task.getTaskId());
+                endRecord();
+            } catch (IOException e) {
+                System.err.println("Error journaling task: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Forces all appended records to disk without waiting for the next group commit
+     */
+    public void commit() throws IOException {
+        synchronized (journalLock) {
+            journalWriter.sync();
+            dirty = false;
+        }
+    }
+    
+    /**
+     * Writes a full snapshot of the live tasks and empties the journal
+     * Must be called from the thread that mutates the TaskManager
+     */
+    public void checkpoint(TaskManager taskManager) throws IOException {
+        synchronized (snapshotLock) {
+            synchronized (journalLock) {
+                writeSnapshot(taskManager);
+                journalWriter.close();
+                openJournal(true);
+                Files.deleteIfExists(sealedFile);
+                dirty = false;
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (journalLock) {
+            journalWriter.sync();
+            journalWriter.close();
+        }
+    }
+    
+    private void beginRecord(int op) throws IOException {
+        recordBytes.reset();
+        recordWriter.writeByte(op);
+    }
+    
+    private void endRecord() throws IOException {
+        recordWriter.flush();
+        byte[] payload = recordBytes.toByteArray();
+        crc.reset();
+        crc.update(payload);
+        journalWriter.writeInt(payload.length);
+        journalWriter.writeBytes(payload);
+        journalWriter.writeInt((int) crc.getValue());
+        journalSize += payload.length + 8;
+        dirty = true;
+    }
+    
+    /**
+     * Runs on the background thread, syncing pending records and sealing a full journal
+     */
+    private void groupCommit() {
+        boolean sealed = false;
+        synchronized (journalLock) {
+            try {
+                if (dirty) {
+                    journalWriter.sync();
+                    dirty = false;
+                }
+                if (journalSize >= COMPACT_THRESHOLD_BYTES && !Files.exists(sealedFile)) {
+                    journalWriter.close();
+                    Files.move(journalFile, sealedFile, StandardCopyOption.ATOMIC_MOVE);
+                    openJournal(true);
+                    sealed = true;
+                }
+            } catch (IOException e) {
+                System.err.println("Error committing task journal: " + e.getMessage());
+            }
+        }
+        if (sealed) {
+            compact();
+        }
+    }
+    
+    /**
+     * Folds the sealed journal into the snapshot without touching the live TaskManager
+     */
+    private void compact() {
+        synchronized (snapshotLock) {
+            if (!Files.exists(sealedFile)) {
+                return;
+            }
+            try {
+                TaskManager folded = Files.exists(snapshotFile)
+                                     ? BinaryFormat.readTasks(snapshotFile)
+                                     : new TaskManager();
+                replay(sealedFile, folded);
+                writeSnapshot(folded);
+                Files.delete(sealedFile);
+            } catch (IOException e) {
+                System.err.println("Error compacting task journal: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void writeSnapshot(TaskManager taskManager) throws IOException {
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + TEMP_SUFFIX);
+        BinaryFormat.writeTasks(tempFile, taskManager);
+        FileManager.moveIntoPlace(tempFile, snapshotFile);
+    }
+    
+    private void openJournal(boolean truncate) throws IOException {
+        FileChannel channel = truncate
+            ? FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                               StandardOpenOption.TRUNCATE_EXISTING)
+            : FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                               StandardOpenOption.APPEND);
+        journalSize = channel.size();
+        journalWriter = new BinaryWriter(channel, RECORD_BUFFER_SIZE * 16);
+    }
+    
+    private static Path sealedFileFor(Path journalFile) {
+        return journalFile.resolveSibling(journalFile.getFileName() + SEALED_SUFFIX);
+    }
+}
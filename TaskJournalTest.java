@@ -0,0 +1,113 @@
+package taskscheduler.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import taskscheduler.model.*;
+import taskscheduler.service.TaskManager;
+import taskscheduler.service.TaskStatistics;
+import taskscheduler.util.*;
+import java.io.*;
+import java.nio.file.*;
+import java.time.LocalDate;
+
+/**
+ * JUnit test cases for the task write-ahead journal
+ */
+public class TaskJournalTest {
+    @TempDir
+    Path tempDir;
+    
+    private Path snapshotFile;
+    private Path journalFile;
+    private TaskManager taskManager;
+    private TaskJournal journal;
+    private Task testTask1;
+    private Task testTask2;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        snapshotFile = tempDir.resolve("tasks.bin");
+        journalFile = tempDir.resolve("tasks.journal");
+        taskManager = new TaskManager();
+        journal = new TaskJournal(snapshotFile, journalFile);
+        taskManager.addChangeListener(journal);
+        
+        testTask1 = new Task("Study Java", "Complete OOP concepts",
+                            Priority.HIGH, 2.0, "30-10-2025");
+        testTask2 = new Task("Exercise", "Morning workout",
+                            Priority.MEDIUM, 1.0, "25-10-2025");
+    }
+    
+    @AfterEach
+    public void tearDown() throws IOException {
+        journal.close();
+    }
+    
+    @Test
+    @DisplayName("Test mutations are recovered from the journal alone")
+    public void testRecoverFromJournal() throws IOException {
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        taskManager.markTaskComplete(testTask1.getTaskId());
+        taskManager.deleteTask(testTask2.getTaskId());
+        journal.commit();
+        
+        TaskManager recovered = TaskJournal.recover(snapshotFile, journalFile);
+        assertEquals(1, recovered.getAllTasks().size(), "Deleted task should not be recovered");
+        assertEquals(TaskStatus.COMPLETED,
+                     recovered.getTaskById(testTask1.getTaskId()).getStatus());
+    }
+    
+    @Test
+    @DisplayName("Test torn journal tail is discarded")
+    public void testTornTailIsDiscarded() throws IOException {
+        taskManager.addTask(testTask1);
+        journal.commit();
+        long validLength = Files.size(journalFile);
+        Files.write(journalFile, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+        
+        TaskManager recovered = TaskJournal.recover(snapshotFile, journalFile);
+        assertEquals(1, recovered.getAllTasks().size());
+        assertEquals(validLength, Files.size(journalFile), "Torn record should be truncated");
+    }
+    
+    @Test
+    @DisplayName("Test checkpoint folds the journal into the snapshot")
+    public void testCheckpoint() throws IOException {
+        taskManager.addTask(testTask1);
+        journal.checkpoint(taskManager);
+        assertEquals(0, Files.size(journalFile), "Journal should be empty after checkpoint");
+        
+        taskManager.addTask(testTask2);
+        journal.commit();
+        
+        TaskManager recovered = TaskJournal.recover(snapshotFile, journalFile);
+        assertEquals(2, recovered.getAllTasks().size(), "Snapshot and journal should both apply");
+    }
+    
+    @Test
+    @DisplayName("Test completions per day survive a restart")
+    public void testCompletionDaysSurviveRestart() throws IOException {
+        LocalDate today = LocalDate.now();
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        taskManager.updateTaskStatus(testTask1.getTaskId(), TaskStatus.COMPLETED, today.minusDays(3));
+        journal.checkpoint(taskManager);
+        taskManager.updateTaskStatus(testTask2.getTaskId(), TaskStatus.COMPLETED, today.minusDays(1));
+        journal.commit();
+        
+        TaskManager recovered = TaskJournal.recover(snapshotFile, journalFile);
+        TaskStatistics stats = recovered.getStatistics();
+        assertEquals(1, stats.getCompletedOn(today.minusDays(3)), "Snapshot should keep the completion day");
+        assertEquals(1, stats.getCompletedOn(today.minusDays(1)), "Journal should keep the completion day");
+        assertEquals(0, stats.getCompletedOn(today));
+        
+        recovered.updateTaskStatus(testTask1.getTaskId(), TaskStatus.PENDING);
+        recovered.addTask(new Task(testTask2.getTaskId(), "Exercise", "Evening workout",
+                                   Priority.MEDIUM, 1.0, "25-10-2025", TaskStatus.PENDING));
+        stats = recovered.getStatistics();
+        assertEquals(0, stats.getCompletedOn(today.minusDays(3)), "Reopening a saved task takes its completion back");
+        assertEquals(0, stats.getCompletedOn(today.minusDays(1)), "Replacing a task takes its completion back");
+    }
+}
@@ -1,63 +1,245 @@
 package taskscheduler.service;
 
 import taskscheduler.model.*;
-import java.io.Serializable;
+import java.io.*;
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class TaskManager implements Serializable {
     private static final long serialVersionUID = 1L;
     
-    private List<Task> tasks;
+    /**
+     * Serialized form stays a plain task list so existing tasks.dat files still load
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("tasks", List.class)
+    };
+    
+    private transient TaskStore store;
+    private transient List<TaskChangeListener> listeners;
     
     public TaskManager() {
-        this.tasks = new ArrayList<>();
+        this.store = new TaskStore();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+    
+    /**
+     * Creates a TaskManager over archived tasks that are decoded on first access
+     */
+    public TaskManager(TaskArchive archive) {
+        this.store = new TaskStore(archive);
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+    
+    public void addChangeListener(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeChangeListener(TaskChangeListener listener) {
+        listeners.remove(listener);
     }
     
     public void addTask(Task task) {
-        tasks.add(task);
+        store.add(task);
+        fireTaskAdded(task);
+    }
+    
+    /**
+     * Adds a batch of tasks, e.g. from a bulk import; listeners still hear about each task
+     */
+    public void addTasks(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            store.add(task);
+            fireTaskAdded(task);
+        }
     }
     
     public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks);
+        return new ArrayList<>(store.all());
+    }
+    
+    /**
+     * Returns one page of tasks in the given order, copying only that page
+     * Pass null as the cursor for the first page and getNextCursor() of the
+     * previous page after that. A null status lists every task.
+     */
+    public TaskPage getTaskPage(TaskStatus status, TaskSort sort, String cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Task after = cursor == null ? null : TaskPage.decode(cursor, sort);
+        return TaskPage.of(store.page(status, sort, after, pageSize), pageSize, sort);
+    }
+    
+    /**
+     * Visits every task in issue order without copying them out
+     * Archived tasks are decoded one at a time and not kept, unlike getTaskPage.
+     */
+    public void forEachTask(Consumer<Task> action) {
+        store.scan(TaskSort.ISSUE).forEachRemaining(action);
     }
     
     public List<Task> getPendingTasks() {
-        return tasks.stream()
-                   .filter(t -> t.getStatus() == TaskStatus.PENDING)
-                   .sorted()
-                   .collect(Collectors.toList());
+        return new ArrayList<>(store.pending());
+    }
+    
+    /**
+     * Returns at most the first n pending tasks in scheduling order
+     */
+    public List<Task> getTopPendingTasks(int n) {
+        List<Task> top = new ArrayList<>(Math.min(n, store.pending().size()));
+        Iterator<Task> it = store.pending().iterator();
+        while (top.size() < n && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+    
+    /**
+     * Streams pending tasks in scheduling order without copying them
+     * The iterator fails fast if tasks are added, completed or deleted meanwhile
+     */
+    public Iterator<Task> iteratePendingTasks() {
+        return store.pending().iterator();
+    }
+    
+    public int getPendingTaskCount() {
+        return store.countWithStatus(TaskStatus.PENDING);
+    }
+    
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return new ArrayList<>(store.withStatus(status));
+    }
+    
+    public List<Task> getTasksByPriority(Priority priority) {
+        return new ArrayList<>(store.withPriority(priority));
+    }
+    
+    /**
+     * Returns tasks due strictly before the given date, earliest deadline first
+     */
+    public List<Task> getTasksDueBefore(LocalDate date) {
+        return getTasksDueBetween(Long.MIN_VALUE, date.toEpochDay() - 1);
+    }
+    
+    /**
+     * Returns tasks due between the two dates inclusive, earliest deadline first
+     */
+    public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+        return getTasksDueBetween(from.toEpochDay(), to.toEpochDay());
+    }
+    
+    /**
+     * Range query on the deadline index by epoch day, both ends inclusive
+     */
+    protected List<Task> getTasksDueBetween(long fromDay, long toDay) {
+        return store.dueBetween(fromDay, toDay);
+    }
+    
+    /**
+     * Ranked search over task names and descriptions
+     * Every query word must prefix a word of the task; exact and name matches
+     * rank higher. A null priority or status matches any.
+     */
+    public List<Task> searchTasks(String query, Priority priority, TaskStatus status, int limit) {
+        return store.search(query, priority, status, limit);
     }
     
     public Task getTaskById(String taskId) {
-        return tasks.stream()
-                   .filter(t -> t.getTaskId().equals(taskId))
-                   .findFirst()
-                   .orElse(null);
+        return store.get(taskId);
     }
     
     public boolean markTaskComplete(String taskId) {
-        Task task = getTaskById(taskId);
-        if (task != null) {
-            task.setStatus(TaskStatus.COMPLETED);
-            return true;
+        return updateTaskStatus(taskId, TaskStatus.COMPLETED);
+    }
+    
+    /**
+     * Moves a task to a new status, keeping the indexes in step
+     */
+    public boolean updateTaskStatus(String taskId, TaskStatus status) {
+        return updateTaskStatus(taskId, status, LocalDate.now());
+    }
+    
+    /**
+     * Moves a task to a new status as of the given day, which a completion is counted on
+     * Lets a journal replay keep the day a change was first made.
+     */
+    public boolean updateTaskStatus(String taskId, TaskStatus status, LocalDate on) {
+        Task task = store.get(taskId);
+        if (task == null) {
+            return false;
         }
-        return false;
+        TaskStatus previousStatus = task.getStatus();
+        store.updateStatus(task, status, on);
+        fireTaskStatusChanged(task, previousStatus);
+        return true;
     }
     
     public boolean deleteTask(String taskId) {
-        return tasks.removeIf(t -> t.getTaskId().equals(taskId));
+        Task task = store.remove(taskId);
+        if (task == null) {
+            return false;
+        }
+        fireTaskDeleted(task);
+        return true;
     }
     
+    /**
+     * Returns total, pending, inProgress and completed counts, read from the store's counters
+     */
     public Map<String, Integer> getTaskStatistics() {
         Map<String, Integer> stats = new HashMap<>();
-        stats.put("total", tasks.size());
-        stats.put("pending", (int) tasks.stream()
-                                         .filter(t -> t.getStatus() == TaskStatus.PENDING)
-                                         .count());
-        stats.put("completed", (int) tasks.stream()
-                                          .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
-                                          .count());
+        stats.put("total", store.size());
+        stats.put("pending", store.countWithStatus(TaskStatus.PENDING));
+        stats.put("inProgress", store.countWithStatus(TaskStatus.IN_PROGRESS));
+        stats.put("completed", store.countWithStatus(TaskStatus.COMPLETED));
         return stats;
     }
+    
+    /**
+     * Returns counts by status and priority, remaining hours and completions per day
+     * without scanning the tasks
+     */
+    public TaskStatistics getStatistics() {
+        return store.statistics();
+    }
+    
+    protected void fireTaskAdded(Task task) {
+        for (TaskChangeListener listener : listeners) {
+            listener.onTaskAdded(task);
+        }
+    }
+    
+    protected void fireTaskStatusChanged(Task task, TaskStatus previousStatus) {
+        for (TaskChangeListener listener : listeners) {
+            listener.onTaskStatusChanged(task, previousStatus);
+        }
+    }
+    
+    protected void fireTaskDeleted(Task task) {
+        for (TaskChangeListener listener : listeners) {
+            listener.onTaskDeleted(task);
+        }
+    }
+    
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("tasks", new ArrayList<>(store.all()));
+        out.writeFields();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        List<Task> tasks = (List<Task>) fields.get("tasks", null);
+        store = new TaskStore();
+        listeners = new CopyOnWriteArrayList<>();
+        if (tasks != null) {
+            for (Task task : tasks) {
+                store.add(task);
+            }
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package taskscheduler.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks TaskManager queries over a populated task set
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TaskManagerBenchmark {
+    @Param({"1000", "100000"})
+    public int taskCount;
+    
+    private TaskManager taskManager;
+    private String[] lookupIds;
+    private int nextLookup;
+    private String middleCursor;
+    
+    @Setup
+    public void setUp() {
+        taskManager = SyntheticData.taskManager(taskCount, 0.3, SyntheticData.DEFAULT_SEED);
+        List<Task> all = taskManager.getAllTasks();
+        Random random = new Random(SyntheticData.DEFAULT_SEED);
+        lookupIds = new String[1024];
+        for (int i = 0; i < lookupIds.length; i++) {
+            lookupIds[i] = all.get(random.nextInt(all.size())).getTaskId();
+        }
+        middleCursor = taskManager.getTaskPage(null, TaskSort.DEADLINE, null, taskCount / 2).getNextCursor();
+    }
+    
+    @Benchmark
+    public List<Task> getAllTasks() {
+        return taskManager.getAllTasks();
+    }
+    
+    @Benchmark
+    public TaskPage getFirstPage() {
+        return taskManager.getTaskPage(null, TaskSort.ISSUE, null, 50);
+    }
+    
+    /**
+     * Seeks by cursor into the middle of the deadline order, which costs the same as the first page
+     */
+    @Benchmark
+    public TaskPage getMiddlePageByDeadline() {
+        return taskManager.getTaskPage(TaskStatus.PENDING, TaskSort.DEADLINE, middleCursor, 50);
+    }
+    
+    @Benchmark
+    public List<Task> getPendingTasks() {
+        return taskManager.getPendingTasks();
+    }
+    
+    @Benchmark
+    public Task getTaskById() {
+        nextLookup = (nextLookup + 1) & (lookupIds.length - 1);
+        return taskManager.getTaskById(lookupIds[nextLookup]);
+    }
+    
+    @Benchmark
+    public Map<String, Integer> getTaskStatistics() {
+        return taskManager.getTaskStatistics();
+    }
+    
+    @Benchmark
+    public TaskStatistics getStatistics() {
+        return taskManager.getStatistics();
+    }
+}
@@ -3,6 +3,12 @@ import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import taskscheduler.model.*;
 import taskscheduler.service.TaskManager;
+import taskscheduler.service.TaskPage;
+import taskscheduler.service.TaskSort;
+import taskscheduler.service.TaskStatistics;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 
 /**
@@ -115,6 +121,35 @@ public class TaskManagerTest {
         assertEquals(1, stats.get("pending"), "Pending should be 1");
     }
     
+    @Test
+    @DisplayName("Test running statistics follow every change")
+    public void testRunningStatistics() {
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        Task testTask3 = new Task("Read", "Chapter 3", Priority.HIGH, 0.5, "28-10-2025");
+        taskManager.addTask(testTask3);
+        taskManager.updateTaskStatus(testTask2.getTaskId(), TaskStatus.IN_PROGRESS);
+        taskManager.markTaskComplete(testTask1.getTaskId());
+        taskManager.markTaskComplete(testTask3.getTaskId());
+        
+        TaskStatistics stats = taskManager.getStatistics();
+        assertEquals(3, stats.getTotal());
+        assertEquals(1, stats.getCount(TaskStatus.IN_PROGRESS));
+        assertEquals(2, stats.getCount(Priority.HIGH));
+        assertEquals(1.0, stats.getRemainingHours(), 1e-9, "Only the open task's hours remain");
+        assertEquals(2, stats.getCompletedOn(LocalDate.now()));
+        assertEquals(1, taskManager.getTaskStatistics().get("inProgress"));
+        
+        taskManager.updateTaskStatus(testTask1.getTaskId(), TaskStatus.PENDING);
+        taskManager.deleteTask(testTask2.getTaskId());
+        stats = taskManager.getStatistics();
+        assertEquals(2, stats.getTotal());
+        assertEquals(0, stats.getCount(Priority.MEDIUM));
+        assertEquals(2.0, stats.getRemainingHours(), 1e-9);
+        assertEquals(1, stats.getCompletedOn(LocalDate.now()), "Reopening takes the completion back");
+        assertEquals(0, stats.getCompletedOn(LocalDate.now().minusDays(TaskStatistics.HISTORY_DAYS)));
+    }
+    
     @Test
     @DisplayName("Test task priority sorting")
     public void testTaskPrioritySorting() {
@@ -130,4 +165,172 @@ public class TaskManagerTest {
         assertEquals(Priority.HIGH, pending.get(0).getPriority(), 
                     "First task should be high priority");
     }
+    
+    @Test
+    @DisplayName("Test status index follows task completion")
+    public void testGetTasksByStatus() {
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        taskManager.markTaskComplete(testTask1.getTaskId());
+        
+        assertEquals(1, taskManager.getTasksByStatus(TaskStatus.PENDING).size());
+        assertEquals(testTask1, taskManager.getTasksByStatus(TaskStatus.COMPLETED).get(0));
+    }
+    
+    @Test
+    @DisplayName("Test priority index after deletion")
+    public void testGetTasksByPriority() {
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        
+        assertEquals(1, taskManager.getTasksByPriority(Priority.HIGH).size());
+        taskManager.deleteTask(testTask1.getTaskId());
+        assertTrue(taskManager.getTasksByPriority(Priority.HIGH).isEmpty(), 
+                  "Deleted task should leave the priority index");
+        assertNull(taskManager.getTaskById(testTask1.getTaskId()));
+    }
+    
+    @Test
+    @DisplayName("Test top pending tasks follow priority order")
+    public void testGetTopPendingTasks() {
+        Task lowPriorityTask = new Task("Low Task", "Low priority", 
+                                       Priority.LOW, 1.0, "28-10-2025");
+        taskManager.addTask(lowPriorityTask);
+        taskManager.addTask(testTask2);
+        taskManager.addTask(testTask1);
+        
+        List<Task> top = taskManager.getTopPendingTasks(2);
+        assertEquals(2, top.size(), "Should return only the requested number of tasks");
+        assertEquals(testTask1, top.get(0));
+        assertEquals(testTask2, top.get(1));
+        
+        taskManager.markTaskComplete(testTask1.getTaskId());
+        assertEquals(testTask2, taskManager.iteratePendingTasks().next(), 
+                    "Completed task should leave the pending queue");
+        assertEquals(2, taskManager.getPendingTaskCount());
+    }
+    
+    @Test
+    @DisplayName("Test deadlines order by date, not by text")
+    public void testDeadlineOrdering() {
+        Task december = new Task("December", "Later", Priority.HIGH, 1.0, "01-12-2025");
+        Task october = new Task("October", "Sooner", Priority.HIGH, 1.0, "15-10-2025");
+        Task undated = new Task("Undated", "No date", Priority.HIGH, 1.0, "someday");
+        
+        assertTrue(october.compareTo(december) < 0, "Earlier date should sort first");
+        assertTrue(december.compareTo(undated) < 0, "Unparseable deadline should sort last");
+        assertFalse(undated.hasDeadline());
+    }
+    
+    @Test
+    @DisplayName("Test deadline range queries")
+    public void testDeadlineRangeQueries() {
+        Task december = new Task("December", "Later", Priority.LOW, 1.0, "01-12-2025");
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        taskManager.addTask(december);
+        
+        List<Task> dueSoon = taskManager.getTasksDueBefore(LocalDate.of(2025, 11, 1));
+        assertEquals(2, dueSoon.size(), "Only October tasks are due before November");
+        assertEquals(testTask2, dueSoon.get(0), "Results should be earliest deadline first");
+        
+        List<Task> between = taskManager.getTasksDueBetween(LocalDate.of(2025, 10, 26),
+                                                            LocalDate.of(2025, 12, 1));
+        assertEquals(List.of(testTask1, december), between);
+        
+        taskManager.deleteTask(december.getTaskId());
+        assertTrue(taskManager.getTasksDueBetween(LocalDate.of(2025, 11, 1),
+                                                  LocalDate.of(2025, 12, 31)).isEmpty(),
+                  "Deleted task should leave the deadline index");
+    }
+    
+    @Test
+    @DisplayName("Test cursor paging stays stable while tasks change")
+    public void testTaskPages() {
+        Task late = new Task("Late", "", Priority.LOW, 1.0, "01-12-2025");
+        taskManager.addTask(testTask1);
+        taskManager.addTask(testTask2);
+        taskManager.addTask(late);
+        
+        TaskPage first = taskManager.getTaskPage(null, TaskSort.ISSUE, null, 2);
+        assertEquals(List.of(testTask1, testTask2), first.getTasks());
+        assertTrue(first.hasMore());
+        assertThrows(UnsupportedOperationException.class, () -> first.getTasks().clear(),
+                    "Pages should be read-only");
+        
+        taskManager.deleteTask(testTask2.getTaskId());
+        Task added = new Task("Added", "", Priority.HIGH, 1.0, "20-10-2025");
+        taskManager.addTask(added);
+        TaskPage second = taskManager.getTaskPage(null, TaskSort.ISSUE, first.getNextCursor(), 2);
+        assertEquals(List.of(late, added), second.getTasks(),
+                    "The next page should start after the last task seen, even if it was deleted");
+        assertFalse(second.hasMore());
+        
+        assertEquals(List.of(added, testTask1, late),
+                     taskManager.getTaskPage(null, TaskSort.DEADLINE, null, 10).getTasks());
+        assertEquals(List.of(testTask1, late),
+                     taskManager.getTaskPage(null, TaskSort.PRIORITY,
+                         taskManager.getTaskPage(null, TaskSort.PRIORITY, null, 1).getNextCursor(), 10).getTasks());
+        
+        taskManager.markTaskComplete(late.getTaskId());
+        assertEquals(List.of(late), taskManager.getTaskPage(TaskStatus.COMPLETED, TaskSort.ISSUE, null, 10).getTasks());
+        assertEquals(List.of(testTask1, added), taskManager.getTaskPage(TaskStatus.PENDING, TaskSort.ISSUE, null, 10).getTasks());
+        
+        assertThrows(IllegalArgumentException.class,
+                    () -> taskManager.getTaskPage(null, TaskSort.DEADLINE, first.getNextCursor(), 2),
+                    "A cursor only continues the sort it came from");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTaskPage(null, TaskSort.ISSUE, "!!", 2));
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTaskPage(null, TaskSort.ISSUE, null, 0));
+    }
+    
+    @Test
+    @DisplayName("Test decoding a cursor does not move the task id counter")
+    public void testCursorDoesNotReserveIds() {
+        taskManager.addTask(testTask1);
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                              .encodeToString("ISSUE:0:0:T2147483000".getBytes(StandardCharsets.UTF_8));
+        
+        assertTrue(taskManager.getTaskPage(null, TaskSort.ISSUE, cursor, 10).getTasks().isEmpty());
+        Task next = new Task("Next", "", Priority.LOW, 1.0, "30-10-2025");
+        assertTrue(next.getTaskId().length() < "T2147483000".length(),
+                  "A client-supplied cursor should not advance task ids");
+    }
+    
+    @Test
+    @DisplayName("Test search ranks name matches and follows additions and deletions")
+    public void testSearchTasks() {
+        Task review = new Task("Review notes", "Java exam prep", Priority.LOW, 1.0, "28-10-2025");
+        Task javadoc = new Task("Write Javadoc", "Document the API", Priority.MEDIUM, 1.0, "29-10-2025");
+        taskManager.addTask(testTask1);
+        taskManager.addTask(review);
+        taskManager.addTask(javadoc);
+        taskManager.addTask(testTask2);
+        
+        assertEquals(List.of(testTask1, javadoc, review), taskManager.searchTasks("java", null, null, 10),
+                    "Exact name match first; equal scores fall back to priority order");
+        assertEquals(List.of(testTask1), taskManager.searchTasks("JAVA oop", null, null, 10),
+                    "Every query word must match");
+        assertEquals(List.of(testTask2), taskManager.searchTasks("work", null, null, 10));
+        assertEquals(List.of(testTask1), taskManager.searchTasks("java", null, null, 1));
+        assertEquals(List.of(review), taskManager.searchTasks("java", Priority.LOW, null, 10));
+        
+        taskManager.markTaskComplete(testTask1.getTaskId());
+        assertEquals(List.of(testTask1), taskManager.searchTasks("java", null, TaskStatus.COMPLETED, 10),
+                    "Status filter should see the new status");
+        
+        taskManager.deleteTask(testTask1.getTaskId());
+        assertEquals(List.of(javadoc, review), taskManager.searchTasks("java", null, null, 10));
+        assertTrue(taskManager.searchTasks("  ", null, null, 10).isEmpty(), "Blank query matches nothing");
+        
+        List<String> bulkIds = new java.util.ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Task bulk = new Task("Bulk " + i, "", Priority.LOW, 1.0, "30-10-2025");
+            taskManager.addTask(bulk);
+            bulkIds.add(bulk.getTaskId());
+        }
+        bulkIds.subList(0, 2990).forEach(taskManager::deleteTask);
+        assertEquals(10, taskManager.searchTasks("bulk", null, null, 100).size(),
+                    "Deleted tasks should leave the index");
+        assertEquals("Bulk 2995", taskManager.searchTasks("bulk 2995", null, null, 5).get(0).getName());
+    }
 }
@@ -0,0 +1,80 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * One page of a task listing and the cursor for the page after it
+ * The cursor records the sort key of the last task rather than an offset, so
+ * paging stays stable while tasks are added or removed: each page starts
+ * strictly after the previous one in the chosen TaskSort.
+ */
+public final class TaskPage {
+    private final List<Task> tasks;
+    private final String nextCursor;
+    
+    TaskPage(List<Task> tasks, String nextCursor) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.nextCursor = nextCursor;
+    }
+    
+    /**
+     * Read-only tasks on this page, in the requested order
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+    
+    /**
+     * Cursor to pass for the next page, or null if this is the last one
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+    
+    /**
+     * Builds a page from up to pageSize + 1 tasks; the extra one only shows that more follow
+     */
+    static TaskPage of(List<Task> fetched, int pageSize, TaskSort sort) {
+        if (fetched.size() <= pageSize) {
+            return new TaskPage(fetched, null);
+        }
+        List<Task> tasks = fetched.subList(0, pageSize);
+        return new TaskPage(tasks, encode(sort, tasks.get(pageSize - 1)));
+    }
+    
+    /**
+     * Opaque cursor holding the sort and the last task's sort key
+     */
+    static String encode(TaskSort sort, Task last) {
+        String key = sort.name() + ":" + last.getPriority().ordinal() + ":" + last.getDeadlineEpochDay()
+                     + ":" + last.getTaskId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Turns a cursor back into a stand-in task with the same sort key, to seek past
+     */
+    static Task decode(String cursor, TaskSort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 4 || !parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor does not belong to a " + sort + " listing");
+        }
+        try {
+            Priority priority = Priority.values()[Integer.parseInt(parts[1])];
+            return Task.probe(parts[3], priority, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
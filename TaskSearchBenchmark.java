@@ -0,0 +1,60 @@
+package taskscheduler.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import taskscheduler.model.*;
+import taskscheduler.service.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ranked task search over large task sets
+ * Synthetic tasks are named "Task <n>" with description "Synthetic task <n>",
+ * so "task" matches every task, a number picks out one task and its prefix
+ * extensions, and "synth" is a prefix of one token found in every description.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TaskSearchBenchmark {
+    @Param({"100000", "1000000"})
+    public int taskCount;
+    
+    private TaskManager taskManager;
+    private String[] numberQueries;
+    private int nextQuery;
+    
+    @Setup
+    public void setUp() {
+        taskManager = SyntheticData.taskManager(taskCount, 0.3, SyntheticData.DEFAULT_SEED);
+        Random random = new Random(SyntheticData.DEFAULT_SEED);
+        numberQueries = new String[1024];
+        for (int i = 0; i < numberQueries.length; i++) {
+            numberQueries[i] = "task " + random.nextInt(taskCount);
+        }
+    }
+    
+    @Benchmark
+    public List<Task> searchCommonWord() {
+        return taskManager.searchTasks("task", null, null, 20);
+    }
+    
+    @Benchmark
+    public List<Task> searchCommonPrefixPending() {
+        return taskManager.searchTasks("synth", null, TaskStatus.PENDING, 20);
+    }
+    
+    @Benchmark
+    public List<Task> searchSelective() {
+        nextQuery = (nextQuery + 1) & (numberQueries.length - 1);
+        return taskManager.searchTasks(numberQueries[nextQuery], null, null, 20);
+    }
+    
+    @Benchmark
+    public List<Task> searchSelectiveHighPriority() {
+        nextQuery = (nextQuery + 1) & (numberQueries.length - 1);
+        return taskManager.searchTasks(numberQueries[nextQuery], Priority.HIGH, null, 20);
+    }
+}
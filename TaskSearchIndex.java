@@ -0,0 +1,353 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.util.*;
+
+/**
+ * Inverted index over task names and descriptions, kept by a TaskStore
+ * Text is lowercased and split on anything that is not a letter or digit.
+ * Each token keeps the tasks whose name, and those whose description, contain
+ * it as sets in scheduling order; tokens are sorted so a query word matches
+ * every token it is a prefix of.
+ * A query walks its rarest word's matches one score tier at a time, best tier
+ * first and in scheduling order within a tier, checking the filters and the
+ * other words against each candidate. It stops once no later candidate can
+ * outrank the hits it has, so a word that matches half the tasks costs about
+ * as much as one that matches a handful.
+ * Status and priority are read at query time, so a status change does not
+ * touch the index.
+ */
+final class TaskSearchIndex {
+    static final int NAME_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+    
+    /**
+     * Best score first, then scheduling order
+     */
+    static final Comparator<Hit> RANK_ORDER =
+        Comparator.comparingInt((Hit hit) -> -hit.score)
+                  .thenComparing(hit -> hit.task, TaskStore.PENDING_ORDER);
+    
+    /**
+     * Driver word score per tier; an exact description match scores the same as
+     * a prefix name match, so they share the middle tier
+     */
+    private static final int[] TIER_SCORES = {NAME_WEIGHT * 2, DESCRIPTION_WEIGHT * 2, DESCRIPTION_WEIGHT};
+    
+    private final NavigableMap<String, Postings> postingsByToken = new TreeMap<>();
+    
+    /**
+     * A matching task and its score
+     */
+    static final class Hit {
+        final Task task;
+        final int score;
+        
+        Hit(Task task, int score) {
+            this.task = task;
+            this.score = score;
+        }
+    }
+    
+    /**
+     * Tasks containing one token, split by field; a set is created on first use
+     */
+    private static final class Postings {
+        NavigableSet<Task> inName;
+        NavigableSet<Task> inDescription;
+        
+        boolean isEmpty() {
+            return (inName == null || inName.isEmpty()) && (inDescription == null || inDescription.isEmpty());
+        }
+        
+        int size() {
+            return (inName == null ? 0 : inName.size()) + (inDescription == null ? 0 : inDescription.size());
+        }
+    }
+    
+    void add(Task task) {
+        for (String token : tokenize(task.getName())) {
+            Postings postings = postingsByToken.computeIfAbsent(token, key -> new Postings());
+            if (postings.inName == null) {
+                postings.inName = new TreeSet<>(TaskStore.PENDING_ORDER);
+            }
+            postings.inName.add(task);
+        }
+        for (String token : tokenize(task.getDescription())) {
+            Postings postings = postingsByToken.computeIfAbsent(token, key -> new Postings());
+            if (postings.inDescription == null) {
+                postings.inDescription = new TreeSet<>(TaskStore.PENDING_ORDER);
+            }
+            postings.inDescription.add(task);
+        }
+    }
+    
+    void remove(Task task) {
+        for (String token : tokenize(task.getName())) {
+            Postings postings = postingsByToken.get(token);
+            if (postings != null && postings.inName != null) {
+                postings.inName.remove(task);
+                removeIfEmpty(token, postings);
+            }
+        }
+        for (String token : tokenize(task.getDescription())) {
+            Postings postings = postingsByToken.get(token);
+            if (postings != null && postings.inDescription != null) {
+                postings.inDescription.remove(task);
+                removeIfEmpty(token, postings);
+            }
+        }
+    }
+    
+    void clear() {
+        postingsByToken.clear();
+    }
+    
+    /**
+     * Returns up to limit tasks matching every word of the query, best first
+     * A task scores per word NAME_WEIGHT for a name token or DESCRIPTION_WEIGHT
+     * for a description token, doubled when the token equals the word rather
+     * than only starting with it. A null priority or status matches any.
+     */
+    List<Hit> search(String query, Priority priority, TaskStatus status, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        
+        int driver = -1;
+        NavigableMap<String, Postings> expansion = null;
+        long driverSize = Long.MAX_VALUE;
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            NavigableMap<String, Postings> matches = postingsByToken.subMap(word, true, word + Character.MAX_VALUE, true);
+            long size = 0;
+            for (Postings postings : matches.values()) {
+                size += postings.size();
+            }
+            if (size < driverSize) {
+                driver = w;
+                expansion = matches;
+                driverSize = size;
+            }
+        }
+        if (driverSize == 0) {
+            return new ArrayList<>();
+        }
+        
+        int othersBound = (words.size() - 1) * NAME_WEIGHT * 2;
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANK_ORDER.reversed());
+        Set<Task> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<List<NavigableSet<Task>>> tiers = tiers(words.get(driver), expansion);
+        
+        for (int tier = 0; tier < tiers.size(); tier++) {
+            Iterator<Task> candidates = merged(tiers.get(tier));
+            while (candidates.hasNext()) {
+                Task task = candidates.next();
+                if (best.size() == limit) {
+                    Hit worst = best.peek();
+                    int bound = TIER_SCORES[tier] + othersBound;
+                    if (bound < worst.score
+                            || (bound == worst.score && TaskStore.PENDING_ORDER.compare(task, worst.task) > 0)) {
+                        return ranked(best);
+                    }
+                }
+                if (!seen.add(task)
+                        || (priority != null && task.getPriority() != priority)
+                        || (status != null && task.getStatus() != status)) {
+                    continue;
+                }
+                int score = TIER_SCORES[tier];
+                for (int w = 0; w < words.size() && score > 0; w++) {
+                    if (w != driver) {
+                        int wordScore = wordScore(task, words.get(w));
+                        score = wordScore == 0 ? 0 : score + wordScore;
+                    }
+                }
+                if (score == 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new Hit(task, score));
+                } else if (outranks(score, task, best.peek())) {
+                    best.poll();
+                    best.add(new Hit(task, score));
+                }
+            }
+        }
+        return ranked(best);
+    }
+    
+    /**
+     * Splits text into lowercase runs of letters and digits
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+    
+    /**
+     * Candidates of a word by score tier: an exact name match, then an exact
+     * description or prefix name match, then a prefix description match
+     */
+    private static List<List<NavigableSet<Task>>> tiers(String word, NavigableMap<String, Postings> expansion) {
+        List<NavigableSet<Task>> exactNames = new ArrayList<>();
+        List<NavigableSet<Task>> middle = new ArrayList<>();
+        List<NavigableSet<Task>> prefixDescriptions = new ArrayList<>();
+        for (Map.Entry<String, Postings> term : expansion.entrySet()) {
+            Postings postings = term.getValue();
+            if (term.getKey().equals(word)) {
+                addIfPresent(exactNames, postings.inName);
+                addIfPresent(middle, postings.inDescription);
+            } else {
+                addIfPresent(middle, postings.inName);
+                addIfPresent(prefixDescriptions, postings.inDescription);
+            }
+        }
+        return List.of(exactNames, middle, prefixDescriptions);
+    }
+    
+    /**
+     * Iterates several sets in scheduling order, merging their heads
+     * A task found in more than one set is returned once per set. The heads
+     * are heapified in one pass, since a short prefix can match many tokens.
+     */
+    private static Iterator<Task> merged(List<NavigableSet<Task>> sets) {
+        if (sets.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        if (sets.size() == 1) {
+            return sets.get(0).iterator();
+        }
+        List<PeekingIterator> iterators = new ArrayList<>(sets.size());
+        for (NavigableSet<Task> set : sets) {
+            iterators.add(new PeekingIterator(set.iterator()));
+        }
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(iterators);
+        return new Iterator<Task>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+            
+            @Override
+            public Task next() {
+                PeekingIterator next = heads.poll();
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Task task = next.head;
+                if (next.advance()) {
+                    heads.add(next);
+                }
+                return task;
+            }
+        };
+    }
+    
+    private static void addIfPresent(List<NavigableSet<Task>> sets, NavigableSet<Task> set) {
+        if (set != null && !set.isEmpty()) {
+            sets.add(set);
+        }
+    }
+    
+    private static boolean outranks(int score, Task task, Hit worst) {
+        return score > worst.score
+               || (score == worst.score && TaskStore.PENDING_ORDER.compare(task, worst.task) < 0);
+    }
+    
+    private static List<Hit> ranked(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANK_ORDER);
+        return hits;
+    }
+    
+    private void removeIfEmpty(String token, Postings postings) {
+        if (postings.isEmpty()) {
+            postingsByToken.remove(token);
+        }
+    }
+    
+    /**
+     * Scores one query word against a task's text, 0 if neither field matches
+     */
+    private static int wordScore(Task task, String word) {
+        int score = matchWeight(task.getName(), word, NAME_WEIGHT);
+        if (score < NAME_WEIGHT * 2) {
+            score = Math.max(score, matchWeight(task.getDescription(), word, DESCRIPTION_WEIGHT));
+        }
+        return score;
+    }
+    
+    /**
+     * Matches a lowercase word against the tokens of text in place, without splitting it:
+     * weight * 2 if a token equals the word, weight if one only starts with it, else 0
+     */
+    private static int matchWeight(String text, String word, int weight) {
+        if (text == null) {
+            return 0;
+        }
+        int best = 0;
+        int length = text.length();
+        for (int i = 0; i + word.length() <= length; i++) {
+            if (!Character.isLetterOrDigit(text.charAt(i))
+                    || (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                continue;
+            }
+            int j = 0;
+            while (j < word.length() && Character.toLowerCase(text.charAt(i + j)) == word.charAt(j)) {
+                j++;
+            }
+            if (j == word.length()) {
+                int end = i + j;
+                if (end == length || !Character.isLetterOrDigit(text.charAt(end))) {
+                    return weight * 2;
+                }
+                best = weight;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Iterator with its next element already fetched, so heads can be compared
+     */
+    private static final class PeekingIterator implements Comparable<PeekingIterator> {
+        private final Iterator<Task> it;
+        private Task head;
+        
+        PeekingIterator(Iterator<Task> it) {
+            this.it = it;
+            this.head = it.next();
+        }
+        
+        boolean advance() {
+            if (it.hasNext()) {
+                head = it.next();
+                return true;
+            }
+            return false;
+        }
+        
+        @Override
+        public int compareTo(PeekingIterator other) {
+            return TaskStore.PENDING_ORDER.compare(head, other.head);
+        }
+    }
+}
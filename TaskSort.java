@@ -0,0 +1,34 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.util.Comparator;
+
+/**
+ * Orders in which tasks can be listed page by page
+ * Every order ends with the task id, so it is total and pages never overlap.
+ */
+public enum TaskSort {
+    /**
+     * The order ids were issued in, which is creation order
+     */
+    ISSUE((a, b) -> Task.compareTaskIds(a.getTaskId(), b.getTaskId())),
+    /**
+     * Scheduling order: priority, then deadline
+     */
+    PRIORITY(TaskStore.PENDING_ORDER),
+    /**
+     * Earliest deadline first
+     */
+    DEADLINE(Comparator.comparingLong(Task::getDeadlineEpochDay)
+                       .thenComparing((a, b) -> Task.compareTaskIds(a.getTaskId(), b.getTaskId())));
+    
+    private final Comparator<Task> comparator;
+    
+    TaskSort(Comparator<Task> comparator) {
+        this.comparator = comparator;
+    }
+    
+    public Comparator<Task> comparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,87 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Point-in-time task statistics copied from counters that are kept up to date on every change
+ * Taking a snapshot costs the same however many tasks there are. Completions
+ * per day cover the last HISTORY_DAYS days and count the completed tasks by
+ * the day they were completed on, which is saved with them; reopening or
+ * deleting a task takes its completion back off that day.
+ */
+public final class TaskStatistics {
+    public static final int HISTORY_DAYS = TaskCounters.HISTORY_DAYS;
+    
+    private final int[] byStatus;
+    private final int[] byPriority;
+    private final long remainingMinutes;
+    private final TaskCounters history;
+    
+    TaskStatistics(TaskCounters counters) {
+        this.byStatus = counters.byStatus.clone();
+        this.byPriority = counters.byPriority.clone();
+        this.remainingMinutes = counters.remainingMinutes;
+        this.history = new TaskCounters();
+        System.arraycopy(counters.bucketDay, 0, history.bucketDay, 0, HISTORY_DAYS);
+        System.arraycopy(counters.completedInBucket, 0, history.completedInBucket, 0, HISTORY_DAYS);
+    }
+    
+    public int getTotal() {
+        int total = 0;
+        for (int count : byStatus) {
+            total += count;
+        }
+        return total;
+    }
+    
+    public int getCount(TaskStatus status) {
+        return byStatus[status.ordinal()];
+    }
+    
+    public int getCount(Priority priority) {
+        return byPriority[priority.ordinal()];
+    }
+    
+    /**
+     * Hours of work in tasks that are not completed, to the minute
+     */
+    public double getRemainingHours() {
+        return remainingMinutes / 60.0;
+    }
+    
+    public int getCompletedOn(LocalDate date) {
+        return history.completedOn(date.toEpochDay());
+    }
+    
+    /**
+     * Returns completions for each day from one date to another inclusive, in date order
+     */
+    public Map<LocalDate, Integer> getCompletedPerDay(LocalDate from, LocalDate to) {
+        Map<LocalDate, Integer> perDay = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            perDay.put(day, getCompletedOn(day));
+        }
+        return perDay;
+    }
+    
+    /**
+     * The counts under the keys of TaskManager.getTaskStatistics
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("total", getTotal());
+        stats.put("pending", getCount(TaskStatus.PENDING));
+        stats.put("inProgress", getCount(TaskStatus.IN_PROGRESS));
+        stats.put("completed", getCount(TaskStatus.COMPLETED));
+        return stats;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d tasks (%d pending, %d in progress, %d completed), %.1fh remaining",
+                             getTotal(), getCount(TaskStatus.PENDING), getCount(TaskStatus.IN_PROGRESS),
+                             getCount(TaskStatus.COMPLETED), getRemainingHours());
+    }
+}
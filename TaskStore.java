@@ -0,0 +1,491 @@
+package taskscheduler.service;
+
+import taskscheduler.model.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Indexed storage behind TaskManager
+ * Keeps a hash index on task id plus secondary indexes by status and priority,
+ * an ordered deadline index for range queries, and for each TaskSort an
+ * ordered set of tasks per status, which serve cursor paging; the pending set
+ * in PRIORITY order is the scheduling queue. TaskCounters totals are updated alongside
+ * the indexes, so statistics never need a scan. A TaskSearchIndex over names
+ * and descriptions follows additions and removals.
+ * When backed by a TaskArchive, only pending and in-progress tasks are decoded
+ * up front; completed ones stay archived until something asks for them. The
+ * archive's counts by status and priority stand in for them in statistics.
+ */
+public class TaskStore {
+    /**
+     * Task ordering with the task id as tie-breaker so equal tasks stay distinct
+     */
+    public static final Comparator<Task> PENDING_ORDER =
+        Comparator.<Task>naturalOrder().thenComparing(Task::getTaskId);
+    
+    private final Map<String, Task> tasksById;
+    private final Map<TaskStatus, Map<String, Task>> tasksByStatus;
+    private final Map<Priority, Map<String, Task>> tasksByPriority;
+    private final NavigableMap<Long, Map<String, Task>> tasksByDeadline;
+    private final Map<TaskSort, Map<TaskStatus, NavigableSet<Task>>> sortedByStatus;
+    private final NavigableSet<Task> pendingQueue;
+    private final Set<String> detachedIds;
+    private final int[] archivedRemaining;
+    private int[][] archivedByPriority;
+    private final TaskCounters counters;
+    private final TaskCounters archivedCompletions;
+    private final TaskSearchIndex searchIndex;
+    private TaskArchive archive;
+    
+    public TaskStore() {
+        this.tasksById = new LinkedHashMap<>();
+        this.tasksByStatus = new EnumMap<>(TaskStatus.class);
+        this.tasksByPriority = new EnumMap<>(Priority.class);
+        this.tasksByDeadline = new TreeMap<>();
+        this.sortedByStatus = new EnumMap<>(TaskSort.class);
+        this.detachedIds = new HashSet<>();
+        this.archivedRemaining = new int[TaskStatus.values().length];
+        this.counters = new TaskCounters();
+        this.archivedCompletions = new TaskCounters();
+        this.searchIndex = new TaskSearchIndex();
+        
+        for (TaskStatus status : TaskStatus.values()) {
+            tasksByStatus.put(status, new LinkedHashMap<>());
+        }
+        for (Priority priority : Priority.values()) {
+            tasksByPriority.put(priority, new LinkedHashMap<>());
+        }
+        for (TaskSort sort : TaskSort.values()) {
+            Map<TaskStatus, NavigableSet<Task>> sets = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                sets.put(status, new TreeSet<>(sort.comparator()));
+            }
+            sortedByStatus.put(sort, sets);
+        }
+        this.pendingQueue = sortedByStatus.get(TaskSort.PRIORITY).get(TaskStatus.PENDING);
+    }
+    
+    /**
+     * Creates a store over archived tasks, decoding only the ones still to be done
+     */
+    public TaskStore(TaskArchive archive) {
+        this();
+        this.archive = archive;
+        this.archivedByPriority = priorityCounts(archive);
+        for (TaskStatus status : TaskStatus.values()) {
+            archivedRemaining[status.ordinal()] = archive.count(status);
+        }
+        for (Map.Entry<Long, Integer> completions : archive.completionsByDay().entrySet()) {
+            archivedCompletions.recordCompletions(completions.getKey(), completions.getValue());
+        }
+        for (TaskStatus status : TaskStatus.values()) {
+            if (status != TaskStatus.COMPLETED) {
+                for (Task task : archive.loadWithStatus(status)) {
+                    detach(task);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Adds a task, replacing any task already stored under the same id
+     */
+    public void add(Task task) {
+        if (archive != null && !detachedIds.contains(task.getTaskId())) {
+            Task archived = archive.find(task.getTaskId());
+            if (archived != null) {
+                detachedIds.add(archived.getTaskId());
+                countDetached(archived);
+            }
+        }
+        Task previous = tasksById.put(task.getTaskId(), task);
+        if (previous != null) {
+            unindex(previous);
+            searchIndex.remove(previous);
+        }
+        index(task);
+        searchIndex.add(task);
+    }
+    
+    public Task get(String taskId) {
+        Task task = tasksById.get(taskId);
+        if (task == null && archive != null && !detachedIds.contains(taskId)) {
+            task = archive.find(taskId);
+            if (task != null) {
+                detach(task);
+            }
+        }
+        return task;
+    }
+    
+    /**
+     * Removes a task from all indexes, returning it or null if absent
+     */
+    public Task remove(String taskId) {
+        Task task = get(taskId);
+        if (task != null) {
+            tasksById.remove(taskId);
+            unindex(task);
+            searchIndex.remove(task);
+        }
+        return task;
+    }
+    
+    /**
+     * Changes the status of a stored task and moves it to the matching status index
+     * A task that becomes completed is stamped with the given day, which its
+     * completion is counted on until the task is reopened, replaced or removed.
+     */
+    public void updateStatus(Task task, TaskStatus status, LocalDate on) {
+        TaskStatus previous = task.getStatus();
+        unindex(task);
+        task.setStatus(status);
+        if (status != TaskStatus.COMPLETED) {
+            task.setCompletedEpochDay(Task.NOT_COMPLETED);
+        } else if (previous != TaskStatus.COMPLETED) {
+            task.setCompletedEpochDay(on.toEpochDay());
+        }
+        index(task);
+    }
+    
+    /**
+     * Returns a read-only view of all tasks in insertion order
+     */
+    public Collection<Task> all() {
+        materializeArchive();
+        return Collections.unmodifiableCollection(tasksById.values());
+    }
+    
+    public Collection<Task> withStatus(TaskStatus status) {
+        if (archivedRemaining[status.ordinal()] > 0) {
+            materializeArchive();
+        }
+        return Collections.unmodifiableCollection(tasksByStatus.get(status).values());
+    }
+    
+    public Collection<Task> withPriority(Priority priority) {
+        materializeArchive();
+        return Collections.unmodifiableCollection(tasksByPriority.get(priority).values());
+    }
+    
+    /**
+     * Returns tasks whose deadline epoch day lies in [fromDay, toDay], earliest first
+     */
+    public List<Task> dueBetween(long fromDay, long toDay) {
+        materializeArchive();
+        List<Task> due = new ArrayList<>();
+        if (fromDay > toDay) {
+            return due;
+        }
+        for (Map<String, Task> sameDay : tasksByDeadline.subMap(fromDay, true, toDay, true).values()) {
+            due.addAll(sameDay.values());
+        }
+        return due;
+    }
+    
+    /**
+     * Returns a read-only view of pending tasks ordered by priority, then deadline
+     */
+    public SortedSet<Task> pending() {
+        return Collections.unmodifiableSortedSet(pendingQueue);
+    }
+    
+    /**
+     * Returns up to limit + 1 tasks after the given one in sort order, so the
+     * caller can tell whether another page follows
+     * A null status lists every task; a null after starts from the beginning.
+     * Archived tasks are merged in from the archive's own sort order and only
+     * the ones on the page are decoded into the store.
+     */
+    public List<Task> page(TaskStatus status, TaskSort sort, Task after, int limit) {
+        Iterator<Task> tasks = sorted(status, sort, after);
+        List<Task> page = new ArrayList<>(Math.min(limit, 1023) + 1);
+        while (page.size() <= limit && tasks.hasNext()) {
+            page.add(tasks.next());
+        }
+        for (Task task : page) {
+            if (tasksById.get(task.getTaskId()) != task) {
+                detach(task);
+            }
+        }
+        return page;
+    }
+    
+    /**
+     * Iterates every task in sort order without decoding archived tasks into the store
+     * Archived tasks are decoded one at a time and dropped once the caller moves on.
+     */
+    public Iterator<Task> scan(TaskSort sort) {
+        return sorted(null, sort, null);
+    }
+    
+    /**
+     * Merges the in-memory sets with the archive's own order for the tasks after the given one
+     */
+    private Iterator<Task> sorted(TaskStatus status, TaskSort sort, Task after) {
+        List<Iterator<Task>> sources = archivedSources(status, sort, after);
+        if (sources == null) {
+            materializeArchive();
+            sources = new ArrayList<>();
+        }
+        Map<TaskStatus, NavigableSet<Task>> sets = sortedByStatus.get(sort);
+        for (TaskStatus candidate : TaskStatus.values()) {
+            if (status == null || status == candidate) {
+                NavigableSet<Task> set = sets.get(candidate);
+                sources.add((after == null ? set : set.tailSet(after, false)).iterator());
+            }
+        }
+        return merge(sources, sort.comparator());
+    }
+    
+    /**
+     * Merges iterators that are each already in the given order
+     */
+    static Iterator<Task> merge(List<Iterator<Task>> sources, Comparator<Task> order) {
+        Task[] heads = new Task[sources.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = sources.get(i).hasNext() ? sources.get(i).next() : null;
+        }
+        return new Iterator<Task>() {
+            @Override
+            public boolean hasNext() {
+                for (Task head : heads) {
+                    if (head != null) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            
+            @Override
+            public Task next() {
+                int next = -1;
+                for (int i = 0; i < heads.length; i++) {
+                    if (heads[i] != null && (next < 0 || order.compare(heads[i], heads[next]) < 0)) {
+                        next = i;
+                    }
+                }
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                Task task = heads[next];
+                heads[next] = sources.get(next).hasNext() ? sources.get(next).next() : null;
+                return task;
+            }
+        };
+    }
+    
+    /**
+     * Iterators over the archived tasks not yet decoded, in sort order after the given task
+     * Returns null if the archive cannot list them in that order.
+     */
+    private List<Iterator<Task>> archivedSources(TaskStatus status, TaskSort sort, Task after) {
+        List<Iterator<Task>> sources = new ArrayList<>();
+        if (archive == null) {
+            return sources;
+        }
+        for (TaskStatus candidate : TaskStatus.values()) {
+            if ((status == null || status == candidate) && archivedRemaining[candidate.ordinal()] > 0) {
+                Iterator<Task> archived = archive.iterate(candidate, sort, after);
+                if (archived == null) {
+                    return null;
+                }
+                sources.add(undetached(archived));
+            }
+        }
+        return sources;
+    }
+    
+    /**
+     * Skips archived tasks that have already been decoded into the store
+     */
+    private Iterator<Task> undetached(Iterator<Task> archived) {
+        return new Iterator<Task>() {
+            private Task next = advance();
+            
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            
+            @Override
+            public Task next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Task task = next;
+                next = advance();
+                return task;
+            }
+            
+            private Task advance() {
+                while (archived.hasNext()) {
+                    Task task = archived.next();
+                    if (!detachedIds.contains(task.getTaskId())) {
+                        return task;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+    
+    public int size() {
+        return tasksById.size() + Arrays.stream(archivedRemaining).sum();
+    }
+    
+    public int countWithStatus(TaskStatus status) {
+        return counters.byStatus[status.ordinal()] + archivedRemaining[status.ordinal()];
+    }
+    
+    /**
+     * Adds this store's counters into a sum, counting archived tasks from the archive's totals
+     * Archived tasks are only decoded if the archive lacks counts by priority, or
+     * holds unfinished tasks whose remaining hours are not known.
+     */
+    void addStatisticsTo(TaskCounters sum) {
+        if (archive != null && (archivedByPriority == null
+                                || archivedRemaining[TaskStatus.PENDING.ordinal()] > 0
+                                || archivedRemaining[TaskStatus.IN_PROGRESS.ordinal()] > 0)) {
+            materializeArchive();
+        }
+        counters.addTo(sum);
+        archivedCompletions.addTo(sum);
+        if (archive != null) {
+            for (int status = 0; status < archivedRemaining.length; status++) {
+                sum.byStatus[status] += archivedRemaining[status];
+                for (int priority = 0; priority < sum.byPriority.length; priority++) {
+                    sum.byPriority[priority] += archivedByPriority[status][priority];
+                }
+            }
+        }
+    }
+    
+    public TaskStatistics statistics() {
+        TaskCounters sum = new TaskCounters();
+        addStatisticsTo(sum);
+        return new TaskStatistics(sum);
+    }
+    
+    /**
+     * Returns up to limit tasks matching every word of the query, best first
+     * Each word matches name and description words it is a prefix of; a null
+     * priority or status matches any.
+     */
+    public List<Task> search(String query, Priority priority, TaskStatus status, int limit) {
+        List<Task> tasks = new ArrayList<>();
+        for (TaskSearchIndex.Hit hit : searchHits(query, priority, status, limit)) {
+            tasks.add(hit.task);
+        }
+        return tasks;
+    }
+    
+    List<TaskSearchIndex.Hit> searchHits(String query, Priority priority, TaskStatus status, int limit) {
+        materializeArchive();
+        return searchIndex.search(query, priority, status, limit);
+    }
+    
+    /**
+     * Moves a task decoded from the archive into the in-memory indexes
+     */
+    private void detach(Task task) {
+        detachedIds.add(task.getTaskId());
+        countDetached(task);
+        tasksById.put(task.getTaskId(), task);
+        index(task);
+        searchIndex.add(task);
+    }
+    
+    /**
+     * Archived task counts by status and priority, or null if the archive does not record them
+     */
+    private static int[][] priorityCounts(TaskArchive archive) {
+        int[][] counts = new int[TaskStatus.values().length][Priority.values().length];
+        for (TaskStatus status : TaskStatus.values()) {
+            for (Priority priority : Priority.values()) {
+                counts[status.ordinal()][priority.ordinal()] = archive.count(status, priority);
+                if (counts[status.ordinal()][priority.ordinal()] < 0) {
+                    return null;
+                }
+            }
+        }
+        return counts;
+    }
+    
+    private void countDetached(Task archived) {
+        archivedRemaining[archived.getStatus().ordinal()]--;
+        if (archived.getStatus() == TaskStatus.COMPLETED && archived.getCompletedEpochDay() != Task.NOT_COMPLETED) {
+            archivedCompletions.recordCompletions(archived.getCompletedEpochDay(), -1);
+        }
+        if (archivedByPriority != null) {
+            archivedByPriority[archived.getStatus().ordinal()][archived.getPriority().ordinal()]--;
+        }
+    }
+    
+    /**
+     * Decodes every task still in the archive, keeping the saved order and
+     * the identity of tasks that were already decoded
+     */
+    private void materializeArchive() {
+        if (archive == null) {
+            return;
+        }
+        TaskArchive source = archive;
+        archive = null;
+        
+        Map<String, Task> current = new LinkedHashMap<>(tasksById);
+        tasksById.clear();
+        tasksByStatus.values().forEach(Map::clear);
+        tasksByPriority.values().forEach(Map::clear);
+        tasksByDeadline.clear();
+        sortedByStatus.values().forEach(sets -> sets.values().forEach(Set::clear));
+        counters.clear();
+        archivedCompletions.clear();
+        searchIndex.clear();
+        
+        for (Task archived : source.loadAll()) {
+            String taskId = archived.getTaskId();
+            Task task = detachedIds.contains(taskId) ? current.remove(taskId) : archived;
+            if (task != null) {
+                tasksById.put(taskId, task);
+                index(task);
+                searchIndex.add(task);
+            }
+        }
+        for (Task task : current.values()) {
+            tasksById.put(task.getTaskId(), task);
+            index(task);
+            searchIndex.add(task);
+        }
+        detachedIds.clear();
+        Arrays.fill(archivedRemaining, 0);
+        archivedByPriority = null;
+    }
+    
+    private void index(Task task) {
+        tasksByStatus.get(task.getStatus()).put(task.getTaskId(), task);
+        tasksByPriority.get(task.getPriority()).put(task.getTaskId(), task);
+        tasksByDeadline.computeIfAbsent(task.getDeadlineEpochDay(), day -> new LinkedHashMap<>())
+                       .put(task.getTaskId(), task);
+        for (Map<TaskStatus, NavigableSet<Task>> sets : sortedByStatus.values()) {
+            sets.get(task.getStatus()).add(task);
+        }
+        counters.add(task);
+    }
+    
+    private void unindex(Task task) {
+        tasksByStatus.get(task.getStatus()).remove(task.getTaskId());
+        tasksByPriority.get(task.getPriority()).remove(task.getTaskId());
+        Map<String, Task> sameDay = tasksByDeadline.get(task.getDeadlineEpochDay());
+        if (sameDay != null) {
+            sameDay.remove(task.getTaskId());
+            if (sameDay.isEmpty()) {
+                tasksByDeadline.remove(task.getDeadlineEpochDay());
+            }
+        }
+        for (Map<TaskStatus, NavigableSet<Task>> sets : sortedByStatus.values()) {
+            sets.get(task.getStatus()).remove(task);
+        }
+        counters.remove(task);
+    }
+}
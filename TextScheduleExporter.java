@@ -0,0 +1,73 @@
+package taskscheduler.util;
+
+import taskscheduler.model.*;
+import taskscheduler.service.CompactSchedule;
+import taskscheduler.service.ScheduleBlocks;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * The human-readable text export, laid out day by day
+ */
+public class TextScheduleExporter implements ScheduleExporter {
+    private static final String NL = System.lineSeparator();
+    private static final String DOUBLE_RULE = "═══════════════════════════════════════════════════════";
+    private static final String RULE = "────────────────────────────────────────────────────────────────";
+    private static final DateTimeFormatter GENERATED_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    
+    @Override
+    public void export(ScheduleBlocks schedule, Writer out) throws IOException {
+        out.write(DOUBLE_RULE + NL);
+        out.write("           CUSTOMIZABLE TASK SCHEDULER - EXPORT         " + NL);
+        out.write(DOUBLE_RULE + NL + NL);
+        out.write("Generated on: " + LocalDateTime.now().format(GENERATED_FORMAT) + NL + NL);
+        
+        for (int day = 0; day < CompactSchedule.DAYS_PER_WEEK; day++) {
+            out.write(NL + ">>> " + CompactSchedule.dayName(day).toUpperCase() + " <<<" + NL);
+            out.write(RULE + NL);
+            
+            int end = schedule.dayStart(day + 1);
+            if (schedule.dayStart(day) == end) {
+                out.write("  No tasks scheduled for this day." + NL);
+            }
+            for (int i = schedule.dayStart(day); i < end; i++) {
+                out.write("  [");
+                schedule.appendStartTime(i, out);
+                out.write(" - ");
+                schedule.appendEndTime(i, out);
+                out.write("] ");
+                out.write(schedule.getTask(i).getName());
+                if (schedule.getSplitPart(i) != 0) {
+                    out.write(" (Part ");
+                    out.write(Integer.toString(schedule.getSplitPart(i)));
+                    out.write(")");
+                }
+                out.write(" - Priority: ");
+                out.write(schedule.getTask(i).getPriority().name());
+                out.write(NL);
+            }
+        }
+        
+        List<Task> unscheduledTasks = schedule.getUnscheduledTasks();
+        if (!unscheduledTasks.isEmpty()) {
+            out.write(NL + ">>> UNSCHEDULED TASKS <<<" + NL);
+            out.write(RULE + NL);
+            for (Task task : unscheduledTasks) {
+                out.write("  [");
+                out.write(task.getTaskId());
+                out.write("] ");
+                out.write(task.getName());
+                out.write(" - Priority: ");
+                out.write(task.getPriority().name());
+                out.write(" - Duration: ");
+                out.write(Double.toString(task.getDurationHours()));
+                out.write("h" + NL);
+            }
+        }
+        
+        out.write(NL + DOUBLE_RULE + NL);
+    }
+}
@@ -3,12 +3,14 @@ package taskscheduler.service;
 import taskscheduler.model.TimeSlot;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class UserScheduleManager implements Serializable {
     private static final long serialVersionUID = 1L;
     
     private List<TimeSlot> weekdaySchedule;
     private List<TimeSlot> weekendSchedule;
+    private transient volatile List<Runnable> changeListeners;
     
     public UserScheduleManager() {
         this.weekdaySchedule = new ArrayList<>();
@@ -17,10 +19,28 @@ public class UserScheduleManager implements Serializable {
     
     public void setWeekdaySchedule(List<TimeSlot> schedule) {
         this.weekdaySchedule = new ArrayList<>(schedule);
+        fireChanged();
     }
     
     public void setWeekendSchedule(List<TimeSlot> schedule) {
         this.weekendSchedule = new ArrayList<>(schedule);
+        fireChanged();
+    }
+    
+    /**
+     * Registers a callback run on the mutating thread after either schedule is replaced
+     */
+    public synchronized void addChangeListener(Runnable listener) {
+        if (changeListeners == null) {
+            changeListeners = new CopyOnWriteArrayList<>();
+        }
+        changeListeners.add(listener);
+    }
+    
+    public synchronized void removeChangeListener(Runnable listener) {
+        if (changeListeners != null) {
+            changeListeners.remove(listener);
+        }
     }
     
     public List<TimeSlot> getWeekdaySchedule() {
@@ -44,4 +64,13 @@ public class UserScheduleManager implements Serializable {
                                             .sum() * 2;
         return weekdayHours + weekendHours;
     }
+    
+    private void fireChanged() {
+        List<Runnable> listeners = changeListeners;
+        if (listeners != null) {
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package taskscheduler.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One user's schedule configuration, tasks and generated schedule
+ * None of the three is thread-safe, so SchedulingService only touches them
+ * while holding the workspace lock. Once evicted, a workspace has been saved
+ * and dropped, and must not be changed any more.
+ */
+public class UserWorkspace {
+    private final String userId;
+    private final ReentrantLock lock;
+    private final UserScheduleManager scheduleManager;
+    private final TaskManager taskManager;
+    private final SchedulingEngine schedulingEngine;
+    private boolean evicted;
+    
+    public UserWorkspace(String userId) {
+        this(userId, new UserScheduleManager(), new TaskManager(), new SchedulingEngine());
+    }
+    
+    public UserWorkspace(String userId, UserScheduleManager scheduleManager,
+                         TaskManager taskManager, SchedulingEngine schedulingEngine) {
+        this.userId = userId;
+        this.lock = new ReentrantLock();
+        this.scheduleManager = scheduleManager;
+        this.taskManager = taskManager;
+        this.schedulingEngine = schedulingEngine;
+        schedulingEngine.setQuiet(true);
+    }
+    
+    public String getUserId() { return userId; }
+    public UserScheduleManager getScheduleManager() { return scheduleManager; }
+    public TaskManager getTaskManager() { return taskManager; }
+    public SchedulingEngine getSchedulingEngine() { return schedulingEngine; }
+    
+    ReentrantLock lock() {
+        return lock;
+    }
+    
+    /**
+     * Whether the workspace has been saved and dropped; read and set under the lock
+     */
+    boolean isEvicted() {
+        return evicted;
+    }
+    
+    void markEvicted() {
+        evicted = true;
+    }
+}
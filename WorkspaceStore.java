@@ -0,0 +1,15 @@
+package taskscheduler.service;
+
+import java.io.IOException;
+
+/**
+ * Persistence for user workspaces, one user at a time
+ */
+public interface WorkspaceStore {
+    /**
+     * Loads a user's workspace, or returns an empty one for a new user
+     */
+    UserWorkspace load(String userId) throws IOException;
+    
+    void save(UserWorkspace workspace) throws IOException;
+}